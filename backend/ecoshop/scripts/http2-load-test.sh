@@ -0,0 +1,155 @@
+#!/usr/bin/env bash
+#
+# Prueba de carga de HTTP/1.1 contra HTTP/2 sin TLS (h2c): simula cargas de página en las que
+# el frontend dispara varios pedidos en paralelo (catálogo, certificaciones, impacto...) y mide
+# cuánto tarda cada página completa.
+#
+# - HTTP/1.1: como un navegador, a lo sumo LOAD_H1_CONNECTIONS conexiones TCP con el servidor;
+#   el resto de los pedidos espera a que se libere una
+# - h2c: todos los pedidos de la página van multiplexados por una sola conexión
+#
+# Contra localhost no hay latencia de red y HTTP/2 no tiene nada que ahorrar (incluso resulta
+# algo más lento por el framing). Con LOAD_RTT_MS el script levanta un proxy TCP local que
+# demora cada paquete, para medir con una latencia parecida a la de un cliente real.
+#
+# Requisitos: la aplicación corriendo con server.http2.enabled=true, curl con soporte HTTP/2
+# (curl --version debe listar nghttp2) y python3 si se usa LOAD_RTT_MS.
+#
+# Uso:
+#   scripts/http2-load-test.sh [páginas]
+#
+# Variables de entorno opcionales:
+#   LOAD_BASE_URL        URL base de la API (por defecto http://localhost:8080)
+#   LOAD_PATHS           Endpoints de cada página separados por espacio
+#   LOAD_REPEAT          Veces que se repite la lista de endpoints por página (por defecto 3)
+#   LOAD_H1_CONNECTIONS  Conexiones en paralelo con HTTP/1.1 (por defecto 6, el límite de los navegadores)
+#   LOAD_RTT_MS          Latencia de ida y vuelta simulada en milisegundos (por defecto 0, sin proxy)
+#   LOAD_PROXY_PORT      Puerto local del proxy de latencia (por defecto 18081)
+#
+# Ejemplo sin PostgreSQL (H2 en memoria). Todos los pedidos salen de la misma IP, así que
+# hay que apagar el rate limit para que no responda 429:
+#   SERVER_PORT=8080 DB_URL=jdbc:h2:mem:carga DB_USERNAME=sa DB_PASSWORD= \
+#   SPRING_DATASOURCE_DRIVER_CLASS_NAME=org.h2.Driver JPA_DDL_AUTO=create-drop RATE_LIMIT_ENABLED=false \
+#   ./mvnw spring-boot:run -Dspring-boot.run.useTestClasspath=true
+#   LOAD_RTT_MS=20 scripts/http2-load-test.sh 100
+
+set -euo pipefail
+
+PAGES="${1:-30}"
+BASE_URL="${LOAD_BASE_URL:-http://localhost:8080}"
+PATHS="${LOAD_PATHS:-/api/v1/products /api/v1/certifications /api/v1/productos?fields=nombre,precio,imagenUrl,ecoBadge /api/v1/stats/impacto /api/v1/analytics/ventas/eco-badges /api/v1/health}"
+REPEAT="${LOAD_REPEAT:-3}"
+H1_CONNECTIONS="${LOAD_H1_CONNECTIONS:-6}"
+RTT_MS="${LOAD_RTT_MS:-0}"
+PROXY_PORT="${LOAD_PROXY_PORT:-18081}"
+
+if ! curl --version | grep -q nghttp2; then
+  echo "curl no tiene soporte HTTP/2 (nghttp2)" >&2
+  exit 1
+fi
+if ! curl -sf -o /dev/null "${BASE_URL}/api/v1/health"; then
+  echo "La aplicación no responde en ${BASE_URL}" >&2
+  exit 1
+fi
+
+# Proxy TCP que entrega cada bloque RTT/2 después de recibirlo, en cada sentido, y demora un RTT
+# la apertura de la conexión (el handshake de TCP). El orden de los bytes se mantiene.
+if (( RTT_MS > 0 )); then
+  target="${BASE_URL#*://}"
+  target="${target%%/*}"
+  python3 - "$PROXY_PORT" "${target%:*}" "${target##*:}" "$RTT_MS" <<'PY' &
+import asyncio, sys, time
+
+listen_port, host, port, delay = int(sys.argv[1]), sys.argv[2], int(sys.argv[3]), float(sys.argv[4]) / 2000
+
+async def pipe(reader, writer):
+    queue = asyncio.Queue()
+
+    async def receive():
+        data = b"x"
+        while data:
+            try:
+                data = await reader.read(65536)
+            except ConnectionError:
+                data = b""
+            await queue.put((time.monotonic() + delay, data))
+
+    async def deliver():
+        while True:
+            due, data = await queue.get()
+            await asyncio.sleep(max(0, due - time.monotonic()))
+            try:
+                if not data:
+                    writer.close()
+                    return
+                writer.write(data)
+                await writer.drain()
+            except ConnectionError:
+                return
+
+    await asyncio.gather(receive(), deliver())
+
+async def handle(client_reader, client_writer):
+    server_reader, server_writer = await asyncio.open_connection(host, port)
+    await asyncio.sleep(2 * delay)
+    await asyncio.gather(pipe(client_reader, server_writer), pipe(server_reader, client_writer),
+                         return_exceptions=True)
+
+async def main():
+    server = await asyncio.start_server(handle, "127.0.0.1", listen_port)
+    async with server:
+        await server.serve_forever()
+
+asyncio.run(main())
+PY
+  PROXY_PID=$!
+  trap 'kill "$PROXY_PID" 2>/dev/null' EXIT
+  BASE_URL="http://127.0.0.1:${PROXY_PORT}"
+  for _ in $(seq 1 50); do
+    curl -sf -o /dev/null "${BASE_URL}/api/v1/health" && break
+    sleep 0.1
+  done
+fi
+
+# Argumentos de curl para una página: cada URL con su propio -o /dev/null
+urls=()
+for ((r = 0; r < REPEAT; r++)); do
+  for path in $PATHS; do
+    urls+=("${BASE_URL}${path}" -o /dev/null)
+  done
+done
+REQUESTS=$(( ${#urls[@]} / 3 ))
+
+# Carga PAGES páginas con hasta $1 transferencias en paralelo y el protocolo dado;
+# devuelve los milisegundos de cada página
+run() {
+  local max="$1" start end
+  shift
+  for ((i = 0; i < PAGES; i++)); do
+    start=$(date +%s%N)
+    curl -sf --no-progress-meter --parallel --parallel-immediate --parallel-max "$max" "$@" "${urls[@]}"
+    end=$(date +%s%N)
+    echo $(( (end - start) / 1000000 ))
+  done
+}
+
+# Imprime mínimo, mediana, p95 y promedio de una lista de tiempos
+summarize() {
+  sort -n | awk -v label="$1" '
+    { t[NR] = $1; sum += $1 }
+    END {
+      p95 = int(NR * 0.95 + 0.5)
+      if (p95 > NR) p95 = NR
+      printf "%-10s min %5d ms   p50 %5d ms   p95 %5d ms   promedio %7.1f ms\n",
+        label, t[1], t[int((NR + 1) / 2)], t[p95], sum / NR
+    }'
+}
+
+echo "Páginas: ${PAGES}, pedidos por página: ${REQUESTS}, conexiones HTTP/1.1: ${H1_CONNECTIONS}, RTT simulado: ${RTT_MS} ms"
+
+# Unas páginas de calentamiento por protocolo (JIT, cachés, pool de conexiones a la BD)
+PAGES=3 run "$H1_CONNECTIONS" --http1.1 > /dev/null
+PAGES=3 run "$REQUESTS" --http2-prior-knowledge > /dev/null
+
+run "$H1_CONNECTIONS" --http1.1 | summarize "HTTP/1.1"
+run "$REQUESTS" --http2-prior-knowledge | summarize "h2c"
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+#
+# Smoke test del binario nativo: lo arranca contra H2 en memoria y verifica los endpoints
+# principales. Reporta el tiempo de arranque y la memoria residente (RSS).
+#
+# Requisitos (GraalVM 21 como JAVA_HOME):
+#   ./mvnw -Pnative,native-smoke native:compile -DskipTests
+#
+# Uso:
+#   scripts/native-smoke-test.sh [comando]
+#
+# Por defecto ejecuta target/ecoshop. Se puede pasar otro comando para comparar con la JVM,
+# por ejemplo el jar con AOT generado por ./mvnw -Pnative,native-smoke package:
+#   scripts/native-smoke-test.sh java -Dspring.aot.enabled=true -jar target/ecoshop-0.0.1-SNAPSHOT.jar
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${SMOKE_PORT:-18081}"
+BASE="http://localhost:${PORT}/api/v1"
+if [[ $# -gt 0 ]]; then
+  CMD=("$@")
+else
+  CMD=(target/ecoshop)
+fi
+
+if [[ "${CMD[0]}" == target/* && ! -x "${CMD[0]}" ]]; then
+  echo "No se encontró ${CMD[0]}. Ejecutar primero: ./mvnw -Pnative,native-smoke native:compile -DskipTests" >&2
+  exit 1
+fi
+
+LOG=$(mktemp)
+start=$(date +%s%N)
+SPRING_PROFILES_ACTIVE=prod \
+DB_URL="jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1" \
+DB_USERNAME=sa \
+DB_PASSWORD= \
+JPA_DDL_AUTO=create-drop \
+"${CMD[@]}" \
+  --server.port="$PORT" \
+  --spring.datasource.driver-class-name=org.h2.Driver \
+  --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+  > "$LOG" 2>&1 &
+PID=$!
+trap 'kill $PID 2> /dev/null || true; rm -f "$LOG"' EXIT
+
+# Se espera al probe de readiness: devuelve 503 hasta terminar el arranque y el warm-up
+until curl -sf -o /dev/null "$BASE/health/ready"; do
+  if ! kill -0 "$PID" 2> /dev/null; then
+    echo "La aplicación terminó antes de responder:" >&2
+    cat "$LOG" >&2
+    exit 1
+  fi
+  sleep 0.02
+done
+end=$(date +%s%N)
+
+# Verifica que la respuesta HTTP sea la esperada; corta el test al primer fallo
+check() {
+  local description=$1 expected=$2
+  shift 2
+  local status
+  status=$(curl -s -o /dev/null -w '%{http_code}' "$@")
+  if [[ "$status" != "$expected" ]]; then
+    echo "FALLO: $description (esperado $expected, obtenido $status)" >&2
+    tail -50 "$LOG" >&2
+    exit 1
+  fi
+  echo "OK    $description ($status)"
+}
+
+check "GET /health" 200 "$BASE/health"
+check "GET /health/ready" 200 "$BASE/health/ready"
+check "POST /certifications" 201 -X POST "$BASE/certifications" -H 'Content-Type: application/json' \
+  -d '{"name":"Comercio Justo","code":"FAIR_TRADE","type":"SOCIAL"}'
+check "POST /products" 201 -X POST "$BASE/products" -H 'Content-Type: application/json' \
+  -d '{"nombre":"Botella reutilizable","marca":"EcoMarca","precio":12.5,"impactoAmbiental":{"huellaCarbono":"1.2 kg CO2","materialesReciclables":true,"nivel":"BAJO"},"certificaciones":["FAIR_TRADE"]}'
+check "GET /products" 200 "$BASE/products"
+check "GET /products/{id} inexistente" 404 "$BASE/products/999999"
+
+if ! curl -sf "$BASE/products" | grep -q 'Botella reutilizable'; then
+  echo "FALLO: GET /products no devuelve el producto creado" >&2
+  exit 1
+fi
+
+rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$PID/status" 2> /dev/null || echo 0)
+echo "Tiempo hasta readiness: $(( (end - start) / 1000000 )) ms"
+echo "RSS tras el smoke test: $(( rss_kb / 1024 )) MB"
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+#
+# Benchmark de arranque en frío: mide el tiempo hasta la primera respuesta HTTP exitosa
+# (time-to-first-request) del jar normal y del jar extraído con y sin archivo CDS.
+#
+# Requisitos: haber ejecutado antes
+#   ./mvnw clean package -Pcds -DskipTests        (o -Pcds,aot para incluir Spring AOT)
+#
+# Uso:
+#   scripts/startup-benchmark.sh [ejecuciones]
+#
+# Variables de entorno opcionales:
+#   BENCH_PORT       Puerto donde escucha la aplicación (por defecto 18080)
+#   BENCH_PATH       Endpoint que se consulta (por defecto /api/v1/health)
+#   BENCH_JAVA_OPTS  Opciones extra para la JVM (por ejemplo -Dspring.aot.enabled=true)
+#   DB_URL, DB_USERNAME, DB_PASSWORD y el resto de variables de application.yml se heredan
+#
+# Ejemplo sin base de datos disponible (mide solo el arranque del framework):
+#   SPRING_PROFILES_ACTIVE=prod JPA_DDL_AUTO=none WARMUP_ENABLED=false \
+#   BENCH_JAVA_OPTS="-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false" \
+#   scripts/startup-benchmark.sh 5
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+URL="http://localhost:${PORT}${BENCH_PATH:-/api/v1/health}"
+JAR="target/ecoshop-0.0.1-SNAPSHOT.jar"
+CDS_DIR="target/cds"
+CDS_JAR="${CDS_DIR}/ecoshop-0.0.1-SNAPSHOT.jar"
+CDS_ARCHIVE="${CDS_DIR}/ecoshop.jsa"
+JAVA="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+
+if [[ ! -f "$JAR" ]]; then
+  echo "No se encontró $JAR. Ejecutar primero: ./mvnw clean package -Pcds -DskipTests" >&2
+  exit 1
+fi
+
+# Arranca la aplicación con los argumentos dados y devuelve los milisegundos
+# hasta que el endpoint responde 200
+measure() {
+  local start end pid
+  start=$(date +%s%N)
+  # shellcheck disable=SC2086
+  "$JAVA" ${BENCH_JAVA_OPTS:-} -Dserver.port="$PORT" "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "La aplicación terminó antes de responder (args: $*)" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo $(( (end - start) / 1000000 ))
+}
+
+# Ejecuta RUNS mediciones e imprime la mediana
+bench() {
+  local label=$1
+  shift
+  local samples=()
+  for _ in $(seq "$RUNS"); do
+    samples+=("$(measure "$@")")
+  done
+  local median
+  median=$(printf '%s\n' "${samples[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+  printf '%-28s mediana %6d ms   muestras: %s\n' "$label" "$median" "${samples[*]}"
+}
+
+echo "Time-to-first-request contra $URL ($RUNS ejecuciones por variante)"
+bench "jar (sin CDS)" -jar "$JAR"
+if [[ -f "$CDS_JAR" ]]; then
+  bench "jar extraído (sin CDS)" -jar "$CDS_JAR"
+fi
+if [[ -f "$CDS_ARCHIVE" ]]; then
+  bench "jar extraído + CDS" -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xlog:cds=off -jar "$CDS_JAR"
+else
+  echo "No se encontró $CDS_ARCHIVE; se omite la variante con CDS" >&2
+fi
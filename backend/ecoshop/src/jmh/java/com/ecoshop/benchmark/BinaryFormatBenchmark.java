@@ -0,0 +1,113 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.config.JacksonConfig;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.mapper.ProductMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de JSON contra CBOR para la respuesta de GET /api/v1/products.
+ *
+ * Los dos ObjectMapper se arman como en la aplicación: Jackson2ObjectMapperBuilder con el
+ * customizer de JacksonConfig, y para CBOR además la CBORFactory (igual que WebConfig).
+ * Se mide serializar (lo que paga el servidor) y deserializar (lo que paga el consumidor).
+ *
+ * cbor-stringref agrega la extensión stringref de CBOR (nombres de campo y textos repetidos
+ * se envían una vez y luego por referencia). La API no la usa porque no todos los
+ * decodificadores CBOR la soportan; el benchmark muestra cuánto ahorraría.
+ *
+ * payloadSize reporta el tamaño del cuerpo en cada formato (columna bytes del resultado).
+ *
+ * Ejecutar: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="BinaryFormatBenchmark -prof gc"
+ * Solo los tamaños: -Djmh.args="BinaryFormatBenchmark.payloadSize"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<ProductResponse>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "cbor-stringref"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponse> responses;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().ecoshopJacksonCustomizer().customize(builder);
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("cbor-stringref")) {
+            builder.factory(CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build());
+        }
+        objectMapper = builder.build();
+
+        ProductMapper mapper = new ProductMapper();
+        responses = CatalogFixtures.products(size).stream().map(mapper::toResponse).toList();
+        payload = objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public List<ProductResponse> deserialize() throws IOException {
+        return objectMapper.readValue(payload, PRODUCT_LIST);
+    }
+
+    /**
+     * Una sola ejecución por fork: los contadores de tipo EVENTS se suman entre iteraciones,
+     * así que con una iteración el resultado es exactamente el tamaño del cuerpo.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void payloadSize(PayloadSize size) {
+        size.bytes = payload.length;
+    }
+
+    /**
+     * Tamaño en bytes del cuerpo que reporta payloadSize.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.domain.Certification;
+import com.ecoshop.domain.ImpactoAmbiental;
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.ProductDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Datos de catálogo sintéticos para los benchmarks.
+ *
+ * Los valores imitan un catálogo real: nombres y marcas de longitud variable,
+ * huellas de carbono con decimales, 0 a 3 certificaciones por producto (compartidas,
+ * como en la BD) y algunos productos sin impacto ambiental.
+ * La semilla es fija para que todas las ejecuciones midan exactamente los mismos datos.
+ */
+final class CatalogFixtures {
+
+    private static final String[] NIVELES = {"BAJO", "MEDIO", "ALTO"};
+
+    private CatalogFixtures() {
+    }
+
+    static List<Certification> certifications() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+        List<Certification> certifications = new ArrayList<>();
+        String[][] data = {
+                {"Comercio Justo", "FAIR_TRADE", "SOCIAL"},
+                {"Carbono Neutral", "CARBON_NEUTRAL", "AMBIENTAL"},
+                {"Orgánico Certificado", "ORGANIC", "AMBIENTAL"},
+                {"B Corp", "B_CORP", "SOCIAL"},
+                {"Vegano", "VEGAN", "AMBIENTAL"}};
+        for (int i = 0; i < data.length; i++) {
+            certifications.add(Certification.builder()
+                    .id((long) i + 1)
+                    .name(data[i][0])
+                    .code(data[i][1])
+                    .type(data[i][2])
+                    .logoUrl("https://cdn.ecoshop.com/logos/" + data[i][1].toLowerCase() + ".png")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return certifications;
+    }
+
+    static List<Product> products(int size) {
+        Random random = new Random(42);
+        List<Certification> certifications = certifications();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<Certification> productCertifications = new HashSet<>();
+            int count = random.nextInt(4);
+            for (int c = 0; c < count; c++) {
+                productCertifications.add(certifications.get(random.nextInt(certifications.size())));
+            }
+
+            ImpactoAmbiental impacto = random.nextInt(10) == 0 ? null : ImpactoAmbiental.builder()
+                    .huellaCarbonoKg(Math.round(random.nextDouble() * 500) / 10.0 + random.nextDouble() / 100)
+                    .materialesReciclables(random.nextBoolean())
+                    .nivel(NIVELES[random.nextInt(NIVELES.length)])
+                    .build();
+
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .nombre("Producto sostenible " + i + " de bambú reciclado")
+                    .marca("Marca " + (i % 50))
+                    .precio(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                    .impactoAmbiental(impacto)
+                    .imagen("https://cdn.ecoshop.com/productos/" + i + ".jpg")
+                    .certificaciones(productCertifications)
+                    .fechaCreacion(base.plusMinutes(i))
+                    .build());
+        }
+        return products;
+    }
+
+    static List<ProductDto> productDtos(int size) {
+        Random random = new Random(42);
+        String[] codes = {"FAIR_TRADE", "CARBON_NEUTRAL", "ORGANIC", "B_CORP", "VEGAN"};
+        List<ProductDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<String> certificaciones = new ArrayList<>();
+            int count = random.nextInt(4);
+            for (int c = 0; c < count; c++) {
+                certificaciones.add(codes[random.nextInt(codes.length)]);
+            }
+            dtos.add(ProductDto.builder()
+                    .nombre("Producto sostenible " + i + " de bambú reciclado")
+                    .marca("Marca " + (i % 50))
+                    .precio(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                    .impactoAmbiental(ProductDto.ImpactoAmbientalDto.builder()
+                            .huellaCarbono(String.format(Locale.ROOT, "%.1f kg CO₂", random.nextDouble() * 50))
+                            .materialesReciclables(random.nextBoolean())
+                            .nivel(NIVELES[random.nextInt(NIVELES.length)])
+                            .build())
+                    .imagen("https://cdn.ecoshop.com/productos/" + i + ".jpg")
+                    .certificaciones(certificaciones)
+                    .build());
+        }
+        return dtos;
+    }
+}
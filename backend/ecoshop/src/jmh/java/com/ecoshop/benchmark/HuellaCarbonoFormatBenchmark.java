@@ -0,0 +1,60 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.mapper.HuellaCarbonoFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara String.format con HuellaCarbonoFormatter para el texto de huella de carbono.
+ *
+ * Cada operación formatea 1024 valores realistas (0 a 50 kg con decimales),
+ * así que los resultados se leen por lote.
+ *
+ * Ejecutar: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="HuellaCarbonoFormatBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HuellaCarbonoFormatBenchmark {
+
+    private final double[] values = new double[1024];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 50;
+        }
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(String.format(Locale.ROOT, "%.1f kg CO₂", value));
+        }
+    }
+
+    @Benchmark
+    public void huellaCarbonoFormatter(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(HuellaCarbonoFormatter.format(value));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.mapper.HuellaCarbonoParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el parseo anterior (replaceAll + Double.parseDouble) con HuellaCarbonoParser.
+ *
+ * Cada operación parsea 1024 textos con los formatos que envían los clientes
+ * ("0.8 kg CO₂", "0,8kg CO₂", "350 g CO₂e"...), así que los resultados se leen por lote.
+ *
+ * Ejecutar: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="HuellaCarbonoParseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HuellaCarbonoParseBenchmark {
+
+    private static final String[] FORMATS = {"%.1f kg CO₂", "%.2fkg CO₂", "%.1f", "%.0f g CO₂e"};
+
+    private final String[] texts = new String[1024];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < texts.length; i++) {
+            String format = FORMATS[random.nextInt(FORMATS.length)];
+            texts[i] = String.format(Locale.ROOT, format, random.nextDouble() * 50);
+        }
+    }
+
+    @Benchmark
+    public void regexReplaceAndParseDouble(Blackhole blackhole) {
+        for (String text : texts) {
+            String digits = text.replaceAll("[^0-9.]", "").trim();
+            blackhole.consume(digits.isEmpty() ? null : Double.parseDouble(digits));
+        }
+    }
+
+    @Benchmark
+    public void huellaCarbonoParser(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(HuellaCarbonoParser.parseKg(text));
+        }
+    }
+}
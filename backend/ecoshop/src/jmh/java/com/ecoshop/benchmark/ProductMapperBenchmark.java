@@ -0,0 +1,95 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.domain.Certification;
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.CertificationResponse;
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.mapper.CertificationMapper;
+import com.ecoshop.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de los mappers que corren en cada request de catálogo.
+ *
+ * Cada operación mapea la lista completa (como hace ProductServiceImpl.findAll),
+ * así que el resultado se lee como "catálogos por segundo" para cada tamaño.
+ *
+ * Ejecutar: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ProductMapperBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int size;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final CertificationMapper certificationMapper = new CertificationMapper();
+
+    private List<Product> products;
+    private List<ProductDto> dtos;
+    private List<Certification> certifications;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = CatalogFixtures.products(size);
+        dtos = CatalogFixtures.productDtos(size);
+        certifications = CatalogFixtures.certifications();
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Product product : products) {
+            ProductResponse response = productMapper.toResponse(product);
+            blackhole.consume(response);
+        }
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (Product product : products) {
+            ProductDto dto = productMapper.toDto(product);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (ProductDto dto : dtos) {
+            Product product = productMapper.toEntity(dto);
+            blackhole.consume(product);
+        }
+    }
+
+    /**
+     * El diccionario de certificaciones es pequeño y no depende de size;
+     * se mide igual para tener la referencia en el mismo reporte.
+     */
+    @Benchmark
+    public void certificationToResponse(Blackhole blackhole) {
+        for (Certification certification : certifications) {
+            CertificationResponse response = certificationMapper.toResponse(certification);
+            blackhole.consume(response);
+        }
+    }
+}
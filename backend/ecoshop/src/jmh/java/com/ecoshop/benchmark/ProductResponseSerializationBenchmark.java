@@ -0,0 +1,133 @@
+package com.ecoshop.benchmark;
+
+import com.ecoshop.config.JacksonConfig;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.mapper.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark de la serialización JSON de la respuesta de GET /api/v1/products.
+ *
+ * El ObjectMapper se construye con Jackson2ObjectMapperBuilder, igual que el que
+ * Spring Boot usa en los controladores (JavaTimeModule, fechas ISO-8601, etc.).
+ * Con mapper=tuned se le aplica además el customizer de JacksonConfig (NON_NULL, serializer
+ * rápido de LocalDateTime y Blackbird), para comparar el antes y el después.
+ *
+ * serializeListGzip mide el costo de la compresión de Tomcat (server.compression) sobre la
+ * misma respuesta, y payloadSize reporta los bytes de la respuesta sin comprimir y comprimida
+ * (columnas jsonBytes y gzipBytes del resultado).
+ *
+ * Ejecutar: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ProductResponseSerializationBenchmark -prof gc"
+ * Solo los tamaños: -Djmh.args="ProductResponseSerializationBenchmark.payloadSize"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int size;
+
+    @Param({"default", "tuned"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("tuned")) {
+            new JacksonConfig().ecoshopJacksonCustomizer().customize(builder);
+        }
+        objectMapper = builder.build();
+        ProductMapper productMapper = new ProductMapper();
+        responses = CatalogFixtures.products(size).stream().map(productMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public int serializeListGzip() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        serializeGzip(out);
+        return out.count;
+    }
+
+    /**
+     * Una sola ejecución por fork: los contadores de tipo EVENTS se suman entre iteraciones,
+     * así que con una iteración el resultado es exactamente el tamaño de la respuesta.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void payloadSize(PayloadSize sizes) throws Exception {
+        sizes.jsonBytes = objectMapper.writeValueAsBytes(responses).length;
+        CountingOutputStream out = new CountingOutputStream();
+        serializeGzip(out);
+        sizes.gzipBytes = out.count;
+    }
+
+    private void serializeGzip(OutputStream out) throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            objectMapper.writeValue(gzip, responses);
+        }
+    }
+
+    /**
+     * Tamaños en bytes de la respuesta que reporta payloadSize.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long jsonBytes;
+
+        public long gzipBytes;
+    }
+
+    /**
+     * Descarta los bytes y solo los cuenta (el benchmark mide CPU, no la copia a memoria).
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecoshop.bulkhead;
+
+/**
+ * Partición de la solicitud que está atendiendo el hilo actual.
+ *
+ * La fija RateLimitFilter mientras dura la solicitud y la lee PartitionedDataSource al pedir
+ * una conexión. Los hilos sin partición (tareas programadas, health checks) usan el pool
+ * sin límite de partición.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadPartition> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static BulkheadPartition current() {
+        return CURRENT.get();
+    }
+
+    public static void set(BulkheadPartition partition) {
+        if (partition == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(partition);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecoshop.bulkhead;
+
+/**
+ * Particiones (bulkheads) en las que se reparte el tráfico de la API.
+ *
+ * Cada partición tiene su propio límite de solicitudes en curso y de conexiones a la BD,
+ * así que la saturación de una no deja sin recursos a las demás.
+ */
+public enum BulkheadPartition {
+
+    /** Lecturas del catálogo (productos, certificaciones, marcas, estadísticas). */
+    CATALOG("catalog"),
+
+    /** Pedidos, items de pedido y usuarios: el flujo de compra. */
+    CHECKOUT("checkout"),
+
+    /** Altas y modificaciones del catálogo, importación/exportación masiva y analítica. */
+    ADMIN("admin");
+
+    private final String key;
+
+    BulkheadPartition(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Nombre de la partición en la configuración (ecoshop.bulkhead.&lt;key&gt;) y en las métricas.
+     */
+    public String key() {
+        return key;
+    }
+}
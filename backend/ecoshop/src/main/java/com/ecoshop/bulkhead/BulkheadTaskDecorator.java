@@ -0,0 +1,32 @@
+package com.ecoshop.bulkhead;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propaga la partición a las tareas que Spring MVC ejecuta en otro hilo (p. ej. el
+ * StreamingResponseBody de la exportación), para que sus conexiones cuenten en la misma partición.
+ *
+ * Spring Boot aplica el TaskDecorator al executor de tareas de la aplicación, que es el que usa
+ * Spring MVC para el procesamiento asíncrono.
+ */
+@Component
+public class BulkheadTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        BulkheadPartition partition = BulkheadContext.current();
+        if (partition == null) {
+            return runnable;
+        }
+        return () -> {
+            BulkheadPartition previous = BulkheadContext.current();
+            BulkheadContext.set(partition);
+            try {
+                runnable.run();
+            } finally {
+                BulkheadContext.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecoshop.bulkhead;
+
+import com.ecoshop.config.BulkheadProperties;
+import com.ecoshop.config.LoadSheddingProperties;
+import com.ecoshop.ratelimit.AdaptiveConcurrencyLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Bulkheads de la API: asigna cada solicitud a una partición y limita cuántas de cada
+ * partición se atienden a la vez.
+ *
+ * Cada partición tiene su propio AdaptiveConcurrencyLimiter, acotado por su max-concurrent,
+ * así que una avalancha de navegación del catálogo o una importación lenta agotan solo su
+ * límite: las solicitudes de checkout siguen entrando y, como PartitionedDataSource reparte
+ * también las conexiones, siguen encontrando conexiones libres en el pool.
+ *
+ * La señal de pool saturado de cada limitador son los hilos que esperan una conexión de su
+ * partición más los que esperan en Hikari: como la espera ocurre sobre todo en el semáforo
+ * de la partición, Hikari por sí solo casi nunca ve hilos esperando.
+ */
+@Component
+public class Bulkheads {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> adminRoutes;
+    private final List<Route> checkoutRoutes;
+    private final Map<BulkheadPartition, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(BulkheadPartition.class);
+    private final Map<BulkheadPartition, LongAdder> rejected = new EnumMap<>(BulkheadPartition.class);
+    private final PartitionedDataSource connections;
+
+    public Bulkheads(BulkheadProperties properties, LoadSheddingProperties loadSheddingProperties, DataSource dataSource) {
+        this.adminRoutes = properties.getAdmin().getPaths().stream().map(Route::parse).toList();
+        this.checkoutRoutes = properties.getCheckout().getPaths().stream().map(Route::parse).toList();
+        this.connections = unwrap(dataSource, PartitionedDataSource.class);
+        IntSupplier poolAwaiting = poolAwaiting(unwrap(dataSource, HikariDataSource.class));
+        for (BulkheadPartition partition : BulkheadPartition.values()) {
+            IntSupplier awaiting = connections != null
+                    ? () -> connections.awaiting(partition) + poolAwaiting.getAsInt()
+                    : poolAwaiting;
+            limiters.put(partition, new AdaptiveConcurrencyLimiter(
+                    limitsFor(loadSheddingProperties, properties.get(partition)), awaiting, System::nanoTime));
+            rejected.put(partition, new LongAdder());
+        }
+    }
+
+    /**
+     * Partición de la solicitud: rutas de admin, rutas de checkout, y si no coincide ninguna,
+     * catalog para las lecturas y admin para las escrituras.
+     */
+    public BulkheadPartition classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if (matches(adminRoutes, method, path)) {
+            return BulkheadPartition.ADMIN;
+        }
+        if (matches(checkoutRoutes, method, path)) {
+            return BulkheadPartition.CHECKOUT;
+        }
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? BulkheadPartition.CATALOG
+                : BulkheadPartition.ADMIN;
+    }
+
+    /**
+     * Reserva un lugar en la partición.
+     *
+     * @return El instante de inicio (para pasarlo a release), o AdaptiveConcurrencyLimiter.REJECTED
+     */
+    public long tryAcquire(BulkheadPartition partition) {
+        long start = limiters.get(partition).tryAcquire();
+        if (start == AdaptiveConcurrencyLimiter.REJECTED) {
+            rejected.get(partition).increment();
+        }
+        return start;
+    }
+
+    public void release(BulkheadPartition partition, long startNanos) {
+        limiters.get(partition).release(startNanos);
+    }
+
+    /**
+     * Métricas de la partición: solicitudes en curso, límite actual, rechazos acumulados,
+     * conexiones tomadas y solicitudes esperando una conexión de la partición.
+     */
+    public Map<String, Object> metrics(BulkheadPartition partition) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(partition);
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", limiter.getInFlight());
+        metrics.put("limit", limiter.getLimit());
+        metrics.put("rejected", rejected.get(partition).sum());
+        if (connections != null) {
+            metrics.put("connections", connections.inUse(partition));
+            metrics.put("maxConnections", connections.maxConnections(partition));
+            metrics.put("awaitingConnections", connections.awaiting(partition));
+        }
+        return metrics;
+    }
+
+    private boolean matches(List<Route> routes, String method, String path) {
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(method))
+                    && pathMatcher.match(route.pattern(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Límites del AdaptiveConcurrencyLimiter de una partición: los de ecoshop.load-shedding
+     * acotados por max-concurrent. Con el load shedding apagado el límite queda fijo en max-concurrent.
+     */
+    private static LoadSheddingProperties limitsFor(LoadSheddingProperties base, BulkheadProperties.Partition partition) {
+        int max = Math.max(1, Math.min(base.getMaxLimit(), partition.getMaxConcurrent()));
+        LoadSheddingProperties limits = new LoadSheddingProperties();
+        limits.setWindow(base.getWindow());
+        limits.setLatencyTarget(partition.getLatencyTarget() != null ? partition.getLatencyTarget() : base.getLatencyTarget());
+        limits.setPoolMaxAwaiting(base.getPoolMaxAwaiting());
+        limits.setDecreaseFactor(base.getDecreaseFactor());
+        limits.setMaxLimit(max);
+        limits.setMinLimit(base.isEnabled() ? Math.min(base.getMinLimit(), max) : max);
+        limits.setInitialLimit(base.isEnabled() ? Math.min(base.getInitialLimit(), max) : max);
+        return limits;
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private static IntSupplier poolAwaiting(HikariDataSource hikari) {
+        if (hikari == null) {
+            return () -> 0;
+        }
+        return () -> {
+            // Hikari crea el MXBean con la primera conexión
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        };
+    }
+
+    /**
+     * Ruta de una partición: patrón Ant con método opcional ("POST /api/v1/products").
+     */
+    private record Route(String method, String pattern) {
+
+        static Route parse(String value) {
+            String trimmed = value.trim();
+            int space = trimmed.indexOf(' ');
+            return space < 0
+                    ? new Route(null, trimmed)
+                    : new Route(trimmed.substring(0, space), trimmed.substring(space + 1).trim());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecoshop.bulkhead;
+
+import com.ecoshop.config.BulkheadProperties;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que reparte el pool de conexiones entre las particiones de tráfico.
+ *
+ * Hay un solo pool de HikariCP; encima, cada partición tiene un semáforo con
+ * ecoshop.bulkhead.&lt;partición&gt;.max-connections permisos. Pedir una conexión toma un permiso
+ * de la partición del hilo (BulkheadContext) y cerrarla lo devuelve. Si la partición ya tiene
+ * todas sus conexiones tomadas, la solicitud espera dentro de su partición (hasta
+ * connection-timeout) en lugar de hacer cola en Hikari junto a las de las demás. Por eso la
+ * espera por conexiones se ve en awaiting(partición) y no en threadsAwaitingConnection de Hikari.
+ *
+ * Los hilos sin partición van directo al pool.
+ */
+public class PartitionedDataSource extends DelegatingDataSource {
+
+    private final Map<BulkheadPartition, Semaphore> permits = new EnumMap<>(BulkheadPartition.class);
+    private final Map<BulkheadPartition, Integer> maxConnections = new EnumMap<>(BulkheadPartition.class);
+    private final long timeoutNanos;
+
+    public PartitionedDataSource(DataSource targetDataSource, BulkheadProperties properties) {
+        super(targetDataSource);
+        for (BulkheadPartition partition : BulkheadPartition.values()) {
+            int max = properties.get(partition).getMaxConnections();
+            permits.put(partition, new Semaphore(max));
+            maxConnections.put(partition, max);
+        }
+        this.timeoutNanos = properties.getConnectionTimeout().toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Conexiones tomadas en este momento por la partición.
+     */
+    public int inUse(BulkheadPartition partition) {
+        return maxConnections.get(partition) - permits.get(partition).availablePermits();
+    }
+
+    public int maxConnections(BulkheadPartition partition) {
+        return maxConnections.get(partition);
+    }
+
+    /**
+     * Hilos esperando una conexión de la partición (estimado, como el de Hikari).
+     */
+    public int awaiting(BulkheadPartition partition) {
+        return permits.get(partition).getQueueLength();
+    }
+
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        BulkheadPartition partition = BulkheadContext.current();
+        if (partition == null) {
+            return supplier.get();
+        }
+
+        Semaphore semaphore = permits.get(partition);
+        try {
+            if (!semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(String.format(
+                        "La partición %s tiene sus %d conexiones en uso", partition.key(), maxConnections.get(partition)));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", ex);
+        }
+
+        try {
+            Connection connection = supplier.get();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ReleasingHandler(connection, semaphore));
+        } catch (SQLException | RuntimeException ex) {
+            semaphore.release();
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Delega todo en la conexión de Hikari y devuelve el permiso de la partición en el primer close().
+     */
+    private static final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingHandler(Connection target, Semaphore semaphore) {
+            this.target = target;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            semaphore.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecoshop.config;
+
+import com.ecoshop.bulkhead.BulkheadPartition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de las particiones de tráfico (prefijo "ecoshop.bulkhead").
+ *
+ * Cada solicitud se asigna a una partición: primero se prueban las rutas de admin, después las
+ * de checkout; el resto de los GET es catalog y el resto de las escrituras, admin. Las rutas son
+ * patrones Ant, opcionalmente precedidos por el método ("POST /api/v1/products").
+ *
+ * Por partición:
+ * - maxConcurrent: Solicitudes en curso como máximo (el límite adaptativo de
+ *   ecoshop.load-shedding se mueve por debajo de este valor)
+ * - maxConnections: Conexiones del pool que puede tener tomadas a la vez. No son reservas:
+ *   la suma puede superar el tamaño del pool, y lo que garantiza el aislamiento es que
+ *   catalog y admin juntos no lleguen a ocuparlo entero
+ * - latencyTarget: Latencia objetivo propia (si no se define, la de ecoshop.load-shedding)
+ * - connectionTimeout: Espera máxima por una conexión cuando la partición llegó a su máximo
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.bulkhead")
+public class BulkheadProperties {
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    private Partition catalog = new Partition(100, 5, new ArrayList<>(), null);
+
+    private Partition checkout = new Partition(60, 8, new ArrayList<>(List.of(
+            "/api/v1/pedidos/**", "/api/v1/pedido-items/**", "/api/v1/usuarios/**")), null);
+
+    private Partition admin = new Partition(10, 2, new ArrayList<>(List.of(
+            "/api/v1/products/import", "/api/v1/products/export", "/api/v1/analytics/**")), Duration.ofSeconds(10));
+
+    public Partition get(BulkheadPartition partition) {
+        return switch (partition) {
+            case CATALOG -> catalog;
+            case CHECKOUT -> checkout;
+            case ADMIN -> admin;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Partition {
+
+        private int maxConcurrent;
+
+        private int maxConnections;
+
+        private List<String> paths = new ArrayList<>();
+
+        private Duration latencyTarget;
+    }
+}
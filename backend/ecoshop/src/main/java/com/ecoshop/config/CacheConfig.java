@@ -0,0 +1,41 @@
+package com.ecoshop.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de caché en memoria para los datos de catálogo.
+ *
+ * El catálogo de productos y el diccionario de certificaciones se leen mucho
+ * más de lo que se escriben, así que el resultado de findAll() se cachea en memoria
+ * y se invalida completo ante cualquier escritura (@CacheEvict en los servicios).
+ *
+ * Cachés disponibles:
+ * - products: Lista completa de ProductResponse (ProductServiceImpl.findAll)
+ * - certifications: Lista completa de CertificationResponse (CertificationServiceImpl.findAll)
+ *
+ * Nota: La caché es local a cada instancia. Con una sola instancia en Render no hay
+ * problemas de coherencia; si se escala horizontalmente habría que pasar a una caché compartida.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String CERTIFICATIONS = "certifications";
+
+    @Bean
+    public CacheManager cacheManager() {
+        // Solo se permiten las cachés declaradas para detectar errores de nombre al arrancar
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(PRODUCTS, CERTIFICATIONS);
+        // findAll() nunca devuelve null; rechazar nulls evita cachear un resultado inválido
+        cacheManager.setAllowNullValues(false);
+        // Las invalidaciones se aplican después del commit: si se aplicaran antes, una lectura
+        // concurrente podría volver a cachear los datos viejos mientras la transacción sigue abierta
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecoshop.config;
+
+import com.ecoshop.bulkhead.PartitionedDataSource;
+import com.ecoshop.replica.ReadWriteRoutingDataSource;
+import com.ecoshop.replica.ReadYourWrites;
+import com.ecoshop.replica.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del DataSource.
+ *
+ * El pool de HikariCP se arma igual que en la autoconfiguración de Spring Boot
+ * (spring.datasource.* y spring.datasource.hikari.*), pero el DataSource que usan JPA y
+ * JdbcTemplate es un PartitionedDataSource encima del pool, que reparte las conexiones entre
+ * las particiones de tráfico (ecoshop.bulkhead.*).
+ *
+ * Con ecoshop.replica.enabled=true se agrega un segundo pool para la réplica de lectura, y entre
+ * PartitionedDataSource y los pools queda un ReadWriteRoutingDataSource (detrás de un
+ * LazyConnectionDataSourceProxy) que elige primario o réplica en cada transacción.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource hikariDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("hikariDataSource") HikariDataSource hikariDataSource,
+                                 BulkheadProperties bulkheadProperties,
+                                 ObjectProvider<ReadWriteRoutingDataSource> readWriteRouting) {
+        ReadWriteRoutingDataSource routing = readWriteRouting.getIfAvailable();
+        DataSource target = routing != null ? new LazyConnectionDataSourceProxy(routing) : hikariDataSource;
+        return new PartitionedDataSource(target, bulkheadProperties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "ecoshop.replica", name = "enabled", havingValue = "true")
+    static class ReplicaConfig {
+
+        @Bean
+        public HikariDataSource replicaDataSource(ReplicaProperties replica, DataSourceProperties primary) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("ecoshop-replica");
+            dataSource.setJdbcUrl(replica.getUrl());
+            boolean ownCredentials = StringUtils.hasText(replica.getUsername());
+            dataSource.setUsername(ownCredentials ? replica.getUsername() : primary.determineUsername());
+            dataSource.setPassword(ownCredentials ? replica.getPassword() : primary.determinePassword());
+            if (StringUtils.hasText(replica.getDriverClassName())) {
+                dataSource.setDriverClassName(replica.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                                   ReplicaProperties properties) {
+            return new ReplicaLagMonitor(replicaDataSource, properties, System::nanoTime);
+        }
+
+        @Bean
+        public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+            return new ReadYourWrites(properties.getStickyWindow(), System::nanoTime);
+        }
+
+        @Bean
+        public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+                @Qualifier("hikariDataSource") HikariDataSource hikariDataSource,
+                @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites) {
+            return new ReadWriteRoutingDataSource(hikariDataSource, replicaDataSource, replicaLagMonitor, readYourWrites);
+        }
+    }
+}
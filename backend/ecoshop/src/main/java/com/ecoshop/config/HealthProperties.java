@@ -0,0 +1,36 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de los health checks (prefijo "ecoshop.health").
+ *
+ * Controlan cuándo una instancia se considera lista (readiness) para recibir tráfico:
+ * - dbCacheTtl: Tiempo durante el cual se reutiliza el último resultado del check de BD
+ * - dbValidationTimeout: Tiempo máximo que puede tardar la validación de la conexión
+ * - dbMaxLatency: Latencia máxima aceptable de la BD antes de sacar la instancia de rotación
+ * - poolMaxAwaiting: Cantidad máxima de hilos esperando conexión antes de considerar el pool saturado
+ * - poolMaxUsage: Fracción (0-1) de conexiones activas sobre el máximo del pool a partir de la cual
+ *   el pool se considera saturado
+ * - poolSaturationGrace: Tiempo que el pool puede seguir en poolMaxUsage antes de sacar la instancia
+ *   de rotación (los picos breves con todas las conexiones en uso no la sacan)
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.health")
+public class HealthProperties {
+
+    private Duration dbCacheTtl = Duration.ofSeconds(5);
+
+    private Duration dbValidationTimeout = Duration.ofSeconds(2);
+
+    private Duration dbMaxLatency = Duration.ofSeconds(1);
+
+    private int poolMaxAwaiting = 2;
+
+    private double poolMaxUsage = 1.0;
+
+    private Duration poolSaturationGrace = Duration.ofSeconds(10);
+}
@@ -0,0 +1,29 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de HTTP/2 en Tomcat (prefijo "ecoshop.http2").
+ *
+ * HTTP/2 se activa con server.http2.enabled; sin TLS Tomcat acepta h2c, tanto por
+ * "Upgrade: h2c" como con prior knowledge. Estas propiedades ajustan lo que Spring Boot
+ * no expone (ver TomcatConfig):
+ * - maxConcurrentStreams: Streams abiertos a la vez por conexión que se anuncian al cliente
+ * - maxConcurrentStreamExecution: Streams de una misma conexión que se procesan en paralelo
+ *   (el resto espera turno). Tomcat usa 20 por defecto, menos que los pedidos que dispara
+ *   una página del frontend
+ * - keepAliveTimeout: Tiempo que una conexión HTTP/2 sin streams activos se mantiene abierta
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.http2")
+public class Http2Properties {
+
+    private int maxConcurrentStreams = 100;
+
+    private int maxConcurrentStreamExecution = 50;
+
+    private Duration keepAliveTimeout = Duration.ofSeconds(65);
+}
@@ -0,0 +1,23 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de las estadísticas de impacto de la landing (prefijo "ecoshop.impact-stats").
+ *
+ * - refreshInterval: Cada cuánto se recalculan los totales desde la BD. Corrige cualquier
+ *   desvío de los contadores en memoria y actualiza las métricas del catálogo
+ * - publishInterval: Cada cuánto se publica una nueva foto con las ventas recibidas por
+ *   eventos. También es el max-age de la respuesta HTTP
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.impact-stats")
+public class ImpactStatsProperties {
+
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    private Duration publishInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de la importación masiva de productos (prefijo "ecoshop.import").
+ *
+ * - batchSize: Filas válidas que se insertan por lote JDBC (y por transacción)
+ * - maxReportedErrors: Cantidad máxima de errores por fila que se devuelven en la respuesta.
+ *   Los demás se cuentan en "failed" pero no se detallan, para que un archivo con
+ *   miles de filas inválidas no genere una respuesta gigante
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.import")
+public class ImportProperties {
+
+    private int batchSize = 1000;
+
+    private int maxReportedErrors = 100;
+}
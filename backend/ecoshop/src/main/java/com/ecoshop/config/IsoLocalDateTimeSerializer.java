@@ -0,0 +1,70 @@
+package com.ecoshop.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializa LocalDateTime con el mismo texto que DateTimeFormatter.ISO_LOCAL_DATE_TIME
+ * (el formato por defecto de JavaTimeModule), p. ej. "2025-03-14T09:26:05.35".
+ *
+ * DateTimeFormatter recorre su árbol de printers y crea un StringBuilder por cada fecha.
+ * Aquí los dígitos se escriben directo en un char[] de tamaño fijo, lo que en listados
+ * de miles de productos se nota. Los años fuera de 0000-9999 (que ISO escribe con signo)
+ * siguen por el formatter.
+ *
+ * Ignora WRITE_DATES_AS_TIMESTAMPS: la API siempre envía las fechas como texto ISO.
+ */
+final class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+        char[] buf = new char[29];
+        write(buf, 0, year, 4);
+        buf[4] = '-';
+        write(buf, 5, value.getMonthValue(), 2);
+        buf[7] = '-';
+        write(buf, 8, value.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        write(buf, 11, value.getHour(), 2);
+        buf[13] = ':';
+        write(buf, 14, value.getMinute(), 2);
+        buf[16] = ':';
+        write(buf, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            // Como ISO_LOCAL_TIME: la fracción va sin ceros a la derecha
+            buf[19] = '.';
+            write(buf, 20, nano, 9);
+            length = 29;
+            while (buf[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buf, 0, length);
+    }
+
+    private static void write(char[] buf, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
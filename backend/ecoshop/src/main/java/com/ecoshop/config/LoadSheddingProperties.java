@@ -0,0 +1,40 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del límite adaptativo de concurrencia (prefijo "ecoshop.load-shedding").
+ *
+ * Cada partición de tráfico (ver BulkheadProperties) atiende a lo sumo "limit" solicitudes a la vez;
+ * las que llegan por encima reciben 503. El límite de cada partición se ajusta en cada ventana con AIMD:
+ * - Si la latencia promedio de la ventana supera latencyTarget o hay más de poolMaxAwaiting
+ *   hilos esperando conexión del pool, el límite se multiplica por decreaseFactor
+ * - Si no hay congestión y en la ventana se llegó al límite, sube de a uno
+ * - El límite se mantiene siempre entre minLimit y maxLimit (o el max-concurrent de la partición,
+ *   si es menor)
+ *
+ * Con enabled=false el límite de cada partición queda fijo en su max-concurrent.
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 40;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    private Duration window = Duration.ofSeconds(1);
+
+    private Duration latencyTarget = Duration.ofMillis(300);
+
+    private int poolMaxAwaiting = 2;
+
+    private double decreaseFactor = 0.8;
+}
@@ -0,0 +1,113 @@
+package com.ecoshop.config;
+
+import com.ecoshop.domain.Certification;
+import com.ecoshop.domain.ImpactoAmbiental;
+import com.ecoshop.domain.Marca;
+import com.ecoshop.domain.OutboxEvent;
+import com.ecoshop.domain.Pedido;
+import com.ecoshop.domain.PedidoItem;
+import com.ecoshop.domain.Product;
+import com.ecoshop.domain.Producto;
+import com.ecoshop.domain.Usuario;
+import com.ecoshop.domain.VentaDiaria;
+import com.ecoshop.domain.VentaPedido;
+import com.ecoshop.domain.VentaPedidoAporte;
+import com.ecoshop.dto.CertificationRequest;
+import com.ecoshop.dto.CertificationResponse;
+import com.ecoshop.dto.HealthResponse;
+import com.ecoshop.dto.ImpactoAmbientalResponse;
+import com.ecoshop.dto.Marca.MarcaRequestDTO;
+import com.ecoshop.dto.Marca.MarcaResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoDetalleResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoPageResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoRequestDTO;
+import com.ecoshop.dto.Pedido.PedidoResponseDTO;
+import com.ecoshop.dto.PedidoItem.PedidoItemRequestDTO;
+import com.ecoshop.dto.PedidoItem.PedidoItemResponseDTO;
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.dto.ProductImportResult;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.dto.Producto.ProductoRequestDTO;
+import com.ecoshop.dto.Producto.ProductoResponseDTO;
+import com.ecoshop.dto.Usuario.UsuarioRequestDTO;
+import com.ecoshop.dto.Usuario.UsuarioResponseDTO;
+import com.ecoshop.dto.analytics.VentasPorEcoBadgeResponse;
+import com.ecoshop.dto.analytics.VentasPorMarcaResponse;
+import com.ecoshop.dto.analytics.VentasPorPeriodoResponse;
+import com.ecoshop.event.PedidoCreadoEvent;
+import com.ecoshop.event.PedidoEstadoCambiadoEvent;
+import com.ecoshop.event.PedidoItemsCambiadosEvent;
+import com.ecoshop.health.HealthCheckResult;
+import com.ecoshop.stats.ImpactStatsSnapshot;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Metadatos de alcanzabilidad (reachability metadata) para la imagen nativa de GraalVM.
+ *
+ * En una imagen nativa no hay reflexión "libre": todo lo que se accede por reflexión debe
+ * declararse en build. Spring AOT ya registra los beans, los repositorios y los tipos de
+ * @RequestBody/@ResponseBody que detecta en los controladores, pero no todo:
+ * - Entidades JPA: Hibernate accede a campos y constructores por reflexión
+ * - DTOs: Jackson los construye y recorre por reflexión (incluidas clases anidadas
+ *   como ProductDto.ImpactoAmbientalDto y los tipos dentro de ResponseEntity&lt;List&lt;...&gt;&gt;),
+ *   además de los eventos que se guardan como JSON en el outbox
+ * - Proxies JDK: las conexiones que entrega PartitionedDataSource y, con réplica de lectura,
+ *   las del LazyConnectionDataSourceProxy que la precede
+ *
+ * Los builders de Lombok se generan en compilación y se invocan directamente,
+ * así que no necesitan metadatos.
+ *
+ * En la JVM estos hints no tienen ningún efecto.
+ */
+@Configuration
+@ImportRuntimeHints(NativeRuntimeHints.Registrar.class)
+public class NativeRuntimeHints {
+
+    static final List<Class<?>> ENTITIES = List.of(
+            Product.class, Certification.class, ImpactoAmbiental.class,
+            Producto.class, Marca.class, Pedido.class, PedidoItem.class, Usuario.class, OutboxEvent.class,
+            VentaDiaria.class, VentaDiaria.Clave.class, VentaPedido.class,
+            VentaPedidoAporte.class, VentaPedidoAporte.Clave.class);
+
+    static final List<Class<?>> DTOS = List.of(
+            ProductDto.class, ProductDto.ImpactoAmbientalDto.class, ProductResponse.class,
+            ImpactoAmbientalResponse.class, CertificationRequest.class, CertificationResponse.class,
+            ProductoRequestDTO.class, ProductoResponseDTO.class, MarcaRequestDTO.class, MarcaResponseDTO.class,
+            PedidoRequestDTO.class, PedidoResponseDTO.class, PedidoPageResponseDTO.class, PedidoDetalleResponseDTO.class,
+            PedidoItemRequestDTO.class, PedidoItemResponseDTO.class,
+            UsuarioRequestDTO.class, UsuarioResponseDTO.class, HealthResponse.class, HealthCheckResult.class,
+            ProductImportResult.class, ProductImportResult.RowError.class,
+            VentasPorPeriodoResponse.class, VentasPorMarcaResponse.class, VentasPorEcoBadgeResponse.class,
+            ImpactStatsSnapshot.class,
+            PedidoCreadoEvent.class, PedidoItemsCambiadosEvent.class, PedidoEstadoCambiadoEvent.class);
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            // Registra getters/setters/constructores de cada DTO y, recursivamente, de sus propiedades
+            bindingRegistrar.registerReflectionHints(hints.reflection(), DTOS.toArray(Class<?>[]::new));
+            // PartitionedDataSource envuelve cada conexión en un proxy JDK
+            hints.proxies().registerJdkProxy(Connection.class);
+            // Con ecoshop.replica.enabled, LazyConnectionDataSourceProxy difiere la conexión real con otro proxy
+            hints.proxies().registerJdkProxy(ConnectionProxy.class);
+        }
+    }
+}
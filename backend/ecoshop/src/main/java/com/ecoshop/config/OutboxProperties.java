@@ -0,0 +1,35 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del outbox de eventos (prefijo "ecoshop.outbox").
+ *
+ * - enabled: Si la instancia entrega eventos. Los eventos se registran igual aunque esté
+ *   deshabilitado, y los entrega otra instancia o esta misma al volver a habilitarlo
+ * - pollInterval: Espera entre una consulta de eventos pendientes y la siguiente
+ * - batchSize: Eventos reservados y entregados por transacción
+ * - maxAttempts: Entregas fallidas tras las cuales el evento se deja de reintentar
+ *   (queda en la tabla con su último error para revisarlo a mano)
+ * - retryBackoff: Espera antes del primer reintento; se duplica en cada fallo
+ * - retention: Tiempo que se conservan los eventos ya entregados antes de borrarlos
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int batchSize = 100;
+
+    private int maxAttempts = 10;
+
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    private Duration retention = Duration.ofDays(7);
+}
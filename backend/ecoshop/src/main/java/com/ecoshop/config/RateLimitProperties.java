@@ -0,0 +1,37 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del rate limiting por cliente (prefijo "ecoshop.rate-limit").
+ *
+ * Cada cliente tiene un token bucket: puede hacer ráfagas de hasta "burst" solicitudes y
+ * después se le permite "requests-per-second" en promedio. Al pasarse recibe 429 con Retry-After.
+ * - ipRequestsPerSecond / ipBurst: Límite por IP (detrás de un NAT varios usuarios comparten IP,
+ *   por eso es más alto que el de usuario)
+ * - userRequestsPerSecond / userBurst: Límite por usuario autenticado, además del de su IP
+ * - maxTrackedClients: Cantidad máxima de buckets en memoria. Los clientes nuevos por encima
+ *   de este número comparten un único bucket (así un ataque con muchas IPs no agota la memoria)
+ * - evictionInterval: Cada cuánto se descartan los buckets llenos (clientes inactivos)
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private double ipRequestsPerSecond = 20;
+
+    private int ipBurst = 60;
+
+    private double userRequestsPerSecond = 10;
+
+    private int userBurst = 30;
+
+    private int maxTrackedClients = 100_000;
+
+    private Duration evictionInterval = Duration.ofMinutes(1);
+}
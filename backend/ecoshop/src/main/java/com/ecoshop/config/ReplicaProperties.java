@@ -0,0 +1,58 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la réplica de lectura (prefijo "ecoshop.replica").
+ *
+ * Con enabled=true las transacciones de solo lectura (@Transactional(readOnly = true)) se
+ * atienden desde la réplica y el resto desde el primario (spring.datasource.*). Vuelven al primario:
+ * - Mientras el retraso de la réplica (lagQuery, en milisegundos) supere maxLag, o si no se pudo medir
+ * - Durante stickyWindow después de que el mismo cliente confirmó una escritura (read-your-writes)
+ *
+ * - url/username/password/driverClassName: Conexión a la réplica (si username y password quedan
+ *   vacíos se usan los del primario)
+ * - maximumPoolSize: Tamaño del pool propio de la réplica
+ * - connectionTimeout: Espera máxima por una conexión de la réplica; corto, porque ante una
+ *   réplica caída conviene leer del primario antes que esperar
+ * - lagCheckInterval: Cada cuánto se mide el retraso
+ * - lagQuery: Consulta que devuelve el retraso en milisegundos (la de PostgreSQL por defecto;
+ *   con H2 como réplica local alcanza con "SELECT 0")
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.replica")
+public class ReplicaProperties {
+
+    /**
+     * Retraso de una réplica de streaming de PostgreSQL: 0 si ya aplicó todo lo que recibió,
+     * si no, el tiempo desde la última transacción aplicada (NULL si todavía no aplicó ninguna).
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    private int maximumPoolSize = 10;
+
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    private String lagQuery = POSTGRES_LAG_QUERY;
+
+    private Duration stickyWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,15 @@
+package com.ecoshop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita @Scheduled para las tareas en segundo plano (p. ej. OutboxDispatcher).
+ *
+ * Las tareas corren en el scheduler que autoconfigura Spring Boot (spring.task.scheduling.*),
+ * que usa hilos virtuales si spring.threads.virtual.enabled=true.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
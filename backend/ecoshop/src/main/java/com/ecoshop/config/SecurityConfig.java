@@ -55,7 +55,7 @@ public class SecurityConfig {
      *    (típico para APIs REST, cada solicitud es independiente)
      * 
  * 4. Autorización de endpoints:
- *    - /api/v1/health: Público (permite acceso sin autenticación)
+ *    - /api/v1/health y /api/v1/health/**: Público (probes de liveness/readiness)
  *    - /api/v1/products/**: Público (permite acceso sin autenticación)
  *    - /api/v1/certifications/**: Público (permite acceso sin autenticación)
  *    - Cualquier otra ruta: Requiere autenticación (aunque actualmente no hay autenticación configurada)
@@ -84,13 +84,16 @@ public class SecurityConfig {
                         // Estos endpoints son públicos (no requieren autenticación)
                         .requestMatchers(
                           "/api/v1/health",
+                          "/api/v1/health/**",
                           "/api/v1/products/**",
                           "/api/v1/certifications/**",
                           "/api/v1/usuarios/**",
                           "/api/v1/marcas/**",
                           "/api/v1/productos/**",
                           "/api/v1/pedidos/**",
-                          "/api/v1/pedido-items/**"
+                          "/api/v1/pedido-items/**",
+                         "/api/v1/analytics/**",
+                         "/api/v1/stats/**"
                           ).permitAll()
                         // Cualquier otra solicitud requiere autenticación
                         // (actualmente no hay autenticación configurada, así que esto no tiene efecto)
@@ -108,9 +111,10 @@ public class SecurityConfig {
      * 
      * Configuración actual:
      * - Orígenes permitidos: Todos (*) - ⚠️ Cambiar en producción
-     * - Métodos permitidos: GET, POST, PUT, DELETE, OPTIONS
+     * - Métodos permitidos: GET, POST, PUT, PATCH, DELETE, OPTIONS
      * - Headers permitidos: Todos (*)
-     * - Headers expuestos: Authorization, Content-Type
+     * - Headers expuestos: Authorization, Content-Type, ETag (para enviarlo luego en If-Match) y
+     *   Retry-After (respuestas 429/503 del rate limiting)
      * - Credenciales: No permitidas (allowCredentials = false)
      * - Tiempo de caché: 3600 segundos (1 hora)
      * 
@@ -130,13 +134,13 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*")); // Permite todos los orígenes
         
         // Métodos HTTP permitidos
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
         // Headers permitidos en las solicitudes
         configuration.setAllowedHeaders(List.of("*")); // Permite todos los headers
         
         // Headers que el cliente puede leer en la respuesta
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "ETag", "Retry-After"));
         
         // No permite credenciales (cookies, autenticación HTTP) en las solicitudes
         // Si necesitas enviar credenciales, cambiar a true y especificar orígenes específicos
@@ -0,0 +1,35 @@
+package com.ecoshop.config;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica Http2Properties al protocolo HTTP/2 del conector de Tomcat.
+ *
+ * Spring Boot agrega el Http2Protocol cuando server.http2.enabled=true, pero no expone sus
+ * límites. Keep-alive, accept-count y max-connections del conector HTTP/1.1 se configuran
+ * con las propiedades estándar server.tomcat.* (ver application.yml).
+ */
+@Component
+@RequiredArgsConstructor
+public class TomcatConfig implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final Http2Properties http2Properties;
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(http2Properties.getMaxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(http2Properties.getMaxConcurrentStreamExecution());
+                    http2.setKeepAliveTimeout(http2Properties.getKeepAliveTimeout().toMillis());
+                }
+            }
+        });
+    }
+}
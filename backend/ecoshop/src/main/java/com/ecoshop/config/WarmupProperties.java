@@ -0,0 +1,20 @@
+package com.ecoshop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del calentamiento de la instancia al arrancar (prefijo "ecoshop.warmup").
+ *
+ * - enabled: Activa o desactiva el warm-up
+ * - serializationIterations: Cantidad de veces que se serializa el catálogo a JSON para que
+ *   el JIT compile el camino de serialización de ProductResponse antes del primer request real
+ */
+@Data
+@ConfigurationProperties(prefix = "ecoshop.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    private int serializationIterations = 200;
+}
@@ -1,10 +1,38 @@
 package com.ecoshop.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
     // La configuración de CORS está en SecurityConfig
-}
 
+    // Builder de Spring Boot (prototype): trae spring.jackson.* y los customizers, incluido JacksonConfig
+    private final Jackson2ObjectMapperBuilder jacksonBuilder;
+
+    /**
+     * Formato binario CBOR para consumidores servidor a servidor (BFF móvil, sincronización
+     * con partners): con "Accept: application/cbor" las respuestas salen en CBOR, y con
+     * "Content-Type: application/cbor" se aceptan cuerpos en CBOR. Es el mismo modelo de
+     * datos que el JSON (mismos DTOs y nombres de campos), pero sin comillas ni texto para
+     * los números, así que pesa menos y se parsea más rápido.
+     *
+     * Spring MVC ya registra un conversor CBOR cuando la librería está en el classpath, pero
+     * con un ObjectMapper sin la configuración de la aplicación; aquí se reemplaza. Queda al
+     * final de la lista para que los clientes sin preferencia (Accept con comodín o ausente) sigan recibiendo JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                jacksonBuilder.factory(new CBORFactory()).build()));
+    }
+}
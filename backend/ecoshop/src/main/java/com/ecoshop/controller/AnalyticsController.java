@@ -0,0 +1,76 @@
+package com.ecoshop.controller;
+
+import com.ecoshop.dto.analytics.VentasPorEcoBadgeResponse;
+import com.ecoshop.dto.analytics.VentasPorMarcaResponse;
+import com.ecoshop.dto.analytics.VentasPorPeriodoResponse;
+import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Controlador REST de analítica de ventas y sostenibilidad para el dashboard de admin.
+ *
+ * Todos los endpoints están bajo "/api/v1/analytics" y aceptan un rango opcional
+ * desde/hasta (yyyy-MM-dd, inclusivo). Sin rango, devuelven los últimos 30 días.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * GET /api/v1/analytics/ventas?agrupacion=dia|semana|mes
+     *
+     * Serie temporal de ingresos, unidades y CO₂. Las semanas empiezan el lunes
+     * y cada período se identifica por su primer día.
+     */
+    @GetMapping("/ventas")
+    public ResponseEntity<List<VentasPorPeriodoResponse>> getVentasPorPeriodo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "dia") String agrupacion) {
+        return ResponseEntity.ok(analyticsService.ventasPorPeriodo(desde, hasta, parseAgrupacion(agrupacion)));
+    }
+
+    /**
+     * GET /api/v1/analytics/ventas/marcas
+     */
+    @GetMapping("/ventas/marcas")
+    public ResponseEntity<List<VentasPorMarcaResponse>> getVentasPorMarca(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(analyticsService.ventasPorMarca(desde, hasta));
+    }
+
+    /**
+     * GET /api/v1/analytics/ventas/eco-badges
+     *
+     * Los productos sin eco-badge se agrupan bajo "sin_badge".
+     */
+    @GetMapping("/ventas/eco-badges")
+    public ResponseEntity<List<VentasPorEcoBadgeResponse>> getVentasPorEcoBadge(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(analyticsService.ventasPorEcoBadge(desde, hasta));
+    }
+
+    private static AnalyticsService.Agrupacion parseAgrupacion(String agrupacion) {
+        try {
+            return AnalyticsService.Agrupacion.valueOf(agrupacion.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Agrupación inválida: '" + agrupacion + "' (valores: dia, semana, mes)");
+        }
+    }
+}
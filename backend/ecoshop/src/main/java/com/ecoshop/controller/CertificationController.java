@@ -5,6 +5,7 @@ import com.ecoshop.dto.CertificationResponse;
 import com.ecoshop.service.CertificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -61,7 +62,7 @@ public class CertificationController {
     public ResponseEntity<CertificationResponse> getCertificationById(@PathVariable Long id) {
         // @PathVariable extrae el valor del ID desde la URL
         CertificationResponse certification = certificationService.findById(id);
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok().eTag(ETags.of(certification.getVersion())).body(certification);
     }
 
     /**
@@ -105,7 +106,7 @@ public class CertificationController {
         // @RequestBody convierte el JSON del cuerpo de la petición a un objeto CertificationRequest
         CertificationResponse createdCertification = certificationService.create(request);
         // Retornamos código HTTP 201 (CREATED) para indicar que se creó un nuevo recurso
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdCertification);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdCertification.getVersion())).body(createdCertification);
     }
 
     /**
@@ -113,7 +114,8 @@ public class CertificationController {
      * 
      * @param id Identificador único de la certificación a actualizar
      * @param request Nuevos datos de la certificación (viene en el cuerpo de la petición)
-     * @return ResponseEntity con la certificación actualizada y código HTTP 200 (OK)
+     * @param ifMatch ETag obtenido al leer la certificación (opcional); si no coincide con la versión actual, 412
+     * @return ResponseEntity con la certificación actualizada, su nuevo ETag y código HTTP 200 (OK)
      * @throws jakarta.persistence.EntityNotFoundException si la certificación no existe
      * @throws org.springframework.web.bind.MethodArgumentNotValidException si los datos no son válidos
      * @throws com.ecoshop.exception.BadRequestException si el nuevo código ya existe en otra certificación
@@ -125,11 +127,12 @@ public class CertificationController {
     @PutMapping("/{id}")
     public ResponseEntity<CertificationResponse> updateCertification(
             @PathVariable Long id,
-            @Valid @RequestBody CertificationRequest request) {
+            @Valid @RequestBody CertificationRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // @Valid activa las validaciones definidas en CertificationRequest
         // @RequestBody convierte el JSON del cuerpo de la petición a un objeto CertificationRequest
-        CertificationResponse updatedCertification = certificationService.update(id, request);
-        return ResponseEntity.ok(updatedCertification);
+        CertificationResponse updatedCertification = certificationService.update(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCertification.getVersion())).body(updatedCertification);
     }
 
     /**
@@ -0,0 +1,58 @@
+package com.ecoshop.controller;
+
+import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.exception.PreconditionFailedException;
+
+/**
+ * Utilidades para los ETags de las entidades versionadas.
+ *
+ * El ETag de una entidad es su columna @Version entre comillas (p. ej. "3"). El cliente
+ * lo devuelve en If-Match al modificar, y el servicio compara ese número con la versión
+ * actual: si no coinciden, la escritura se rechaza con 412 en lugar de pisar cambios ajenos.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Convierte el valor de If-Match en la versión esperada.
+     *
+     * @param ifMatch Valor del header (puede ser null)
+     * @return La versión esperada, o null si no hay que verificar (header ausente o "*")
+     * @throws BadRequestException si If-Match trae varios ETags
+     * @throws PreconditionFailedException si el ETag no corresponde a ninguna versión posible
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.indexOf(',') >= 0) {
+            throw new BadRequestException("If-Match debe contener un solo ETag");
+        }
+        // Se aceptan ETags débiles (W/"3"): la versión identifica igual la representación
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // Un ETag que no generamos nunca puede coincidir con la versión actual
+            throw new PreconditionFailedException("If-Match no coincide con la versión actual del recurso: " + ifMatch);
+        }
+    }
+
+    /**
+     * Arma el valor del header ETag a partir de la versión (ResponseEntity agrega las comillas).
+     */
+    static String of(Long version) {
+        return String.valueOf(version);
+    }
+}
@@ -1,38 +1,81 @@
 package com.ecoshop.controller;
 
+import com.ecoshop.dto.HealthResponse;
+import com.ecoshop.health.HealthService;
+import com.ecoshop.health.HealthStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controlador para endpoints de salud y estado de la aplicación.
- * 
+ *
  * Este controlador proporciona endpoints útiles para monitoreo y verificación
  * del estado de la API. Es comúnmente usado por herramientas de orquestación
- * como Kubernetes, Docker Swarm, etc., para verificar si la aplicación está
+ * como Kubernetes, Render, Docker Swarm, etc., para verificar si la aplicación está
  * funcionando correctamente.
+ *
+ * Probes disponibles:
+ * - /api/v1/health/live: Liveness. El proceso está vivo (no consulta la BD)
+ * - /api/v1/health/ready: Readiness. La instancia puede atender tráfico
+ *   (BD accesible y rápida, pool no saturado, cachés calentadas)
+ *
+ * Ambos probes devuelven 200 cuando el estado es UP y 503 cuando es DOWN,
+ * que es lo que esperan los balanceadores para sacar la instancia de rotación.
  */
 @RestController
-@RequestMapping("/api/v1")
+@RequestMapping("/api/v1/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final HealthService healthService;
+
     /**
-     * Endpoint de health check para verificar que la API está funcionando.
-     * 
-     * Este endpoint se usa para:
-     * - Verificar que la aplicación está corriendo
-     * - Monitoreo de salud de la aplicación
-     * - Load balancers para determinar si la instancia está disponible
-     * 
+     * Endpoint de health check simple (compatibilidad con clientes existentes).
+     *
+     * Equivale al probe de liveness pero responde texto plano.
+     *
      * @return Mensaje de estado de la API
-     * 
+     *
      * Ejemplo de uso:
      * GET http://localhost:8080/api/v1/health
      * Respuesta: "EcoShop API OK"
      */
-    @GetMapping("/health")
-    public String health() {
-        return "EcoShop API OK";
+    @GetMapping
+    public ResponseEntity<String> health() {
+        if (healthService.liveness().getStatus() != HealthStatus.UP) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("EcoShop API DOWN");
+        }
+        return ResponseEntity.ok("EcoShop API OK");
+    }
+
+    /**
+     * Probe de liveness: indica si el proceso debe reiniciarse.
+     *
+     * Ejemplo de uso:
+     * GET http://localhost:8080/api/v1/health/live
+     */
+    @GetMapping("/live")
+    public ResponseEntity<HealthResponse> liveness() {
+        return toResponse(healthService.liveness());
     }
-}
 
+    /**
+     * Probe de readiness: indica si la instancia debe recibir tráfico.
+     *
+     * Ejemplo de uso:
+     * GET http://localhost:8080/api/v1/health/ready
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<HealthResponse> readiness() {
+        return toResponse(healthService.readiness());
+    }
+
+    private ResponseEntity<HealthResponse> toResponse(HealthResponse health) {
+        HttpStatus status = health.getStatus() == HealthStatus.UP ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(health);
+    }
+}
@@ -4,6 +4,7 @@ import com.ecoshop.dto.Marca.MarcaRequestDTO;
 import com.ecoshop.dto.Marca.MarcaResponseDTO;
 import com.ecoshop.service.MarcaService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,12 +24,13 @@ public class MarcaController {
   @PostMapping
   public ResponseEntity<MarcaResponseDTO> createMarca(@Valid @RequestBody MarcaRequestDTO marcaDTO) {
     MarcaResponseDTO newMarca = marcaService.createMarca(marcaDTO);
-    return new ResponseEntity<>(newMarca, HttpStatus.CREATED);
+    return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(newMarca.getVersion())).body(newMarca);
   }
 
   @GetMapping("/{id}")
   public ResponseEntity<MarcaResponseDTO> getMarcaById(@PathVariable Integer id) {
-    return ResponseEntity.ok(marcaService.getMarcaById(id));
+    MarcaResponseDTO marca = marcaService.getMarcaById(id);
+    return ResponseEntity.ok().eTag(ETags.of(marca.getVersion())).body(marca);
   }
 
   @GetMapping
@@ -36,10 +38,13 @@ public class MarcaController {
     return ResponseEntity.ok(marcaService.getAllMarcas());
   }
 
+  // If-Match (opcional) con el ETag leído: si otro cliente modificó la marca, 412
   @PutMapping("/{id}")
   public ResponseEntity<MarcaResponseDTO> updateMarca(@PathVariable Integer id,
-      @Valid @RequestBody MarcaRequestDTO marcaDTO) {
-    return ResponseEntity.ok(marcaService.updateMarca(id, marcaDTO));
+      @Valid @RequestBody MarcaRequestDTO marcaDTO,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    MarcaResponseDTO marca = marcaService.updateMarca(id, marcaDTO, ETags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(marca.getVersion())).body(marca);
   }
 
   @DeleteMapping("/{id}")
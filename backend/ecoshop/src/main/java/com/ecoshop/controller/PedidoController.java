@@ -1,14 +1,18 @@
 package com.ecoshop.controller;
 
+import com.ecoshop.dto.Pedido.PedidoDetalleResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoPageResponseDTO;
 import com.ecoshop.dto.Pedido.PedidoRequestDTO;
 import com.ecoshop.dto.Pedido.PedidoResponseDTO;
 import com.ecoshop.service.PedidoService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/pedidos")
@@ -22,30 +26,51 @@ public class PedidoController {
 
   @PostMapping
   public ResponseEntity<PedidoResponseDTO> createPedido(@Valid @RequestBody PedidoRequestDTO dto) {
-    return new ResponseEntity<>(pedidoService.createPedido(dto), HttpStatus.CREATED);
+    PedidoResponseDTO pedido = pedidoService.createPedido(dto);
+    return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(pedido.getVersion())).body(pedido);
   }
 
   @GetMapping("/{id}")
   public ResponseEntity<PedidoResponseDTO> getPedidoById(@PathVariable Integer id) {
-    return ResponseEntity.ok(pedidoService.getPedidoById(id));
+    PedidoResponseDTO pedido = pedidoService.getPedidoById(id);
+    return ResponseEntity.ok().eTag(ETags.of(pedido.getVersion())).body(pedido);
   }
 
+  // Detalle completo para la vista del pedido: cabecera, líneas con producto y totales en una sola llamada
+  @GetMapping("/{id}/detalle")
+  public ResponseEntity<PedidoDetalleResponseDTO> getPedidoDetalle(@PathVariable Integer id) {
+    PedidoDetalleResponseDTO detalle = pedidoService.getPedidoDetalle(id);
+    return ResponseEntity.ok().eTag(ETags.of(detalle.getPedido().getVersion())).body(detalle);
+  }
+
+  // Listado para el admin, más recientes primero y paginado por cursor.
+  // Filtros opcionales: estado y rango de fechas (desde/hasta inclusivos, formato yyyy-MM-dd).
+  // Para la página siguiente se envía el nextCursor de la respuesta en "cursor"
   @GetMapping
-  public ResponseEntity<List<PedidoResponseDTO>> getAllPedidos() {
-    return ResponseEntity.ok(pedidoService.getAllPedidos());
+  public ResponseEntity<PedidoPageResponseDTO> getAllPedidos(
+      @RequestParam(required = false) String estado,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(pedidoService.getPedidos(estado, desde, hasta, cursor, size));
   }
 
-  // Endpoint para ver el historial de un usuario
+  // Endpoint para ver el historial de un usuario (paginado por cursor, igual que el listado general)
   @GetMapping("/usuario/{usuarioId}")
-  public ResponseEntity<List<PedidoResponseDTO>> getPedidosByUsuario(@PathVariable Integer usuarioId) {
-    return ResponseEntity.ok(pedidoService.getPedidosByUsuario(usuarioId));
+  public ResponseEntity<PedidoPageResponseDTO> getPedidosByUsuario(@PathVariable Integer usuarioId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(pedidoService.getPedidosByUsuario(usuarioId, cursor, size));
   }
 
   // Endpoint específico para cambiar estado (ej: de 'procesando' a 'enviado')
-  // Se usa PATCH o PUT
+  // Se usa PATCH o PUT. If-Match (opcional) con el ETag leído evita pisar un cambio de estado ajeno (412)
   @PatchMapping("/{id}/estado")
-  public ResponseEntity<PedidoResponseDTO> updateEstado(@PathVariable Integer id, @RequestParam String estado) {
-    return ResponseEntity.ok(pedidoService.updateEstadoPedido(id, estado));
+  public ResponseEntity<PedidoResponseDTO> updateEstado(@PathVariable Integer id, @RequestParam String estado,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    PedidoResponseDTO pedido = pedidoService.updateEstadoPedido(id, estado, ETags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(pedido.getVersion())).body(pedido);
   }
 
   @DeleteMapping("/{id}")
@@ -1,14 +1,34 @@
 package com.ecoshop.controller;
 
 import com.ecoshop.dto.ProductDto;
+import com.ecoshop.dto.ProductImportResult;
 import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.importer.CsvProductRowReader;
+import com.ecoshop.importer.NdjsonProductRowReader;
+import com.ecoshop.importer.ProductRowReader;
+import com.ecoshop.service.ProductImportService;
 import com.ecoshop.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -29,9 +49,17 @@ import java.util.List;
 @RequiredArgsConstructor // Genera automáticamente un constructor con los campos finales (inyección de dependencias)
 public class ProductController {
 
+    // Spring no define una constante para CSV
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     // Inyección de dependencias: Spring proporciona automáticamente una instancia de ProductService
     private final ProductService productService;
 
+    private final ProductImportService productImportService;
+
+    // ObjectMapper configurado por Spring Boot (el mismo que usan los demás endpoints)
+    private final ObjectMapper objectMapper;
+
     /**
      * Obtiene todos los productos existentes en la base de datos.
      * 
@@ -47,6 +75,85 @@ public class ProductController {
         return ResponseEntity.ok(products); // Retorna código HTTP 200 con la lista de productos
     }
 
+    /**
+     * Exporta todo el catálogo en formato NDJSON (un ProductResponse JSON por línea).
+     * 
+     * Pensado para feeds de partners con catálogos grandes: los productos se leen de la BD
+     * con un cursor y se escriben en la respuesta a medida que se leen, así que la memoria
+     * usada es constante sin importar la cantidad de productos.
+     * 
+     * StreamingResponseBody se ejecuta en un hilo aparte (procesamiento asíncrono de Spring MVC);
+     * la transacción de lectura se abre dentro de productService.exportAll().
+     * 
+     * @return ResponseEntity con el cuerpo NDJSON y código HTTP 200 (OK)
+     * 
+     * Ejemplo de uso:
+     * GET http://localhost:8080/api/v1/products/export
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        // Sin flush después de cada producto: se deja que los buffers de Jackson y Tomcat
+        // agrupen las líneas y se envíen en bloques
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                // Separador entre valores raíz: un salto de línea en lugar del espacio por defecto
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+                long exported = productService.exportAll(product -> {
+                    try {
+                        writer.writeValue(generator, product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (exported > 0) {
+                    // NDJSON: cada línea termina en salto de línea, incluida la última
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Importa productos en forma masiva desde un archivo CSV o NDJSON.
+     * 
+     * El formato se elige por el Content-Type:
+     * - text/csv: encabezado con las columnas (nombre y precio obligatorias), ver CsvProductRowReader
+     * - application/x-ndjson: un ProductDto JSON por línea, igual que el body de POST /api/v1/products
+     * 
+     * El cuerpo se procesa en streaming (no se carga completo en memoria) y las filas
+     * válidas se insertan por lotes. Las filas inválidas no cortan la importación:
+     * se devuelven en "errors" con su número de línea.
+     * 
+     * @param contentType Content-Type de la petición (define el formato y el charset, UTF-8 por defecto)
+     * @param body Cuerpo de la petición
+     * @return ResponseEntity con el resumen de la importación y código HTTP 200 (OK)
+     * @throws com.ecoshop.exception.BadRequestException si el encabezado del CSV no es válido
+     * 
+     * Ejemplo de uso:
+     * POST http://localhost:8080/api/v1/products/import
+     * Content-Type: text/csv
+     * Body:
+     * nombre,marca,precio,huellaCarbono,certificaciones
+     * Botella reutilizable,EcoMarca,14990,0.8 kg CO₂,FAIR_TRADE|CARBON_NEUTRAL
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(body, charset);
+
+        try (ProductRowReader rows = mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? new NdjsonProductRowReader(reader, objectMapper)
+                : new CsvProductRowReader(reader)) {
+            return ResponseEntity.ok(productImportService.importProducts(rows));
+        }
+    }
+
     /**
      * Obtiene un producto específico por su ID.
      * 
@@ -61,7 +168,8 @@ public class ProductController {
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         // @PathVariable extrae el valor del ID desde la URL
         ProductResponse product = productService.findById(id);
-        return ResponseEntity.ok(product);
+        // El ETag es la versión del producto: el cliente lo reenvía en If-Match al actualizar
+        return ResponseEntity.ok().eTag(ETags.of(product.getVersion())).body(product);
     }
 
     /**
@@ -85,7 +193,7 @@ public class ProductController {
         // @RequestBody convierte el JSON del cuerpo de la petición a un objeto ProductDto
         ProductDto createdProduct = productService.save(productDto);
         // Retornamos código HTTP 201 (CREATED) para indicar que se creó un nuevo recurso
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdProduct.getVersion())).body(createdProduct);
     }
 
     /**
@@ -93,18 +201,24 @@ public class ProductController {
      * 
      * @param id Identificador único del producto a actualizar
      * @param productDto Nuevos datos del producto (viene en el cuerpo de la petición)
-     * @return ResponseEntity con el producto actualizado y código HTTP 200 (OK)
+     * @param ifMatch ETag obtenido al leer el producto (opcional); si no coincide con la versión actual, 412
+     * @return ResponseEntity con el producto actualizado, su nuevo ETag y código HTTP 200 (OK)
      * @throws jakarta.persistence.EntityNotFoundException si el producto no existe
      * @throws org.springframework.web.bind.MethodArgumentNotValidException si los datos no son válidos
+     * @throws com.ecoshop.exception.PreconditionFailedException si otro cliente modificó el producto
      * 
      * Ejemplo de uso:
      * PUT http://localhost:8080/api/v1/products/1
+     * If-Match: "3"
      * Body: { "nombre": "Botella actualizada", "precio": 15990, ... }
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDto productDto) {
-        ProductDto updatedProduct = productService.update(id, productDto);
-        return ResponseEntity.ok(updatedProduct);
+    public ResponseEntity<ProductDto> updateProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductDto productDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductDto updatedProduct = productService.update(id, productDto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedProduct.getVersion())).body(updatedProduct);
     }
 
     /**
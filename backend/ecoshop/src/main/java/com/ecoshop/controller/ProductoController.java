@@ -4,6 +4,7 @@ import com.ecoshop.dto.Producto.ProductoRequestDTO;
 import com.ecoshop.dto.Producto.ProductoResponseDTO;
 import com.ecoshop.service.ProductoService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,28 +23,36 @@ public class ProductoController {
 
     @PostMapping
     public ResponseEntity<ProductoResponseDTO> createProducto(@Valid @RequestBody ProductoRequestDTO dto) {
-        return new ResponseEntity<>(productoService.createProducto(dto), HttpStatus.CREATED);
+        ProductoResponseDTO producto = productoService.createProducto(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(producto.getVersion())).body(producto);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProductoResponseDTO> getProductoById(@PathVariable Integer id) {
-        return ResponseEntity.ok(productoService.getProductoById(id));
+        ProductoResponseDTO producto = productoService.getProductoById(id);
+        return ResponseEntity.ok().eTag(ETags.of(producto.getVersion())).body(producto);
     }
 
+    // fields (opcional): solo esos campos, p. ej. ?fields=nombre,precio,imagenUrl,ecoBadge para las
+    // tarjetas del catálogo. La BD lee únicamente esas columnas y el JSON omite el resto
     @GetMapping
-    public ResponseEntity<List<ProductoResponseDTO>> getAllProductos() {
-        return ResponseEntity.ok(productoService.getAllProductos());
+    public ResponseEntity<List<ProductoResponseDTO>> getAllProductos(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(productoService.getAllProductos(fields));
     }
     
-    // Endpoint extra: Ver productos de una marca específica
+    // Endpoint extra: Ver productos de una marca específica (acepta fields igual que el listado)
     @GetMapping("/marca/{marcaId}")
-    public ResponseEntity<List<ProductoResponseDTO>> getProductosByMarca(@PathVariable Integer marcaId) {
-        return ResponseEntity.ok(productoService.getProductosByMarca(marcaId));
+    public ResponseEntity<List<ProductoResponseDTO>> getProductosByMarca(@PathVariable Integer marcaId,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(productoService.getProductosByMarca(marcaId, fields));
     }
 
+    // If-Match (opcional) con el ETag leído: si otro cliente modificó el producto, 412
     @PutMapping("/{id}")
-    public ResponseEntity<ProductoResponseDTO> updateProducto(@PathVariable Integer id, @Valid @RequestBody ProductoRequestDTO dto) {
-        return ResponseEntity.ok(productoService.updateProducto(id, dto));
+    public ResponseEntity<ProductoResponseDTO> updateProducto(@PathVariable Integer id, @Valid @RequestBody ProductoRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductoResponseDTO producto = productoService.updateProducto(id, dto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(producto.getVersion())).body(producto);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,40 @@
+package com.ecoshop.controller;
+
+import com.ecoshop.config.ImpactStatsProperties;
+import com.ecoshop.stats.ImpactStatsCollector;
+import com.ecoshop.stats.ImpactStatsSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST de las estadísticas públicas de la landing.
+ *
+ * Endpoint bajo "/api/v1/stats". La respuesta sale de la foto en memoria de
+ * ImpactStatsCollector, así que el tráfico público nunca llega a la BD.
+ */
+@RestController
+@RequestMapping("/api/v1/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final ImpactStatsCollector impactStatsCollector;
+
+    private final ImpactStatsProperties impactStatsProperties;
+
+    /**
+     * GET /api/v1/stats/impacto
+     *
+     * Totales de compras, CO₂ y métricas del catálogo. Navegadores y CDN pueden cachear
+     * la respuesta hasta la siguiente publicación de la foto.
+     */
+    @GetMapping("/impacto")
+    public ResponseEntity<ImpactStatsSnapshot> getImpacto() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(impactStatsProperties.getPublishInterval()).cachePublic())
+                .body(impactStatsCollector.current());
+    }
+}
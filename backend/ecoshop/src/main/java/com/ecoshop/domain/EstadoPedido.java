@@ -0,0 +1,65 @@
+package com.ecoshop.domain;
+
+import com.ecoshop.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Estados de un pedido y transiciones permitidas entre ellos:
+ *
+ *   pendiente_pago → procesando → enviado → entregado
+ *         └──────────────┴──→ cancelado
+ *
+ * En la BD se guarda el valor en minúsculas (columna Pedidos.estado), igual que antes de
+ * existir el enum, así que no hace falta migrar los datos.
+ */
+public enum EstadoPedido {
+
+  PENDIENTE_PAGO("pendiente_pago"),
+  PROCESANDO("procesando"),
+  ENVIADO("enviado"),
+  ENTREGADO("entregado"),
+  CANCELADO("cancelado");
+
+  private final String valor;
+
+  // Se asigna en el bloque static: los enums no pueden referenciar constantes posteriores en el constructor
+  private Set<EstadoPedido> siguientes;
+
+  static {
+    PENDIENTE_PAGO.siguientes = EnumSet.of(PROCESANDO, CANCELADO);
+    PROCESANDO.siguientes = EnumSet.of(ENVIADO, CANCELADO);
+    ENVIADO.siguientes = EnumSet.of(ENTREGADO);
+    ENTREGADO.siguientes = EnumSet.noneOf(EstadoPedido.class);
+    CANCELADO.siguientes = EnumSet.noneOf(EstadoPedido.class);
+  }
+
+  EstadoPedido(String valor) {
+    this.valor = valor;
+  }
+
+  // Valor guardado en la BD y expuesto en la API
+  public String getValor() { return valor; }
+
+  public boolean puedePasarA(EstadoPedido destino) {
+    return siguientes.contains(destino);
+  }
+
+  public boolean esFinal() {
+    return siguientes.isEmpty();
+  }
+
+  // Convierte el valor de la API/BD al enum; un valor desconocido es un error del cliente (400)
+  public static EstadoPedido fromValor(String valor) {
+    for (EstadoPedido estado : values()) {
+      if (estado.valor.equalsIgnoreCase(valor)) {
+        return estado;
+      }
+    }
+    throw new BadRequestException("Estado inválido: '" + valor + "'. Valores: "
+        + Arrays.stream(values()).map(EstadoPedido::getValor).collect(Collectors.joining(", ")));
+  }
+}
@@ -1,6 +1,7 @@
 package com.ecoshop.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
@@ -33,6 +34,13 @@ public class Marca {
   @Column(name = "fecha_union", updatable = false)
   private LocalDateTime fechaUnion;
 
+  // Concurrencia optimista: Hibernate incrementa la versión en cada UPDATE y falla si otra
+  // transacción la cambió antes. El default 0 permite agregar la columna a tablas con datos
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   // --- CONSTRUCTORES ---
   public Marca() {}
 
@@ -65,4 +73,7 @@ public class Marca {
 
   public LocalDateTime getFechaUnion() { return fechaUnion; }
   public void setFechaUnion(LocalDateTime fechaUnion) { this.fechaUnion = fechaUnion; }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,66 @@
+package com.ecoshop.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa un evento pendiente de entrega (patrón transactional outbox).
+ * 
+ * Los servicios escriben la fila en la misma transacción que el cambio de negocio
+ * (crear un pedido, cambiar sus ítems o su estado): si la transacción hace rollback,
+ * el evento desaparece con ella, y si hace commit, el evento queda guardado aunque la
+ * instancia se caiga antes de procesarlo. OutboxDispatcher lo entrega después, fuera
+ * de la petición.
+ * 
+ * Estructura de la tabla:
+ * - id: Identificador único (también define el orden de entrega)
+ * - tipo: Tipo de evento (nombre de TipoEvento)
+ * - aggregate_id: ID del agregado que originó el evento (p. ej. el pedido)
+ * - payload: Evento serializado en JSON
+ * - creado_en: Fecha en que se registró el evento
+ * - siguiente_intento: A partir de cuándo puede entregarse (se posterga tras un fallo)
+ * - intentos: Entregas fallidas hasta ahora
+ * - ultimo_error: Mensaje del último fallo (para diagnóstico)
+ * - procesado_en: Fecha de entrega exitosa (null mientras está pendiente)
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_pendientes", columnList = "procesado_en, siguiente_intento, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String tipo;
+
+    @Column(name = "aggregate_id", nullable = false, length = 50)
+    private String aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "siguiente_intento", nullable = false)
+    private LocalDateTime siguienteIntento;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer intentos = 0;
+
+    @Column(name = "ultimo_error", columnDefinition = "TEXT")
+    private String ultimoError;
+
+    @Column(name = "procesado_en")
+    private LocalDateTime procesadoEn;
+}
@@ -1,12 +1,20 @@
 package com.ecoshop.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Pedidos")
+// Índices para el historial paginado por (fecha_pedido, pedido_id) DESC: por usuario,
+// y para el panel de admin, por estado o solo por fecha. Postgres los recorre hacia atrás
+// para el orden descendente y corta en el LIMIT, sin ordenar todos los pedidos
+@Table(name = "Pedidos", indexes = {
+    @Index(name = "idx_pedidos_usuario_fecha", columnList = "usuario_id, fecha_pedido, pedido_id"),
+    @Index(name = "idx_pedidos_estado_fecha", columnList = "estado, fecha_pedido, pedido_id"),
+    @Index(name = "idx_pedidos_fecha", columnList = "fecha_pedido, pedido_id")
+})
 public class Pedido {
 
   @Id
@@ -23,7 +31,7 @@ public class Pedido {
   private LocalDateTime fechaPedido;
 
   @Column(nullable = false, length = 15)
-  private String estado; // 'pendiente_pago', 'procesando', etc.
+  private String estado; // Valor de EstadoPedido: 'pendiente_pago', 'procesando', etc.
 
   @Column(nullable = false)
   private BigDecimal total;
@@ -40,6 +48,13 @@ public class Pedido {
   @Column(name = "huella_carbono_total_kg")
   private BigDecimal huellaCarbonoTotalKg;
 
+  // Concurrencia optimista: Hibernate incrementa la versión en cada UPDATE y falla si otra
+  // transacción la cambió antes. El default 0 permite agregar la columna a tablas con datos
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   // --- CONSTRUCTOR
   public Pedido() {}
 
@@ -70,4 +85,7 @@ public class Pedido {
 
   public BigDecimal getHuellaCarbonoTotalKg() { return huellaCarbonoTotalKg; }
   public void setHuellaCarbonoTotalKg(BigDecimal huellaCarbonoTotalKg) { this.huellaCarbonoTotalKg = huellaCarbonoTotalKg; }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 }
@@ -2,9 +2,11 @@ package com.ecoshop.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -152,12 +154,17 @@ public class Product {
     /**
      * Método que se ejecuta automáticamente antes de persistir la entidad.
      * Asigna la fecha de creación si no está establecida.
+     * 
+     * La fecha se trunca a microsegundos (la precisión de timestamp en PostgreSQL) para que
+     * la respuesta del POST, armada desde la entidad en memoria, coincida con lo que se
+     * guarda y devuelven después los GET.
      */
     @PrePersist
     protected void onCreate() {
         if (fechaCreacion == null) {
             fechaCreacion = LocalDateTime.now();
         }
+        fechaCreacion = fechaCreacion.truncatedTo(ChronoUnit.MICROS);
     }
 
     /**
@@ -174,6 +181,22 @@ public class Product {
     @Embedded // Los campos de este objeto se almacenan en la misma tabla
     private ImpactoAmbiental impactoAmbiental;
 
+    /**
+     * Versión de la entidad para concurrencia optimista.
+     * 
+     * @Version: Hibernate incrementa este valor en cada UPDATE y agrega "WHERE version = ?".
+     * Si otra transacción modificó la fila antes, el UPDATE no afecta filas y se lanza
+     * OptimisticLockException (409 Conflict), en lugar de pisar silenciosamente sus cambios.
+     * 
+     * También se expone como ETag en la API para que los clientes envíen If-Match.
+     * 
+     * @ColumnDefault("0"): permite agregar la columna con ddl-auto=update en tablas con datos.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * URL de la imagen del producto.
      * 
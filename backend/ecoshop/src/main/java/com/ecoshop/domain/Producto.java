@@ -1,6 +1,7 @@
 package com.ecoshop.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -60,6 +61,13 @@ public class Producto {
   @Column(nullable = false)
   private Boolean activo = true;
 
+  // Concurrencia optimista: Hibernate incrementa la versión en cada UPDATE y falla si otra
+  // transacción la cambió antes. El default 0 permite agregar la columna a tablas con datos
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   // --- CONSTRUCTOR VACÍO ---
   public Producto() {}
 
@@ -108,4 +116,7 @@ public class Producto {
 
   public Boolean getActivo() { return activo; }
   public void setActivo(Boolean activo) { this.activo = activo; }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 }
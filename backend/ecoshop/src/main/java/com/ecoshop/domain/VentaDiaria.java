@@ -0,0 +1,65 @@
+package com.ecoshop.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entidad JPA del rollup de ventas: totales acumulados por día, marca y eco-badge.
+ * 
+ * La tabla "ventas_diarias" no se recalcula con GROUP BY sobre Pedido_Items: se mantiene
+ * de forma incremental desde los eventos de pedidos (VentasRollupListener). Cada pedido pagado
+ * suma sus líneas a las filas de su día, y una cancelación posterior al pago las resta.
+ * 
+ * Como tiene como mucho una fila por (día, marca, badge), consultar años de ventas
+ * recorre miles de filas en lugar de millones de líneas de pedido.
+ * 
+ * Las escrituras se hacen con SQL atómico desde VentasRollupRepository
+ * (UPDATE ... SET ingresos = ingresos + ?); la entidad define el esquema de la tabla.
+ */
+@Entity
+@Table(name = "ventas_diarias")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDiaria {
+
+    @EmbeddedId
+    private Clave clave;
+
+    /** Suma de cantidad * precio unitario de las líneas vendidas. */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    /** Unidades vendidas. */
+    @Column(nullable = false)
+    private Long unidades;
+
+    /** Huella de carbono de las unidades vendidas (kg CO₂). */
+    @Column(name = "co2_kg", nullable = false, precision = 14, scale = 3)
+    private BigDecimal co2Kg;
+
+    /**
+     * Clave del rollup. El día va primero para que la clave primaria sirva también como
+     * índice de las consultas por rango de fechas.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate fecha;
+
+        @Column(name = "marca_id", nullable = false)
+        private Integer marcaId;
+
+        /** eco_badge del producto, o "sin_badge" si no tiene (las columnas de la clave no admiten null). */
+        @Column(name = "eco_badge", nullable = false, length = 15)
+        private String ecoBadge;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecoshop.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Registro de los pedidos ya sumados al rollup de ventas (tabla "ventas_pedidos").
+ * 
+ * Hace idempotente la actualización del rollup: los eventos se entregan at-least-once,
+ * así que antes de sumar un pedido se verifica que no se haya sumado ya, y al cancelarlo
+ * se restan sus aportes guardados (VentaPedidoAporte) en el mismo día en que se sumó.
+ */
+@Entity
+@Table(name = "ventas_pedidos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaPedido {
+
+    @Id
+    @Column(name = "pedido_id")
+    private Integer pedidoId;
+
+    /** Día del rollup en el que se sumó el pedido. */
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    /** false si el pedido se canceló después de sumarse (ya se restó del rollup). */
+    @Column(nullable = false)
+    private Boolean contabilizado;
+}
@@ -0,0 +1,55 @@
+package com.ecoshop.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Lo que un pedido pagado sumó al rollup de ventas, por marca y eco-badge
+ * (tabla "ventas_pedidos_aportes").
+ *
+ * Se guarda al confirmar el pago con la marca, el eco-badge y la huella que tenían los
+ * productos en ese momento. Una cancelación posterior resta estas filas en lugar de volver
+ * a unir Pedido_Items con Productos: si entretanto se editó un producto, la resta deshace
+ * exactamente lo que se sumó y el rollup no se desvía.
+ *
+ * Las escrituras se hacen con SQL desde VentasRollupRepository; la entidad define el
+ * esquema de la tabla.
+ */
+@Entity
+@Table(name = "ventas_pedidos_aportes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaPedidoAporte {
+
+    @EmbeddedId
+    private Clave clave;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    @Column(nullable = false)
+    private Long unidades;
+
+    @Column(name = "co2_kg", nullable = false, precision = 14, scale = 3)
+    private BigDecimal co2Kg;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        @Column(name = "pedido_id", nullable = false)
+        private Integer pedidoId;
+
+        @Column(name = "marca_id", nullable = false)
+        private Integer marcaId;
+
+        @Column(name = "eco_badge", nullable = false, length = 15)
+        private String ecoBadge;
+    }
+}
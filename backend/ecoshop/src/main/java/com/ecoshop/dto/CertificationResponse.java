@@ -1,9 +1,8 @@
 package com.ecoshop.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
@@ -13,11 +12,13 @@ import java.time.LocalDateTime;
  * Este DTO se usa para exponer la información de certificaciones
  * en las respuestas de la API. No expone la entidad directamente
  * para mantener el desacoplamiento entre la capa de dominio y la API.
+ *
+ * Es inmutable porque las respuestas de findAll() quedan en la caché
+ * "certifications" y se comparten entre requests.
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class CertificationResponse {
 
     /**
@@ -64,5 +65,10 @@ public class CertificationResponse {
      * Se actualiza automáticamente cuando se modifica la certificación.
      */
     private LocalDateTime updatedAt;
+
+    /**
+     * Versión de la certificación (la misma que el ETag), para enviar en If-Match.
+     */
+    private Long version;
 }
 
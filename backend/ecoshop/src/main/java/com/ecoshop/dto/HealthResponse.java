@@ -0,0 +1,40 @@
+package com.ecoshop.dto;
+
+import com.ecoshop.health.HealthCheckResult;
+import com.ecoshop.health.HealthStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de respuesta para los probes de liveness y readiness.
+ *
+ * Formato de respuesta JSON:
+ * {
+ *   "status": "UP",
+ *   "checks": {
+ *     "db": { "status": "UP", "details": { "latencyMs": 3, "maxLatencyMs": 1000 } },
+ *     "pool": { "status": "UP", "details": { "active": 1, "idle": 9, ... } },
+ *     "warmup": { "status": "UP", "details": { "pending": [], "completed": [...] } }
+ *   }
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthResponse {
+
+    /**
+     * Estado agregado: UP solo si todos los checks están UP.
+     */
+    private HealthStatus status;
+
+    /**
+     * Resultado de cada check por nombre.
+     */
+    private Map<String, HealthCheckResult> checks;
+}
@@ -1,9 +1,8 @@
 package com.ecoshop.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * DTO de respuesta para el impacto ambiental de un producto.
@@ -11,11 +10,12 @@ import lombok.NoArgsConstructor;
  * Este DTO se usa para exponer la información de impacto ambiental
  * en las respuestas de la API. La huella de carbono se formatea
  * como string con el formato "X kg CO₂".
+ *
+ * Es inmutable, igual que el ProductResponse que lo contiene.
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class ImpactoAmbientalResponse {
 
     /**
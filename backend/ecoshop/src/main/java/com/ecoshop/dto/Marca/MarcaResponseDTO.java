@@ -10,6 +10,7 @@ public class MarcaResponseDTO {
   private String sitioWeb;
   private String logoUrl;
   private LocalDateTime fechaUnion;
+  private Long version;
 
   public MarcaResponseDTO() {}
 
@@ -45,4 +46,7 @@ public class MarcaResponseDTO {
 
   public LocalDateTime getFechaUnion() { return fechaUnion; }
   public void setFechaUnion(LocalDateTime fechaUnion) { this.fechaUnion = fechaUnion; }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,24 @@
+package com.ecoshop.dto.Pedido;
+
+import com.ecoshop.dto.PedidoItem.PedidoItemResponseDTO;
+import java.util.List;
+
+// Vista completa de un pedido: cabecera, líneas (con nombre e imagen del producto) y totales.
+// Reemplaza las dos llamadas GET /pedidos/{id} + GET /pedido-items/pedido/{id}
+public class PedidoDetalleResponseDTO {
+  private PedidoResponseDTO pedido;
+  private List<PedidoItemResponseDTO> items;
+  private Integer cantidadUnidades; // Suma de las cantidades de todas las líneas
+
+  public PedidoDetalleResponseDTO() {}
+
+  // --- GETTERS Y SETTERS ---
+  public PedidoResponseDTO getPedido() { return pedido; }
+  public void setPedido(PedidoResponseDTO pedido) { this.pedido = pedido; }
+
+  public List<PedidoItemResponseDTO> getItems() { return items; }
+  public void setItems(List<PedidoItemResponseDTO> items) { this.items = items; }
+
+  public Integer getCantidadUnidades() { return cantidadUnidades; }
+  public void setCantidadUnidades(Integer cantidadUnidades) { this.cantidadUnidades = cantidadUnidades; }
+}
@@ -0,0 +1,27 @@
+package com.ecoshop.dto.Pedido;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Página de pedidos con paginación por cursor (keyset): para pedir la siguiente página
+// se envía nextCursor en el parámetro "cursor". nextCursor es null en la última página
+public class PedidoPageResponseDTO {
+  private List<PedidoResponseDTO> items;
+  @JsonInclude(JsonInclude.Include.ALWAYS) // El null marca la última página: se envía aunque el resto omita nulls
+  private String nextCursor;
+
+  public PedidoPageResponseDTO() {}
+
+  public PedidoPageResponseDTO(List<PedidoResponseDTO> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+
+  // --- GETTERS Y SETTERS ---
+  public List<PedidoResponseDTO> getItems() { return items; }
+  public void setItems(List<PedidoResponseDTO> items) { this.items = items; }
+
+  public String getNextCursor() { return nextCursor; }
+  public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -14,6 +14,7 @@ public class PedidoResponseDTO {
   private String metodoPago;
   private String idTransaccionPago;
   private BigDecimal huellaCarbonoTotalKg;
+  private Long version;
 
   public PedidoResponseDTO() {}
 
@@ -47,4 +48,7 @@ public class PedidoResponseDTO {
 
   public BigDecimal getHuellaCarbonoTotalKg() { return huellaCarbonoTotalKg; }
   public void setHuellaCarbonoTotalKg(BigDecimal huellaCarbonoTotalKg) { this.huellaCarbonoTotalKg = huellaCarbonoTotalKg; }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 }
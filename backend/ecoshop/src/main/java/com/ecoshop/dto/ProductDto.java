@@ -1,5 +1,6 @@
 package com.ecoshop.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -138,6 +139,15 @@ public class ProductDto {
      */
     private LocalDateTime fechaCreacion;
 
+    /**
+     * Versión del producto (la misma que el ETag de la respuesta).
+     * 
+     * Solo lectura: se incluye en las respuestas POST y PUT pero se ignora en el body
+     * de las peticiones. Para actualizar de forma condicional se envía en el header If-Match.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     /**
      * DTO interno para el impacto ambiental del producto.
      * 
@@ -0,0 +1,71 @@
+package com.ecoshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de la importación masiva de productos.
+ *
+ * Formato de respuesta JSON:
+ * {
+ *   "received": 3,
+ *   "imported": 2,
+ *   "failed": 1,
+ *   "errorsTruncated": false,
+ *   "errors": [
+ *     { "line": 3, "message": "El precio debe ser mayor a 0" }
+ *   ]
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResult {
+
+    /**
+     * Filas de datos leídas del archivo (sin contar el encabezado ni las líneas vacías).
+     */
+    private long received;
+
+    /**
+     * Productos insertados en la base de datos.
+     */
+    private long imported;
+
+    /**
+     * Filas rechazadas (por formato, validación o error al guardar).
+     */
+    private long failed;
+
+    /**
+     * true si hubo más errores que los detallados en "errors".
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * Detalle de los errores por fila (limitado por ecoshop.import.max-reported-errors).
+     */
+    private List<RowError> errors;
+
+    /**
+     * Error de una fila del archivo importado.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * Número de línea del archivo donde empieza la fila (1 = primera línea).
+         */
+        private long line;
+
+        private String message;
+    }
+}
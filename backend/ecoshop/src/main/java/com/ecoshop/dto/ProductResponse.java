@@ -1,9 +1,8 @@
 package com.ecoshop.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,11 +30,13 @@ import java.util.List;
  *   "certificaciones": ["Fair Trade", "Carbon Neutral"],
  *   "fechaCreacion": "2024-01-15T10:30:00"
  * }
+ *
+ * Es inmutable (también su lista de certificaciones) porque las respuestas de findAll()
+ * quedan en la caché "products" y se comparten entre requests.
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class ProductResponse {
 
     /**
@@ -81,5 +82,12 @@ public class ProductResponse {
      * Se asigna automáticamente cuando se crea el producto.
      */
     private LocalDateTime fechaCreacion;
+
+    /**
+     * Versión del producto (la misma que el ETag de GET /api/v1/products/{id}).
+     * 
+     * Permite editar desde el listado enviando If-Match sin consultar cada producto.
+     */
+    private Long version;
 }
 
@@ -20,6 +20,7 @@ public class ProductoResponseDTO {
     private String imagenUrl;
     private Boolean activo;
     private LocalDateTime fechaCreacion;
+    private Long version; // Versión para concurrencia optimista (también va en el ETag)
 
     public ProductoResponseDTO() {}
 
@@ -56,4 +57,7 @@ public class ProductoResponseDTO {
     public void setActivo(Boolean activo) { this.activo = activo; }
     public LocalDateTime getFechaCreacion() { return fechaCreacion; }
     public void setFechaCreacion(LocalDateTime fechaCreacion) { this.fechaCreacion = fechaCreacion; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
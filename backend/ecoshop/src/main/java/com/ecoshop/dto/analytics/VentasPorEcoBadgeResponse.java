@@ -0,0 +1,32 @@
+package com.ecoshop.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventas agregadas por eco-badge de los productos en el rango consultado.
+ *
+ * Formato de respuesta JSON:
+ * { "ecoBadge": "bajo_impacto", "ingresos": 45990.00, "unidades": 20, "co2Kg": 3.100 }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentasPorEcoBadgeResponse {
+
+    /**
+     * eco_badge de los productos ("bajo_impacto", "medio_impacto", "neutro"), o "sin_badge".
+     */
+    private String ecoBadge;
+
+    private BigDecimal ingresos;
+
+    private long unidades;
+
+    private BigDecimal co2Kg;
+}
@@ -0,0 +1,34 @@
+package com.ecoshop.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventas agregadas de una marca en el rango consultado.
+ *
+ * Formato de respuesta JSON:
+ * { "marcaId": 3, "nombreMarca": "EcoLife", "ingresos": 89990.00, "unidades": 15, "co2Kg": 6.200 }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentasPorMarcaResponse {
+
+    private Integer marcaId;
+
+    /**
+     * Nombre oficial actual de la marca (null si la marca se eliminó).
+     */
+    private String nombreMarca;
+
+    private BigDecimal ingresos;
+
+    private long unidades;
+
+    private BigDecimal co2Kg;
+}
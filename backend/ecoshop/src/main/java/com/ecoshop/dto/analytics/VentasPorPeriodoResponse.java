@@ -0,0 +1,36 @@
+package com.ecoshop.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ventas agregadas de un período (día, semana o mes) para la serie temporal del dashboard.
+ *
+ * Formato de respuesta JSON:
+ * { "periodo": "2025-03-01", "ingresos": 125990.00, "unidades": 42, "co2Kg": 18.400 }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentasPorPeriodoResponse {
+
+    /**
+     * Primer día del período: el día mismo, el lunes de la semana o el día 1 del mes.
+     */
+    private LocalDate periodo;
+
+    private BigDecimal ingresos;
+
+    private long unidades;
+
+    /**
+     * Huella de carbono de las unidades vendidas, en kg de CO₂.
+     */
+    private BigDecimal co2Kg;
+}
@@ -0,0 +1,144 @@
+package com.ecoshop.event;
+
+import com.ecoshop.config.OutboxProperties;
+import com.ecoshop.domain.OutboxEvent;
+import com.ecoshop.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entrega en segundo plano los eventos registrados en el outbox.
+ *
+ * Cada ciclo reserva un lote de eventos pendientes con SELECT ... FOR UPDATE SKIP LOCKED,
+ * los publica a los consumidores en proceso (@EventListener) y los marca como procesados,
+ * todo en una transacción. Varias instancias pueden ejecutar el dispatcher a la vez:
+ * cada una toma filas distintas.
+ *
+ * La entrega es at-least-once: si la instancia se cae después de notificar a un consumidor
+ * pero antes del commit, el evento se vuelve a entregar. Los consumidores deben ser
+ * idempotentes (p. ej. usar el ID del pedido y el estado como clave).
+ *
+ * Si un consumidor falla, el evento se reprograma con espera exponencial y, tras
+ * ecoshop.outbox.max-attempts fallos, queda en la tabla con su último error.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "ecoshop.outbox", name = "enabled", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties outboxProperties;
+
+    /**
+     * Entrega lotes hasta vaciar los eventos pendientes. Un lote incompleto indica que
+     * no quedan más por ahora, y el próximo ciclo empieza tras ecoshop.outbox.poll-interval.
+     */
+    @Scheduled(fixedDelayString = "${ecoshop.outbox.poll-interval:1s}")
+    public void dispatchPending() {
+        int batchSize = Math.max(1, outboxProperties.getBatchSize());
+        while (dispatchBatch(batchSize) == batchSize) {
+            // sigue con el próximo lote
+        }
+    }
+
+    /**
+     * Borra los eventos entregados hace más de ecoshop.outbox.retention para que la tabla no crezca sin límite.
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT5M")
+    public void purgeProcessed() {
+        LocalDateTime limite = LocalDateTime.now().minus(outboxProperties.getRetention());
+        Integer borrados = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(limite));
+        if (borrados != null && borrados > 0) {
+            log.info("Outbox: {} eventos procesados eliminados", borrados);
+        }
+    }
+
+    /**
+     * Reserva y entrega un lote en una transacción.
+     *
+     * @return Cantidad de eventos tomados (procesados o reprogramados)
+     */
+    int dispatchBatch(int limite) {
+        List<Long> reservados = new ArrayList<>();
+        try {
+            Integer tomados = transactionTemplate.execute(status -> {
+                List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(
+                        LocalDateTime.now(), outboxProperties.getMaxAttempts(), limite);
+                for (OutboxEvent event : batch) {
+                    reservados.add(event.getId());
+                    deliver(event);
+                }
+                return batch.size();
+            });
+            return tomados != null ? tomados : 0;
+        } catch (RuntimeException e) {
+            // Un consumidor transaccional puede marcar la transacción como rollback-only: el lote
+            // entero vuelve a quedar pendiente. Se reintenta de a un evento para aislar al culpable
+            if (reservados.size() == 1) {
+                registerFailure(reservados.get(0), e);
+                return 1;
+            }
+            log.warn("Outbox: falló el lote de {} eventos, se reintenta de a uno: {}", reservados.size(), e.getMessage());
+            for (int i = 0; i < reservados.size(); i++) {
+                dispatchBatch(1);
+            }
+            return 0;
+        }
+    }
+
+    private void deliver(OutboxEvent event) {
+        TipoEvento tipo = TipoEvento.fromNombre(event.getTipo()).orElse(null);
+        if (tipo == null) {
+            // Evento de una versión que ya no existe: no tiene sentido reintentarlo
+            event.setIntentos(outboxProperties.getMaxAttempts());
+            event.setUltimoError("Tipo de evento desconocido: " + event.getTipo());
+            log.error("Outbox: evento {} con tipo desconocido {}", event.getId(), event.getTipo());
+            return;
+        }
+
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), tipo.getEventClass()));
+            event.setProcesadoEn(LocalDateTime.now());
+        } catch (Exception e) {
+            scheduleRetry(event, e);
+        }
+    }
+
+    private void registerFailure(Long id, Exception cause) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.findById(id).ifPresent(event -> scheduleRetry(event, cause)));
+    }
+
+    private void scheduleRetry(OutboxEvent event, Exception cause) {
+        int intentos = event.getIntentos() + 1;
+        // Espera exponencial: retryBackoff, 2x, 4x... (el desplazamiento se acota para no desbordar)
+        Duration espera = outboxProperties.getRetryBackoff().multipliedBy(1L << Math.min(intentos - 1, 16));
+        event.setIntentos(intentos);
+        event.setUltimoError(cause.toString());
+        event.setSiguienteIntento(LocalDateTime.now().plus(espera));
+        if (intentos >= outboxProperties.getMaxAttempts()) {
+            log.error("Outbox: el evento {} ({}) falló {} veces y no se reintentará", event.getId(), event.getTipo(), intentos, cause);
+        } else {
+            log.warn("Outbox: el evento {} ({}) falló, reintento en {}: {}", event.getId(), event.getTipo(), espera, cause.toString());
+        }
+    }
+}
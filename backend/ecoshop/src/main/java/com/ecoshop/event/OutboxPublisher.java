@@ -0,0 +1,55 @@
+package com.ecoshop.event;
+
+import com.ecoshop.domain.OutboxEvent;
+import com.ecoshop.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra eventos de dominio en el outbox.
+ *
+ * Propagation.MANDATORY obliga a llamarlo dentro de la transacción del cambio de negocio:
+ * el INSERT en outbox_events hace commit (o rollback) junto con ese cambio, así que no
+ * puede quedar un pedido sin su evento ni un evento de un pedido que no existe. La entrega
+ * a los consumidores la hace OutboxDispatcher en segundo plano.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Registra un evento para entregarlo después del commit.
+     *
+     * @param aggregateId ID del agregado que originó el evento (p. ej. el ID del pedido)
+     * @param event Evento; su clase debe estar declarada en TipoEvento
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Object aggregateId, Object event) {
+        TipoEvento tipo = TipoEvento.of(event);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + tipo, e);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .tipo(tipo.name())
+                .aggregateId(String.valueOf(aggregateId))
+                .payload(payload)
+                .creadoEn(ahora)
+                .siguienteIntento(ahora)
+                .build());
+    }
+}
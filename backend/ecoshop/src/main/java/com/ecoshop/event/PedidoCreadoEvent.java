@@ -0,0 +1,15 @@
+package com.ecoshop.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento registrado al crear un pedido.
+ */
+public record PedidoCreadoEvent(
+    Integer pedidoId,
+    Integer usuarioId,
+    String estado,
+    BigDecimal huellaCarbonoTotalKg,
+    LocalDateTime ocurridoEn) {
+}
@@ -0,0 +1,23 @@
+package com.ecoshop.event;
+
+import com.ecoshop.domain.EstadoPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando un pedido cambia de estado.
+ *
+ * Lo consumen de forma asíncrona los agregados que dependen del ciclo de vida del pedido
+ * (panel de impacto, eco-puntos, liberación de stock). Lleva los datos que esos consumidores
+ * necesitan para no tener que volver a leer el pedido.
+ */
+public record PedidoEstadoCambiadoEvent(
+    Integer pedidoId,
+    Integer usuarioId,
+    EstadoPedido estadoAnterior,
+    EstadoPedido estadoNuevo,
+    BigDecimal total,
+    BigDecimal huellaCarbonoTotalKg,
+    LocalDateTime ocurridoEn) {
+}
@@ -0,0 +1,36 @@
+package com.ecoshop.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumidor de los eventos del ciclo de vida de los pedidos.
+ *
+ * Los eventos llegan desde OutboxDispatcher, ya fuera de la petición que los originó, así
+ * que un consumidor lento no agrega latencia al checkout. La entrega es at-least-once:
+ * los consumidores deben tolerar recibir el mismo evento dos veces.
+ *
+ * Los agregados (panel de impacto, eco-puntos, liberación de stock) se enganchan aquí
+ * o agregan su propio @EventListener para el mismo evento.
+ */
+@Slf4j
+@Component
+public class PedidoEventListener {
+
+    @EventListener
+    public void onPedidoCreado(PedidoCreadoEvent event) {
+        log.info("Pedido {} creado para el usuario {}", event.pedidoId(), event.usuarioId());
+    }
+
+    @EventListener
+    public void onItemsCambiados(PedidoItemsCambiadosEvent event) {
+        log.debug("Pedido {}: ítems modificados, total {}", event.pedidoId(), event.total());
+    }
+
+    @EventListener
+    public void onEstadoCambiado(PedidoEstadoCambiadoEvent event) {
+        log.info("Pedido {} pasó de {} a {}", event.pedidoId(),
+                event.estadoAnterior().getValor(), event.estadoNuevo().getValor());
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecoshop.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento registrado cuando se agrega, modifica o quita un ítem de un pedido.
+ * Lleva el total ya recalculado para que los consumidores no tengan que leer los ítems.
+ */
+public record PedidoItemsCambiadosEvent(
+    Integer pedidoId,
+    Integer productoId,
+    BigDecimal total,
+    LocalDateTime ocurridoEn) {
+}
@@ -0,0 +1,40 @@
+package com.ecoshop.event;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tipos de evento que pueden viajar por el outbox.
+ *
+ * La columna outbox_events.tipo guarda el nombre de la constante y el payload se
+ * deserializa a la clase asociada. Funciona como lista blanca: el dispatcher nunca
+ * instancia una clase que no esté declarada aquí.
+ */
+public enum TipoEvento {
+
+    PEDIDO_CREADO(PedidoCreadoEvent.class),
+    PEDIDO_ITEMS_CAMBIADOS(PedidoItemsCambiadosEvent.class),
+    PEDIDO_ESTADO_CAMBIADO(PedidoEstadoCambiadoEvent.class);
+
+    private final Class<?> eventClass;
+
+    TipoEvento(Class<?> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public Class<?> getEventClass() {
+        return eventClass;
+    }
+
+    public static TipoEvento of(Object event) {
+        return Arrays.stream(values())
+                .filter(tipo -> tipo.eventClass == event.getClass())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Evento sin TipoEvento registrado: " + event.getClass().getName()));
+    }
+
+    public static Optional<TipoEvento> fromNombre(String nombre) {
+        return Arrays.stream(values()).filter(tipo -> tipo.name().equals(nombre)).findFirst();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecoshop.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Evento en proceso que emite AnalyticsServiceImpl cada vez que suma o resta un pedido
+ * del rollup de ventas.
+ *
+ * No pasa por el outbox: es una consecuencia del evento de estado ya entregado, y sus
+ * consumidores (ImpactStatsCollector) lo escuchan después del commit, así que solo ven
+ * cambios que quedaron guardados en ventas_diarias.
+ *
+ * @param signo 1 si el pedido se sumó (pago confirmado), -1 si se restó (cancelación)
+ */
+public record VentaContabilizadaEvent(
+    Integer pedidoId,
+    LocalDate fecha,
+    long unidades,
+    BigDecimal co2Kg,
+    int signo) {
+}
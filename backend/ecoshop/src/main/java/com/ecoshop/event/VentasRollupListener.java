@@ -0,0 +1,24 @@
+package com.ecoshop.event;
+
+import com.ecoshop.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene el rollup de ventas a partir de los cambios de estado de pedidos.
+ *
+ * Corre dentro de la transacción del OutboxDispatcher: la actualización del rollup y la
+ * marca de evento procesado hacen commit juntas, y si algo falla se reintentan juntas.
+ */
+@Component
+@RequiredArgsConstructor
+public class VentasRollupListener {
+
+    private final AnalyticsService analyticsService;
+
+    @EventListener
+    public void onEstadoCambiado(PedidoEstadoCambiadoEvent event) {
+        analyticsService.registrarCambioEstado(event);
+    }
+}
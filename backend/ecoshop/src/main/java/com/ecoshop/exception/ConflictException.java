@@ -0,0 +1,20 @@
+package com.ecoshop.exception;
+
+/**
+ * Excepción para operaciones que no se pueden aplicar en el estado actual del recurso.
+ * 
+ * Por ejemplo, pasar a "enviado" un pedido cancelado, o una segunda confirmación de pago
+ * sobre un pedido que otra petición ya pasó a "procesando".
+ * Debe retornar un código HTTP 409 (Conflict).
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Construye una nueva excepción con el mensaje especificado.
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,13 @@
 package com.ecoshop.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -67,6 +72,131 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Maneja ResourceNotFoundException, la excepción de "no encontrado" que usan los servicios
+     * de usuarios, marcas, productos y pedidos.
+     * 
+     * Sin este handler la capturaba handleGenericException y respondía 500 en lugar de 404
+     * (el @ResponseStatus de la excepción no se aplica cuando hay un @ExceptionHandler más general).
+     * 
+     * Respuesta HTTP:
+     * - Código: 404 (Not Found)
+     * - Body: { "timestamp": "...", "status": 404, "error": "Not Found", "message": "..." }
+     * 
+     * @param ex Excepción ResourceNotFoundException
+     * @return ResponseEntity con el error y código HTTP 404
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Not Found")
+                .message(ex.getMessage()) // Mensaje de la excepción (ej: "Marca no encontrada con id: 999")
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Maneja peticiones condicionales cuyo If-Match no coincide con la versión actual del recurso.
+     * 
+     * Respuesta HTTP:
+     * - Código: 412 (Precondition Failed)
+     * - Body: { "timestamp": "...", "status": 412, "error": "Precondition Failed", "message": "..." }
+     * 
+     * @param ex Excepción PreconditionFailedException
+     * @return ResponseEntity con el error y código HTTP 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Maneja las operaciones que no se pueden aplicar en el estado actual del recurso
+     * (p. ej. una transición de estado de pedido no permitida).
+     * 
+     * Respuesta HTTP:
+     * - Código: 409 (Conflict)
+     * - Body: { "timestamp": "...", "status": 409, "error": "Conflict", "message": "..." }
+     * 
+     * @param ex Excepción ConflictException
+     * @return ResponseEntity con el error y código HTTP 409
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja los conflictos de concurrencia optimista (@Version).
+     * 
+     * Se produce cuando dos peticiones modifican el mismo recurso a la vez: la segunda en
+     * hacer commit encuentra que la versión en la BD ya cambió (UPDATE ... WHERE version = ?
+     * no afecta filas) y Spring lanza ObjectOptimisticLockingFailureException. Si el flush se
+     * hace directo con el EntityManager, fuera de un repositorio, llega sin traducir como
+     * jakarta.persistence.OptimisticLockException; se responde igual.
+     * 
+     * Respuesta HTTP:
+     * - Código: 409 (Conflict)
+     * - Body: { "timestamp": "...", "status": 409, "error": "Conflict", "message": "..." }
+     * 
+     * @param ex Excepción OptimisticLockingFailureException u OptimisticLockException
+     * @return ResponseEntity con el error y código HTTP 409
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(RuntimeException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("El recurso fue modificado por otra operación al mismo tiempo. Vuelva a consultarlo e intente nuevamente")
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja la falta de conexiones a la base de datos.
+     * 
+     * Se produce cuando la partición de tráfico de la solicitud (PartitionedDataSource) o el
+     * pool de HikariCP no entregan una conexión dentro del timeout. Spring la envuelve en
+     * CannotCreateTransactionException (al abrir una transacción) o en
+     * CannotGetJdbcConnectionException (JdbcTemplate fuera de una transacción).
+     * Es una sobrecarga pasajera, igual que el load shedding de RateLimitFilter, así que
+     * se responde lo mismo: 503 con Retry-After.
+     * 
+     * Respuesta HTTP:
+     * - Código: 503 (Service Unavailable), header Retry-After: 1
+     * - Body: { "timestamp": "...", "status": 503, "error": "Service Unavailable", "message": "..." }
+     * 
+     * @param ex Excepción CannotCreateTransactionException o CannotGetJdbcConnectionException
+     * @return ResponseEntity con el error y código HTTP 503
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(RuntimeException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("El servidor está sobrecargado, reintentar en unos segundos")
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     /**
      * Maneja excepciones cuando se produce un error de validación de negocio.
      * 
@@ -0,0 +1,34 @@
+package com.ecoshop.exception;
+
+/**
+ * Excepción para peticiones condicionales cuya precondición no se cumple.
+ * 
+ * Se lanza cuando el cliente envía If-Match con un ETag (versión) que ya no es
+ * la versión actual del recurso: otro cliente lo modificó desde que lo leyó.
+ * Debe retornar un código HTTP 412 (Precondition Failed).
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Construye una nueva excepción con el mensaje especificado.
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Verifica que la versión esperada por el cliente (If-Match) coincida con la versión actual.
+     * 
+     * @param expectedVersion Versión enviada en If-Match (null si el cliente no la envió: no se verifica)
+     * @param currentVersion Versión actual de la entidad
+     * @throws PreconditionFailedException si las versiones no coinciden
+     */
+    public static void checkVersion(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(String.format(
+                    "El recurso fue modificado: la versión actual es %d y If-Match indica %d", currentVersion, expectedVersion));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecoshop.health;
+
+import com.ecoshop.bulkhead.BulkheadPartition;
+import com.ecoshop.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de las particiones de tráfico (bulkheads) en el endpoint de readiness.
+ *
+ * Siempre responde UP: una partición saturada ya se protege rechazando sus propias solicitudes
+ * con 503, y sacar la instancia de rotación cortaría también el tráfico de las demás.
+ * Los detalles sirven para ver qué partición está al límite (inFlight, limit, rejected) y
+ * cuántas conexiones del pool tiene tomadas cada una.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadHealthCheck implements HealthCheck {
+
+    private final Bulkheads bulkheads;
+
+    @Override
+    public String name() {
+        return "bulkheads";
+    }
+
+    @Override
+    public HealthCheckResult check() {
+        HealthCheckResult.HealthCheckResultBuilder result = HealthCheckResult.builder().status(HealthStatus.UP);
+        for (BulkheadPartition partition : BulkheadPartition.values()) {
+            result.detail(partition.key(), bulkheads.metrics(partition));
+        }
+        return result.build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecoshop.health;
+
+import com.ecoshop.config.WarmupProperties;
+import com.ecoshop.dto.ImpactoAmbientalResponse;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.service.CertificationService;
+import com.ecoshop.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Calentamiento del catálogo al arrancar la instancia.
+ *
+ * Tras un arranque en frío (Render apaga las instancias del plan free), el primer usuario
+ * pagaría el contexto de persistencia vacío, el JIT sin compilar y las cachés vacías.
+ * Este runner se ejecuta antes de que Spring marque la instancia como ACCEPTING_TRAFFIC y:
+ * 1. Precarga la caché de certificaciones (CertificationServiceImpl.findAll)
+ * 2. Precarga la caché de productos (ProductServiceImpl.findAll)
+ * 3. Serializa el catálogo a JSON varias veces para compilar el camino de Jackson de ProductResponse
+ *
+ * La tarea se registra en WarmupState, así que el probe de readiness devuelve 503 hasta
+ * que termina. Si el warm-up falla (por ejemplo la BD todavía no responde), se registra
+ * el error y se da por terminado: la instancia funciona igual, solo que sin cachés calientes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogWarmupRunner implements ApplicationRunner {
+
+    static final String TASK = "catalog";
+
+    private final ProductService productService;
+    private final CertificationService certificationService;
+    private final ObjectMapper objectMapper;
+    private final WarmupState warmupState;
+    private final WarmupProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        warmupState.begin(TASK);
+        long start = System.nanoTime();
+        try {
+            certificationService.findAll();
+            List<ProductResponse> products = productService.findAll();
+
+            // Con el catálogo vacío se serializa un producto de ejemplo para recorrer igual
+            // todos los serializadores (BigDecimal, LocalDateTime, listas, objetos anidados)
+            List<ProductResponse> payload = products.isEmpty() ? List.of(sampleProduct()) : products;
+
+            long bytes = 0;
+            for (int i = 0; i < properties.getSerializationIterations(); i++) {
+                bytes += objectMapper.writeValueAsBytes(payload).length;
+            }
+
+            log.info("Warm-up del catálogo completado: {} productos, {} bytes serializados en {} ms",
+                    products.size(), bytes, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception ex) {
+            log.warn("Warm-up del catálogo falló, la instancia arranca con cachés frías: {}", ex.getMessage());
+        } finally {
+            warmupState.complete(TASK);
+        }
+    }
+
+    private static ProductResponse sampleProduct() {
+        return ProductResponse.builder()
+                .id(0L)
+                .nombre("warm-up")
+                .marca("warm-up")
+                .precio(BigDecimal.ONE)
+                .impactoAmbiental(ImpactoAmbientalResponse.builder()
+                        .huellaCarbono("0.0 kg CO₂")
+                        .materialesReciclables(true)
+                        .nivel("BAJO")
+                        .build())
+                .certificaciones(List.of("warm-up"))
+                .fechaCreacion(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecoshop.health;
+
+import com.ecoshop.bulkhead.BulkheadPartition;
+import com.ecoshop.bulkhead.PartitionedDataSource;
+import com.ecoshop.config.HealthProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Health check de saturación del pool de conexiones (HikariCP).
+ *
+ * Lee las métricas del pool sin abrir conexiones, por lo que es barato y no se cachea.
+ * El pool se considera saturado (DOWN) cuando:
+ * - Hay más hilos esperando conexión que ecoshop.health.pool-max-awaiting, o
+ *   (contando los que esperan en Hikari y los que esperan en las particiones de
+ *   PartitionedDataSource, donde se forma casi toda la cola)
+ * - Las conexiones activas alcanzan ecoshop.health.pool-max-usage del tamaño máximo
+ *   (con el valor por defecto, 1.0, cuando están todas en uso) en todos los probes
+ *   durante ecoshop.health.pool-saturation-grace
+ *
+ * Tener todas las conexiones ocupadas en un pico es normal y no deja a nadie esperando;
+ * solo si dura más que el margen (o ya hay cola) la instancia no puede cumplir los
+ * objetivos de latencia, y se saca de rotación hasta que se recupere.
+ */
+@Component
+public class ConnectionPoolHealthCheck implements HealthCheck {
+
+    /** Valor de saturatedSince mientras el pool no está al máximo (System.nanoTime puede ser negativo). */
+    private static final long NOT_SATURATED = Long.MIN_VALUE;
+
+    private final DataSource dataSource;
+    private final HealthProperties properties;
+    private final LongSupplier nanoClock;
+
+    // Instante (nanoClock) del primer probe que vio el pool al máximo sin interrupción
+    private final AtomicLong saturatedSince = new AtomicLong(NOT_SATURATED);
+
+    @Autowired
+    public ConnectionPoolHealthCheck(DataSource dataSource, HealthProperties properties) {
+        this(dataSource, properties, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock Reloj en nanosegundos (System::nanoTime salvo en tests)
+     */
+    ConnectionPoolHealthCheck(DataSource dataSource, HealthProperties properties, LongSupplier nanoClock) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public String name() {
+        return "pool";
+    }
+
+    @Override
+    public HealthCheckResult check() {
+        HikariDataSource hikari = unwrapHikari();
+        if (hikari == null) {
+            return HealthCheckResult.builder()
+                    .status(HealthStatus.UP)
+                    .detail("reason", "El DataSource no es HikariCP, no hay métricas de pool")
+                    .build();
+        }
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // Hikari inicializa el pool con la primera conexión; sin pool no hay saturación
+            return HealthCheckResult.builder()
+                    .status(HealthStatus.UP)
+                    .detail("reason", "Pool todavía no inicializado")
+                    .build();
+        }
+
+        int active = pool.getActiveConnections();
+        int partitionAwaiting = partitionAwaiting();
+        int awaiting = pool.getThreadsAwaitingConnection() + partitionAwaiting;
+        int max = hikari.getMaximumPoolSize();
+        long saturatedForNanos = saturatedFor(active >= max * properties.getPoolMaxUsage());
+        boolean saturated = awaiting > properties.getPoolMaxAwaiting()
+                || saturatedForNanos >= properties.getPoolSaturationGrace().toNanos();
+
+        return HealthCheckResult.builder()
+                .status(saturated ? HealthStatus.DOWN : HealthStatus.UP)
+                .detail("active", active)
+                .detail("idle", pool.getIdleConnections())
+                .detail("total", pool.getTotalConnections())
+                .detail("max", max)
+                .detail("awaiting", awaiting)
+                .detail("partitionAwaiting", partitionAwaiting)
+                .detail("saturatedForMs", Math.max(saturatedForNanos, 0) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Tiempo que lleva el pool al máximo, o -1 si en este probe no lo está.
+     */
+    private long saturatedFor(boolean atMax) {
+        if (!atMax) {
+            saturatedSince.set(NOT_SATURATED);
+            return -1;
+        }
+        long now = nanoClock.getAsLong();
+        saturatedSince.compareAndSet(NOT_SATURATED, now);
+        long since = saturatedSince.get();
+        return since == NOT_SATURATED ? 0 : now - since;
+    }
+
+    private int partitionAwaiting() {
+        try {
+            if (!dataSource.isWrapperFor(PartitionedDataSource.class)) {
+                return 0;
+            }
+            PartitionedDataSource partitions = dataSource.unwrap(PartitionedDataSource.class);
+            int awaiting = 0;
+            for (BulkheadPartition partition : BulkheadPartition.values()) {
+                awaiting += partitions.awaiting(partition);
+            }
+            return awaiting;
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    private HikariDataSource unwrapHikari() {
+        try {
+            if (dataSource instanceof HikariDataSource hikari) {
+                return hikari;
+            }
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecoshop.health;
+
+import com.ecoshop.config.HealthProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Health check de conectividad con la base de datos.
+ *
+ * Valida una conexión del pool con Connection.isValid() y mide la latencia.
+ * La instancia se marca DOWN si la BD no responde o si la latencia supera
+ * ecoshop.health.db-max-latency (una instancia lenta no debe recibir tráfico).
+ *
+ * El check está cacheado y limitado:
+ * - El resultado se reutiliza durante ecoshop.health.db-cache-ttl
+ * - Solo un hilo a la vez ejecuta la validación; el resto recibe el último resultado
+ * Así, aunque el balanceador consulte el endpoint muy seguido, la BD recibe
+ * como máximo una validación por TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseHealthCheck implements HealthCheck {
+
+    private final DataSource dataSource;
+    private final HealthProperties properties;
+
+    // Evita que varios hilos validen la conexión al mismo tiempo
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    // Último resultado junto con el instante (System.nanoTime) en que se obtuvo
+    private volatile CachedResult cached;
+
+    @Override
+    public String name() {
+        return "db";
+    }
+
+    @Override
+    public HealthCheckResult check() {
+        CachedResult last = cached;
+        if (last != null && System.nanoTime() - last.checkedAtNanos() < properties.getDbCacheTtl().toNanos()) {
+            return last.result();
+        }
+
+        // Si otro hilo ya está validando, devolvemos el último resultado conocido
+        if (!probing.compareAndSet(false, true)) {
+            return last != null ? last.result() : HealthCheckResult.unknown("Validación de BD en curso");
+        }
+
+        try {
+            HealthCheckResult result = probe();
+            cached = new CachedResult(result, System.nanoTime());
+            return result;
+        } finally {
+            probing.set(false);
+        }
+    }
+
+    private HealthCheckResult probe() {
+        long start = System.nanoTime();
+        int timeoutSeconds = (int) Math.max(1, properties.getDbValidationTimeout().toSeconds());
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = connection.isValid(timeoutSeconds);
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            if (!valid) {
+                return HealthCheckResult.builder()
+                        .status(HealthStatus.DOWN)
+                        .detail("reason", "La conexión no es válida")
+                        .detail("latencyMs", latencyMs)
+                        .build();
+            }
+
+            HealthStatus status = latencyMs > properties.getDbMaxLatency().toMillis()
+                    ? HealthStatus.DOWN
+                    : HealthStatus.UP;
+            return HealthCheckResult.builder()
+                    .status(status)
+                    .detail("latencyMs", latencyMs)
+                    .detail("maxLatencyMs", properties.getDbMaxLatency().toMillis())
+                    .build();
+        } catch (Exception ex) {
+            log.warn("Health check de BD fallido: {}", ex.getMessage());
+            return HealthCheckResult.down("No se pudo conectar con la base de datos");
+        }
+    }
+
+    private record CachedResult(HealthCheckResult result, long checkedAtNanos) {
+    }
+}
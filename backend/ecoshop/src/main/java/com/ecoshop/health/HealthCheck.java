@@ -0,0 +1,24 @@
+package com.ecoshop.health;
+
+/**
+ * Contrato de un health check que participa en la readiness de la instancia.
+ *
+ * Cada implementación se registra como bean de Spring y HealthService la incluye
+ * automáticamente en el endpoint /api/v1/health/ready. La instancia solo se considera
+ * lista cuando todos los checks devuelven UP.
+ *
+ * Las implementaciones deben ser baratas: se invocan en cada petición del balanceador,
+ * por lo que los checks costosos (ej: ir a la BD) deben cachear su resultado.
+ */
+public interface HealthCheck {
+
+    /**
+     * Nombre del check tal como aparece en la respuesta (ej: "db", "pool", "warmup").
+     */
+    String name();
+
+    /**
+     * Ejecuta (o devuelve cacheado) el check.
+     */
+    HealthCheckResult check();
+}
@@ -0,0 +1,39 @@
+package com.ecoshop.health;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Resultado inmutable de un health check.
+ *
+ * Contiene el estado del componente y detalles adicionales (latencia, conexiones activas, etc.)
+ * que se exponen en el endpoint de readiness para facilitar el diagnóstico.
+ */
+@Value
+@Builder
+public class HealthCheckResult {
+
+    HealthStatus status;
+
+    @Singular
+    Map<String, Object> details;
+
+    public boolean isUp() {
+        return status == HealthStatus.UP;
+    }
+
+    public static HealthCheckResult up() {
+        return HealthCheckResult.builder().status(HealthStatus.UP).build();
+    }
+
+    public static HealthCheckResult down(String reason) {
+        return HealthCheckResult.builder().status(HealthStatus.DOWN).detail("reason", reason).build();
+    }
+
+    public static HealthCheckResult unknown(String reason) {
+        return HealthCheckResult.builder().status(HealthStatus.UNKNOWN).detail("reason", reason).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecoshop.health;
+
+import com.ecoshop.dto.HealthResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que agrega los health checks en dos probes:
+ *
+ * - Liveness: ¿El proceso está vivo? Solo depende del estado interno de Spring
+ *   (LivenessState). Nunca consulta la BD, para que un fallo de PostgreSQL no
+ *   provoque reinicios en cadena de las instancias.
+ *
+ * - Readiness: ¿La instancia puede atender tráfico cumpliendo los objetivos de latencia?
+ *   Combina el ReadinessState de Spring (que pasa a ACCEPTING_TRAFFIC al terminar el
+ *   arranque) con todos los beans HealthCheck: BD, saturación del pool y warm-up.
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthService {
+
+    private final ApplicationAvailability availability;
+    private final List<HealthCheck> checks;
+
+    public HealthResponse liveness() {
+        boolean live = availability.getLivenessState() == LivenessState.CORRECT;
+        HealthCheckResult state = HealthCheckResult.builder()
+                .status(live ? HealthStatus.UP : HealthStatus.DOWN)
+                .detail("state", availability.getLivenessState())
+                .build();
+        return HealthResponse.builder()
+                .status(state.getStatus())
+                .checks(Map.of("livenessState", state))
+                .build();
+    }
+
+    public HealthResponse readiness() {
+        Map<String, HealthCheckResult> results = new LinkedHashMap<>();
+
+        ReadinessState readinessState = availability.getReadinessState();
+        results.put("readinessState", HealthCheckResult.builder()
+                .status(readinessState == ReadinessState.ACCEPTING_TRAFFIC ? HealthStatus.UP : HealthStatus.DOWN)
+                .detail("state", readinessState)
+                .build());
+
+        for (HealthCheck check : checks) {
+            results.put(check.name(), check.check());
+        }
+
+        boolean allUp = results.values().stream().allMatch(HealthCheckResult::isUp);
+        return HealthResponse.builder()
+                .status(allUp ? HealthStatus.UP : HealthStatus.DOWN)
+                .checks(results)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecoshop.health;
+
+/**
+ * Estado de un health check.
+ *
+ * - UP: El componente está disponible
+ * - DOWN: El componente no está disponible o no cumple los objetivos de latencia
+ * - UNKNOWN: Todavía no hay información suficiente (ej: primer check en curso)
+ */
+public enum HealthStatus {
+    UP,
+    DOWN,
+    UNKNOWN
+}
@@ -0,0 +1,35 @@
+package com.ecoshop.health;
+
+import com.ecoshop.replica.ReadYourWrites;
+import com.ecoshop.replica.ReplicaLagMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado de la réplica de lectura en el endpoint de readiness (solo con ecoshop.replica.enabled=true).
+ *
+ * Siempre responde UP: si la réplica se atrasa o se cae, las lecturas pasan solas al primario y
+ * la instancia sigue pudiendo atender. Los detalles muestran si se está usando, el último retraso
+ * medido y cuántos clientes están leyendo del primario por haber escrito hace poco.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "ecoshop.replica", name = "enabled", havingValue = "true")
+public class ReplicaHealthCheck implements HealthCheck {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public String name() {
+        return "replica";
+    }
+
+    @Override
+    public HealthCheckResult check() {
+        HealthCheckResult.HealthCheckResultBuilder result = HealthCheckResult.builder().status(HealthStatus.UP);
+        lagMonitor.details().forEach(result::detail);
+        return result.detail("stickyClients", readYourWrites.size()).build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecoshop.health;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estado del calentamiento (warm-up) de cachés de la instancia.
+ *
+ * Los componentes que precargan datos al arrancar registran su tarea con begin()
+ * y la cierran con complete(). Mientras haya tareas pendientes, la instancia no
+ * se considera lista para recibir tráfico.
+ *
+ * Si ningún componente registra tareas, el warm-up se considera completo.
+ */
+@Component
+public class WarmupState implements HealthCheck {
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registra una tarea de warm-up pendiente.
+     */
+    public void begin(String task) {
+        completed.remove(task);
+        pending.add(task);
+    }
+
+    /**
+     * Marca una tarea de warm-up como terminada.
+     */
+    public void complete(String task) {
+        pending.remove(task);
+        completed.add(task);
+    }
+
+    public boolean isComplete() {
+        return pending.isEmpty();
+    }
+
+    @Override
+    public String name() {
+        return "warmup";
+    }
+
+    @Override
+    public HealthCheckResult check() {
+        return HealthCheckResult.builder()
+                .status(isComplete() ? HealthStatus.UP : HealthStatus.DOWN)
+                .detail("pending", Set.copyOf(pending))
+                .detail("completed", Set.copyOf(completed))
+                .build();
+    }
+}
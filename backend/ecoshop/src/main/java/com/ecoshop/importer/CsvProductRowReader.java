@@ -0,0 +1,320 @@
+package com.ecoshop.importer;
+
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Lector de productos en formato CSV (RFC 4180).
+ *
+ * Formato esperado:
+ * - Primera línea: encabezado con los nombres de las columnas (en cualquier orden,
+ *   sin distinguir mayúsculas; se aceptan "huellaCarbono" y "huella_carbono")
+ * - Columnas obligatorias: nombre, precio
+ * - Columnas opcionales: marca, imagen, huellaCarbono, materialesReciclables, nivel, certificaciones
+ * - Separador: ',' o ';' (se detecta en el encabezado; ';' es lo que exporta Excel en español)
+ * - Campos entre comillas dobles pueden contener separadores, saltos de línea y "" como comilla
+ * - certificaciones: códigos separados por '|' (ej: "FAIR_TRADE|CARBON_NEUTRAL")
+ * - precio: acepta '.' o ',' como separador decimal ("14990.50" o "14990,50")
+ *
+ * Ejemplo:
+ * nombre,marca,precio,huellaCarbono,certificaciones
+ * Botella reutilizable,EcoMarca,14990,0.8 kg CO₂,FAIR_TRADE|CARBON_NEUTRAL
+ *
+ * El parser recorre el archivo carácter a carácter con un único StringBuilder reutilizable,
+ * sin regex ni split, y lleva la cuenta de líneas para que los errores indiquen
+ * la línea exacta del archivo (también cuando un campo entre comillas ocupa varias líneas).
+ */
+public class CsvProductRowReader implements ProductRowReader {
+
+    /**
+     * Separador de los códigos dentro de la columna certificaciones.
+     */
+    static final char CERTIFICATION_SEPARATOR = '|';
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final Column[] columns;
+
+    // Reutilizado entre campos para no crear un StringBuilder por celda
+    private final StringBuilder field = new StringBuilder(64);
+
+    private long currentLine = 1;
+    private long recordLine;
+    private boolean unterminatedQuote;
+
+    /**
+     * Crea el lector y procesa el encabezado.
+     *
+     * @throws BadRequestException si el archivo está vacío o el encabezado no es válido
+     */
+    public CsvProductRowReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+        this.separator = detectSeparator(this.reader);
+        this.columns = readHeader();
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank() && !unterminatedQuote); // Líneas vacías
+
+        if (unterminatedQuote) {
+            return ProductImportRow.failed(recordLine, "Comillas sin cerrar en la fila");
+        }
+        if (fields.size() != columns.length) {
+            return ProductImportRow.failed(recordLine, String.format(
+                    "Se esperaban %d columnas y se encontraron %d", columns.length, fields.size()));
+        }
+
+        try {
+            return ProductImportRow.of(recordLine, toProduct(fields));
+        } catch (IllegalArgumentException e) {
+            return ProductImportRow.failed(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Column[] readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null || (header.size() == 1 && header.get(0).isBlank())) {
+            throw new BadRequestException("El archivo CSV está vacío o no tiene encabezado");
+        }
+
+        Column[] result = new Column[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                name = name.substring(1); // BOM de UTF-8 que agregan algunos editores
+            }
+            Column column = Column.fromHeader(name);
+            if (column == null) {
+                throw new BadRequestException(String.format(
+                        "Columna desconocida en el CSV: '%s'. Columnas válidas: %s", name.trim(), Column.validNames()));
+            }
+            if (Arrays.asList(result).contains(column)) {
+                throw new BadRequestException(String.format("Columna duplicada en el CSV: '%s'", name.trim()));
+            }
+            result[i] = column;
+        }
+
+        List<Column> present = Arrays.asList(result);
+        if (!present.contains(Column.NOMBRE) || !present.contains(Column.PRECIO)) {
+            throw new BadRequestException("El encabezado del CSV debe incluir las columnas 'nombre' y 'precio'");
+        }
+        return result;
+    }
+
+    /**
+     * Lee un registro completo (puede ocupar varias líneas si tiene campos entre comillas).
+     *
+     * @return Los campos del registro, o null si se llegó al final del archivo
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = currentLine;
+        unterminatedQuote = false;
+        List<String> fields = new ArrayList<>(columns != null ? columns.length : 8);
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"'); // "" dentro de un campo entre comillas
+                        c = reader.read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    currentLine++;
+                }
+                field.append((char) c);
+                c = reader.read();
+                continue;
+            }
+
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    currentLine++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private ProductDto toProduct(List<String> fields) {
+        ProductDto product = new ProductDto();
+        for (int i = 0; i < columns.length; i++) {
+            String value = fields.get(i).trim();
+            if (value.isEmpty()) {
+                continue; // Celda vacía: el campo queda null
+            }
+
+            switch (columns[i]) {
+                case NOMBRE -> product.setNombre(value);
+                case MARCA -> product.setMarca(value);
+                case PRECIO -> product.setPrecio(parsePrecio(value));
+                case IMAGEN -> product.setImagen(value);
+                case HUELLA_CARBONO -> impacto(product).setHuellaCarbono(value);
+                case MATERIALES_RECICLABLES -> impacto(product).setMaterialesReciclables(parseBoolean(value));
+                case NIVEL -> impacto(product).setNivel(value);
+                case CERTIFICACIONES -> product.setCertificaciones(splitCertifications(value));
+            }
+        }
+        return product;
+    }
+
+    private static ProductDto.ImpactoAmbientalDto impacto(ProductDto product) {
+        if (product.getImpactoAmbiental() == null) {
+            product.setImpactoAmbiental(new ProductDto.ImpactoAmbientalDto());
+        }
+        return product.getImpactoAmbiental();
+    }
+
+    private static BigDecimal parsePrecio(String value) {
+        // "14990,50": coma como separador decimal si no hay punto
+        String normalized = value.indexOf('.') < 0 ? value.replace(',', '.') : value;
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Precio inválido: '%s'", value));
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "si", "sí", "1", "yes" -> Boolean.TRUE;
+            case "false", "no", "0" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException(
+                    String.format("Valor inválido para materialesReciclables: '%s' (usar true o false)", value));
+        };
+    }
+
+    private static List<String> splitCertifications(String value) {
+        List<String> codes = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == CERTIFICATION_SEPARATOR) {
+                String code = value.substring(start, i).trim();
+                if (!code.isEmpty()) {
+                    codes.add(code);
+                }
+                start = i + 1;
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Elige ',' o ';' según cuál aparece más en la primera línea (sin consumirla).
+     */
+    private static char detectSeparator(BufferedReader reader) throws IOException {
+        reader.mark(BUFFER_SIZE);
+        String firstLine = reader.readLine();
+        reader.reset();
+        if (firstLine == null) {
+            return ',';
+        }
+
+        int commas = 0;
+        int semicolons = 0;
+        for (int i = 0; i < firstLine.length(); i++) {
+            char c = firstLine.charAt(i);
+            if (c == ',') {
+                commas++;
+            } else if (c == ';') {
+                semicolons++;
+            }
+        }
+        return semicolons > commas ? ';' : ',';
+    }
+
+    /**
+     * Columnas soportadas. El nombre en el encabezado se compara sin mayúsculas,
+     * guiones bajos, guiones ni espacios.
+     */
+    private enum Column {
+        NOMBRE("nombre"),
+        MARCA("marca"),
+        PRECIO("precio"),
+        IMAGEN("imagen"),
+        HUELLA_CARBONO("huellaCarbono"),
+        MATERIALES_RECICLABLES("materialesReciclables"),
+        NIVEL("nivel"),
+        CERTIFICACIONES("certificaciones");
+
+        private final String header;
+
+        Column(String header) {
+            this.header = header;
+        }
+
+        static Column fromHeader(String name) {
+            String normalized = normalize(name);
+            for (Column column : values()) {
+                if (normalize(column.header).equals(normalized)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+
+        static String validNames() {
+            return Arrays.stream(values()).map(column -> column.header).collect(Collectors.joining(", "));
+        }
+
+        private static String normalize(String name) {
+            StringBuilder normalized = new StringBuilder(name.length());
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c != '_' && c != '-' && !Character.isWhitespace(c)) {
+                    normalized.append(Character.toLowerCase(c));
+                }
+            }
+            return normalized.toString();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecoshop.importer;
+
+import com.ecoshop.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lector de productos en formato NDJSON: un ProductDto JSON por línea,
+ * con el mismo formato que el cuerpo de POST /api/v1/products.
+ *
+ * Ejemplo:
+ * {"nombre": "Botella reutilizable", "precio": 14990, "certificaciones": ["FAIR_TRADE"]}
+ * {"nombre": "Cepillo de bambú", "precio": 3990}
+ *
+ * Cada línea se parsea por separado, así que una línea con JSON inválido
+ * se reporta como error de esa fila y la importación sigue con las demás.
+ * Las líneas vacías se ignoran.
+ */
+public class NdjsonProductRowReader implements ProductRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    // ObjectReader es inmutable y reutilizable: se resuelve el deserializador de ProductDto una sola vez
+    private final ObjectReader productReader;
+
+    private long currentLine;
+
+    public NdjsonProductRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+        this.productReader = objectMapper.readerFor(ProductDto.class);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            currentLine++;
+        } while (line.isBlank());
+
+        try {
+            ProductDto product = productReader.readValue(line);
+            return ProductImportRow.of(currentLine, product);
+        } catch (JsonProcessingException e) {
+            return ProductImportRow.failed(currentLine, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
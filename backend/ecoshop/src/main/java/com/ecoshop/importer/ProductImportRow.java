@@ -0,0 +1,35 @@
+package com.ecoshop.importer;
+
+import com.ecoshop.dto.ProductDto;
+import lombok.Value;
+
+/**
+ * Fila leída de un archivo de importación.
+ *
+ * Si la fila no se pudo interpretar (JSON mal formado, precio no numérico, etc.)
+ * product es null y error contiene el motivo.
+ */
+@Value
+public class ProductImportRow {
+
+    /**
+     * Número de línea del archivo donde empieza la fila.
+     */
+    long line;
+
+    ProductDto product;
+
+    String error;
+
+    public static ProductImportRow of(long line, ProductDto product) {
+        return new ProductImportRow(line, product, null);
+    }
+
+    public static ProductImportRow failed(long line, String error) {
+        return new ProductImportRow(line, null, error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
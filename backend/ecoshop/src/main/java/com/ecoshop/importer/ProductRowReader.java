@@ -0,0 +1,28 @@
+package com.ecoshop.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lector de filas de un archivo de importación de productos.
+ *
+ * Lee el archivo de a una fila, sin cargarlo completo en memoria, para que la
+ * importación funcione igual con cien filas que con cientos de miles.
+ *
+ * Implementaciones:
+ * - CsvProductRowReader: text/csv con encabezado
+ * - NdjsonProductRowReader: application/x-ndjson, un ProductDto JSON por línea
+ */
+public interface ProductRowReader extends Closeable {
+
+    /**
+     * Lee la siguiente fila.
+     *
+     * Una fila con formato inválido no corta la lectura: se devuelve como fila fallida
+     * y se sigue con la próxima.
+     *
+     * @return La siguiente fila, o null si se llegó al final del archivo
+     * @throws IOException si falla la lectura del cuerpo de la petición
+     */
+    ProductImportRow next() throws IOException;
+}
@@ -54,6 +54,7 @@ public class CertificationMapper {
                 .logoUrl(certification.getLogoUrl())
                 .createdAt(certification.getCreatedAt())
                 .updatedAt(certification.getUpdatedAt())
+                .version(certification.getVersion())
                 .build();
     }
 
@@ -0,0 +1,90 @@
+package com.ecoshop.mapper;
+
+import java.util.Locale;
+
+/**
+ * Formateador de la huella de carbono para las respuestas de la API ("0.8 kg CO₂").
+ *
+ * Produce exactamente el mismo texto que String.format(Locale.ROOT, "%.1f kg CO₂", valor),
+ * pero sin pasar por java.util.Formatter, que parsea el patrón y crea varios objetos
+ * intermedios en cada llamada. Como se ejecuta para cada producto de cada respuesta
+ * de catálogo, el costo se multiplica por el tamaño del catálogo.
+ *
+ * Estrategia:
+ * 1. El valor se convierte a décimas en punto fijo (long), redondeando HALF_UP igual que Formatter
+ * 2. Las décimas entre 0.0 y 999.9 kg se resuelven con una tabla de Strings precalculados
+ *    (se llena a demanda), así que el caso habitual no asigna memoria
+ * 3. Valores mayores se arman con concatenación simple; NaN, infinitos, negativos y
+ *    valores muy grandes delegan en String.format
+ *
+ * El separador decimal siempre es '.', independientemente del locale de la JVM.
+ */
+public final class HuellaCarbonoFormatter {
+
+    static final String SUFFIX = " kg CO₂";
+
+    // Tabla de textos precalculados: índice = décimas de kg (0 = "0.0 kg CO₂", 9999 = "999.9 kg CO₂")
+    private static final int TABLE_SIZE = 10_000;
+    private static final String[] TABLE = new String[TABLE_SIZE];
+
+    // A partir de este valor el redondeo en punto fijo pierde precisión; se delega en Formatter
+    private static final double FAST_PATH_LIMIT = 1e9;
+
+    private HuellaCarbonoFormatter() {
+    }
+
+    /**
+     * Formatea la huella de carbono en kg con un decimal.
+     *
+     * @param huellaCarbonoKg Huella de carbono en kg (puede ser null)
+     * @return Texto formateado (ej: "0.8 kg CO₂") o null si el valor es null
+     */
+    public static String format(Double huellaCarbonoKg) {
+        if (huellaCarbonoKg == null) {
+            return null;
+        }
+        return format(huellaCarbonoKg.doubleValue());
+    }
+
+    public static String format(double kg) {
+        // !(kg >= 0) descarta NaN; copySign descarta -0.0, que Formatter imprime como "-0.0"
+        if (!(kg >= 0) || kg >= FAST_PATH_LIMIT || Math.copySign(1.0, kg) < 0) {
+            return String.format(Locale.ROOT, "%.1f" + SUFFIX, kg);
+        }
+
+        long tenths = toTenths(kg);
+        if (tenths < TABLE_SIZE) {
+            String cached = TABLE[(int) tenths];
+            if (cached == null) {
+                // Carrera benigna: dos hilos pueden calcular el mismo String; ambos son iguales
+                // y String es inmutable, así que publicar sin sincronización es seguro
+                cached = build(tenths);
+                TABLE[(int) tenths] = cached;
+            }
+            return cached;
+        }
+        return build(tenths);
+    }
+
+    /**
+     * Convierte kg a décimas redondeando HALF_UP sobre la representación decimal del double
+     * (la misma que usa Formatter): 0.25 → 3, 0.15 → 2, 0.149 → 1.
+     */
+    static long toTenths(double kg) {
+        // Estimación inicial; la multiplicación puede quedar una unidad corrida
+        long lower = (long) (kg * 10);
+        if ((lower + 1) / 10.0 <= kg) {
+            lower++;
+        } else if (lower / 10.0 > kg) {
+            lower--;
+        }
+        // Ahora lower/10 <= kg < (lower+1)/10. El punto medio (lower.5)/10 como double es el
+        // double más cercano a ese decimal: si kg es igual (empate) o mayor, se redondea hacia arriba
+        double midpoint = (lower * 10 + 5) / 100.0;
+        return kg >= midpoint ? lower + 1 : lower;
+    }
+
+    private static String build(long tenths) {
+        return (tenths / 10) + "." + (tenths % 10) + SUFFIX;
+    }
+}
@@ -0,0 +1,175 @@
+package com.ecoshop.mapper;
+
+/**
+ * Parser de la huella de carbono que envían los clientes ("0.8 kg CO₂", "1,5 t CO₂e", "350 g").
+ *
+ * Reemplaza a replaceAll("[^0-9.]", "") + Double.parseDouble, que compilaba una regex
+ * en cada llamada, creaba Strings intermedios y concatenaba todos los números del texto
+ * ("0.8 kg (1.2 t)" terminaba en "0.81.2" y se perdía el valor).
+ *
+ * Recorre el texto una sola vez, sin regex ni Strings intermedios:
+ * 1. Toma el primer número del texto. Los dígitos pegados a una letra ("CO2e") no cuentan
+ * 2. Acepta '.' y ',' como separador decimal:
+ *    - Si aparecen los dos, el último es el decimal y el otro de miles ("1.234,5" → 1234.5)
+ *    - Si aparece uno solo una vez, es el decimal ("0,8" → 0.8)
+ *    - Si uno solo se repite, son separadores de miles ("1.234.567" → 1234567)
+ * 3. Lee la unidad que sigue al número: g (gramos), kg, t o tn (toneladas). La unidad tiene que ser
+ *    una palabra completa ("5 total" no son toneladas); sin unidad reconocida se asume kg
+ * 4. Si la mantisa y la potencia de 10 son exactas en double, hace una sola división o
+ *    multiplicación; si no (más de 2^53 o exponentes grandes), delega en Double.parseDouble
+ *
+ * El resultado siempre está en kg. Devuelve null si el texto no contiene ningún número.
+ */
+public final class HuellaCarbonoParser {
+
+    // Potencias de 10 exactas en double (10^22 es la última): con una mantisa de hasta 2^53,
+    // también exacta, una sola división o multiplicación queda correctamente redondeada,
+    // igual que Double.parseDouble
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    // Mayor mantisa representable exactamente en double
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // Dígitos significativos que entran en un long sin desbordar; si hay más, se delega en parseDouble
+    private static final int MAX_DIGITS = 18;
+
+    private HuellaCarbonoParser() {
+    }
+
+    /**
+     * Parsea la huella de carbono y la convierte a kg.
+     *
+     * @param text Texto con la huella (ej: "0.8 kg CO₂", "350 g", "1,2 t CO₂e")
+     * @return Huella en kg, o null si el texto es null o no contiene un número
+     */
+    public static Double parseKg(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        int length = text.length();
+        int start = findNumberStart(text);
+        if (start < 0) {
+            return null;
+        }
+        int i = start;
+
+        long mantissa = 0;
+        int digits = 0;                  // dígitos significativos acumulados en la mantisa
+        int dropped = 0;                 // dígitos que no entraron en la mantisa
+        int droppedSinceSeparator = 0;
+        int digitsSinceSeparator = 0;    // dígitos acumulados después del último separador
+        char lastSeparator = 0;
+        int lastSeparatorIndex = -1;
+        int dots = 0;
+        int commas = 0;
+
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits < MAX_DIGITS) {
+                    if (mantissa != 0 || c != '0') {
+                        digits++;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    digitsSinceSeparator++;
+                } else {
+                    dropped++;
+                    droppedSinceSeparator++;
+                }
+            } else if ((c == '.' || c == ',') && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                lastSeparator = c;
+                lastSeparatorIndex = i;
+                digitsSinceSeparator = 0;
+                droppedSinceSeparator = 0;
+                if (c == '.') {
+                    dots++;
+                } else {
+                    commas++;
+                }
+            } else {
+                break;
+            }
+        }
+
+        // El último separador es decimal salvo que sea un separador de miles repetido sin el otro tipo
+        boolean lastIsDecimal = lastSeparator != 0
+                && (dots > 0 && commas > 0 || (lastSeparator == '.' ? dots : commas) == 1);
+        // Exponente decimal: los dígitos enteros descartados escalan hacia arriba y los
+        // decimales acumulados hacia abajo (los decimales descartados simplemente se pierden).
+        // La unidad se suma al exponente para que "350 g" sea 350 / 10^3 con un solo redondeo
+        int exponent = lastIsDecimal
+                ? (dropped - droppedSinceSeparator) - digitsSinceSeparator
+                : dropped;
+        int unitExponent = unitExponent(text, i);
+        exponent += unitExponent;
+
+        if (dropped > 0 || mantissa > MAX_EXACT_MANTISSA || Math.abs(exponent) >= POW10.length) {
+            return parseSlow(text, start, i, lastIsDecimal ? lastSeparatorIndex : -1, unitExponent);
+        }
+        return exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+    }
+
+    /**
+     * Camino lento para números que no se pueden resolver con una sola operación exacta:
+     * arma el número sin separadores de miles ("1234.5E-3") y lo parsea con Double.parseDouble.
+     */
+    private static double parseSlow(String text, int start, int end, int decimalIndex, int unitExponent) {
+        StringBuilder number = new StringBuilder(end - start + 8);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                number.append(c);
+            } else if (i == decimalIndex) {
+                number.append('.');
+            }
+        }
+        return Double.parseDouble(number.append('E').append(unitExponent).toString());
+    }
+
+    /**
+     * Busca el primer dígito que no forme parte de una palabra (como el 2 de "CO2").
+     */
+    private static int findNumberStart(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isDigit(text.charAt(i)) && (i == 0 || !Character.isLetter(text.charAt(i - 1)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Exponente de conversión a kg según la palabra que sigue al número (ignorando espacios):
+     * g → -3, kg → 0, t o tn → 3. Tiene que ser la palabra completa, sin distinguir mayúsculas.
+     */
+    private static int unitExponent(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        int end = i;
+        while (end < text.length() && Character.isLetter(text.charAt(end))) {
+            end++;
+        }
+
+        if (isWord(text, i, end, "g")) {
+            return -3;
+        }
+        if (isWord(text, i, end, "t") || isWord(text, i, end, "tn")) {
+            return 3;
+        }
+        // "kg", ninguna unidad o cualquier otra palabra: se asume kg
+        return 0;
+    }
+
+    private static boolean isWord(String text, int start, int end, String word) {
+        return end - start == word.length() && text.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -11,7 +11,6 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Mapper para convertir entre entidades y DTOs de productos.
@@ -57,11 +56,8 @@ public class ProductMapper {
         // Verificamos que no sea null antes de acceder a sus propiedades
         ProductDto.ImpactoAmbientalDto impactoDto = null;
         if (product.getImpactoAmbiental() != null) {
-            // Convertimos el Double de huella de carbono a String formateado
-            String huellaCarbonoStr = null;
-            if (product.getImpactoAmbiental().getHuellaCarbonoKg() != null) {
-                huellaCarbonoStr = String.format("%.1f kg CO₂", product.getImpactoAmbiental().getHuellaCarbonoKg());
-            }
+            // Convertimos el Double de huella de carbono a String formateado (null si no tiene valor)
+            String huellaCarbonoStr = HuellaCarbonoFormatter.format(product.getImpactoAmbiental().getHuellaCarbonoKg());
             
             // Usamos el patrón Builder para construir el DTO de forma segura
             impactoDto = ProductDto.ImpactoAmbientalDto.builder()
@@ -85,6 +81,7 @@ public class ProductMapper {
                 .imagen(product.getImagen())
                 .certificaciones(certificacionesList) // Lista de códigos de certificaciones (ej: ["FAIR_TRADE", "CARBON_NEUTRAL"])
                 .fechaCreacion(product.getFechaCreacion())
+                .version(product.getVersion())
                 .build();
     }
 
@@ -116,24 +113,10 @@ public class ProductMapper {
         // Convertimos el DTO de impacto ambiental a la entidad embeddable
         ImpactoAmbiental impacto = null;
         if (dto.getImpactoAmbiental() != null) {
-            // Convertimos el string de huella de carbono a Double
-            // El formato puede ser "0.8kg CO₂", "0.8 kg CO₂", "0.8", etc.
-            Double huellaCarbonoKg = null;
-            if (dto.getImpactoAmbiental().getHuellaCarbono() != null && 
-                !dto.getImpactoAmbiental().getHuellaCarbono().trim().isEmpty()) {
-                try {
-                    // Extraemos el número del string, removiendo texto adicional
-                    String huellaStr = dto.getImpactoAmbiental().getHuellaCarbono()
-                            .replaceAll("[^0-9.]", "") // Remueve todo excepto números y punto
-                            .trim();
-                    if (!huellaStr.isEmpty()) {
-                        huellaCarbonoKg = Double.parseDouble(huellaStr);
-                    }
-                } catch (NumberFormatException e) {
-                    // Si no se puede parsear, dejamos null
-                    huellaCarbonoKg = null;
-                }
-            }
+            // Convertimos el string de huella de carbono a Double (en kg)
+            // El formato puede ser "0.8kg CO₂", "0,8 kg CO₂", "350 g CO₂e", "0.8", etc.
+            // Si no contiene ningún número, queda null
+            Double huellaCarbonoKg = HuellaCarbonoParser.parseKg(dto.getImpactoAmbiental().getHuellaCarbono());
             
             impacto = ImpactoAmbiental.builder()
                     .huellaCarbonoKg(huellaCarbonoKg)
@@ -181,12 +164,29 @@ public class ProductMapper {
             return null;
         }
 
-        // Convertimos el objeto embeddable ImpactoAmbiental a su DTO de respuesta
-        ImpactoAmbientalResponse impactoResponse = toImpactoAmbientalResponse(product.getImpactoAmbiental());
-
         // Convertimos el Set<Certification> a List<String> con los nombres de las certificaciones
         // IMPORTANTE: Los endpoints GET devuelven nombres para mostrar información legible al usuario
-        List<String> certificacionesList = extractCertificationNames(product.getCertificaciones());
+        return toResponse(product, extractCertificationNames(product.getCertificaciones()));
+    }
+
+    /**
+     * Convierte una entidad Product a ProductResponse usando nombres de certificaciones ya cargados.
+     *
+     * Se usa en la exportación por streaming: los nombres se cargan en una consulta por lote
+     * de productos, así que este método no accede a product.getCertificaciones()
+     * (que dispararía una consulta por producto).
+     *
+     * @param product Entidad Product de la base de datos
+     * @param certificaciones Nombres de las certificaciones del producto
+     * @return ProductResponse listo para enviar al cliente, o null si product es null
+     */
+    public ProductResponse toResponse(Product product, List<String> certificaciones) {
+        if (product == null) {
+            return null;
+        }
+
+        // Convertimos el objeto embeddable ImpactoAmbiental a su DTO de respuesta
+        ImpactoAmbientalResponse impactoResponse = toImpactoAmbientalResponse(product.getImpactoAmbiental());
 
         // Construimos el ProductResponse con el formato exacto especificado
         return ProductResponse.builder()
@@ -196,8 +196,9 @@ public class ProductMapper {
                 .precio(product.getPrecio())
                 .impactoAmbiental(impactoResponse) // Puede ser null si no tiene impacto ambiental
                 .imagen(product.getImagen())
-                .certificaciones(certificacionesList) // Lista de nombres de certificaciones (ej: ["Fair Trade", "Carbon Neutral"])
+                .certificaciones(certificaciones == null ? null : List.copyOf(certificaciones)) // Copia inmutable: la respuesta puede quedar en caché
                 .fechaCreacion(product.getFechaCreacion())
+                .version(product.getVersion())
                 .build();
     }
 
@@ -222,10 +223,8 @@ public class ProductMapper {
         }
 
         // Formateamos la huella de carbono numérica como string: "X kg CO₂"
-        String huellaCarbonoFormateada = null;
-        if (impactoAmbiental.getHuellaCarbonoKg() != null) {
-            huellaCarbonoFormateada = String.format("%.1f kg CO₂", impactoAmbiental.getHuellaCarbonoKg());
-        }
+        // HuellaCarbonoFormatter evita String.format, que es costoso y se ejecuta por cada producto
+        String huellaCarbonoFormateada = HuellaCarbonoFormatter.format(impactoAmbiental.getHuellaCarbonoKg());
 
         // Construimos el DTO de respuesta
         return ImpactoAmbientalResponse.builder()
@@ -251,7 +250,7 @@ public class ProductMapper {
      */
     private List<String> extractCertificationNames(Set<Certification> certificaciones) {
         if (certificaciones == null || certificaciones.isEmpty()) {
-            return new ArrayList<>();
+            return List.of();
         }
         
         // Creamos una copia de la colección para evitar ConcurrentModificationException
@@ -261,7 +260,7 @@ public class ProductMapper {
         return certificacionesList.stream()
                 .map(Certification::getName)
                 .filter(name -> name != null) // Filtramos nombres nulos por seguridad
-                .collect(Collectors.toList());
+                .toList();
     }
 
     /**
@@ -280,7 +279,7 @@ public class ProductMapper {
      */
     private List<String> extractCertificationCodes(Set<Certification> certificaciones) {
         if (certificaciones == null || certificaciones.isEmpty()) {
-            return new ArrayList<>();
+            return List.of();
         }
         
         // Creamos una copia de la colección para evitar ConcurrentModificationException
@@ -290,7 +289,7 @@ public class ProductMapper {
         return certificacionesList.stream()
                 .map(Certification::getCode)
                 .filter(code -> code != null && !code.trim().isEmpty()) // Filtramos códigos nulos o vacíos por seguridad
-                .collect(Collectors.toList());
+                .toList();
     }
 }
 
@@ -0,0 +1,121 @@
+package com.ecoshop.ratelimit;
+
+import com.ecoshop.config.LoadSheddingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de solicitudes en curso que se adapta a la carga (AIMD).
+ *
+ * Cuando la BD se pone lenta, aceptar más solicitudes solo alarga la cola del pool de conexiones
+ * y sube la latencia de todos. Este limitador rechaza lo que excede la concurrencia que el
+ * servidor está sosteniendo bien, para que las solicitudes aceptadas mantengan su latencia:
+ * - Al terminar cada ventana mira la latencia promedio de las solicitudes terminadas y los hilos
+ *   esperando conexión del pool
+ * - Con congestión reduce el límite multiplicándolo por decreaseFactor (baja rápido)
+ * - Sin congestión, si la ventana llegó al límite, lo sube de a uno (sube despacio)
+ *
+ * tryAcquire y release no toman locks; el ajuste lo hace el primer hilo que termina una
+ * solicitud después de cerrarse la ventana.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /** Valor de tryAcquire cuando se llegó al límite (System.nanoTime puede ser negativo). */
+    public static final long REJECTED = Long.MIN_VALUE;
+
+    private final LoadSheddingProperties properties;
+    private final IntSupplier poolAwaiting;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+    private final long latencyTargetNanos;
+
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+
+    /**
+     * @param properties Límites y objetivos de latencia
+     * @param poolAwaiting Hilos esperando una conexión del pool en este momento
+     * @param nanoClock Reloj en nanosegundos (System::nanoTime salvo en tests)
+     */
+    public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties, IntSupplier poolAwaiting, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.poolAwaiting = poolAwaiting;
+        this.nanoClock = nanoClock;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.latencyTargetNanos = properties.getLatencyTarget().toNanos();
+        this.limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), properties.getInitialLimit()));
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserva un lugar para una solicitud.
+     *
+     * @return El instante de inicio (para pasarlo a release), o REJECTED si se llegó al límite
+     */
+    public long tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return REJECTED;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return nanoClock.getAsLong();
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar de una solicitud terminada y registra su latencia.
+     *
+     * @param startNanos Valor devuelto por tryAcquire
+     */
+    public void release(long startNanos) {
+        long now = nanoClock.getAsLong();
+        inFlight.decrementAndGet();
+        latencySum.add(now - startNanos);
+        samples.increment();
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            adjust();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void adjust() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        long averageNanos = count > 0 ? sum / count : 0;
+        int awaiting = poolAwaiting.getAsInt();
+
+        int current = limit;
+        if (averageNanos > latencyTargetNanos || awaiting > properties.getPoolMaxAwaiting()) {
+            limit = Math.max(properties.getMinLimit(), (int) (current * properties.getDecreaseFactor()));
+            if (limit != current) {
+                log.info("Congestión (latencia promedio {} ms, {} hilos esperando conexión): límite de concurrencia {} -> {}",
+                        averageNanos / 1_000_000, awaiting, current, limit);
+            }
+        } else if (peak >= current && current < properties.getMaxLimit()) {
+            limit = current + 1;
+        }
+    }
+}
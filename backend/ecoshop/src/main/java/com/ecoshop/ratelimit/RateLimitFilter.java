@@ -0,0 +1,200 @@
+package com.ecoshop.ratelimit;
+
+import com.ecoshop.bulkhead.BulkheadContext;
+import com.ecoshop.bulkhead.BulkheadPartition;
+import com.ecoshop.bulkhead.Bulkheads;
+import com.ecoshop.config.LoadSheddingProperties;
+import com.ecoshop.config.RateLimitProperties;
+import com.ecoshop.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro de protección de la API pública (/api/v1/**, salvo los health checks).
+ *
+ * Todos los endpoints son permitAll, así que un solo cliente insistente (un scraper de
+ * /products, por ejemplo) podría ocupar todas las conexiones de la BD. Cada solicitud pasa por:
+ * 1. Rate limit por IP y, si hay usuario autenticado, por usuario (TokenBucketRateLimiter).
+ *    Al excederlo responde 429 con Retry-After
+ * 2. Bulkhead de su partición (catalog, checkout o admin) con su límite adaptativo de concurrencia
+ *    (Bulkheads). Si la partición ya está atendiendo todo lo que puede sin degradar la latencia,
+ *    responde 503 con Retry-After. Mientras dura la solicitud, la partición queda en
+ *    BulkheadContext para que sus conexiones a la BD cuenten en la misma partición
+ *
+ * La IP es request.getRemoteAddr(): detrás del proxy de Render, Tomcat la toma de
+ * X-Forwarded-For (server.forward-headers-strategy=native) solo si el pedido viene de una red interna.
+ *
+ * Se registra después de Spring Security para poder leer el usuario autenticado.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String HEALTH_PATH = "/api/v1/health";
+
+    private final RateLimitProperties rateLimitProperties;
+    private final LoadSheddingProperties loadSheddingProperties;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter userLimiter;
+    private final Bulkheads bulkheads;
+
+    public RateLimitFilter(RateLimitProperties rateLimitProperties, LoadSheddingProperties loadSheddingProperties,
+                           Bulkheads bulkheads, ObjectMapper objectMapper) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.loadSheddingProperties = loadSheddingProperties;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new TokenBucketRateLimiter(rateLimitProperties.getIpRequestsPerSecond(),
+                rateLimitProperties.getIpBurst(), rateLimitProperties.getMaxTrackedClients(), System::nanoTime);
+        this.userLimiter = new TokenBucketRateLimiter(rateLimitProperties.getUserRequestsPerSecond(),
+                rateLimitProperties.getUserBurst(), rateLimitProperties.getMaxTrackedClients(), System::nanoTime);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(API_PREFIX)
+                || path.equals(HEALTH_PATH) || path.startsWith(HEALTH_PATH + "/")
+                // Los preflight de CORS no llegan a los controladores
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimitProperties.isEnabled()) {
+            long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+            String user = authenticatedUser();
+            if (waitNanos == 0 && user != null) {
+                waitNanos = userLimiter.tryAcquire(user);
+            }
+            if (waitNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                        "Demasiadas solicitudes, reintentar en unos segundos");
+                return;
+            }
+        }
+
+        BulkheadPartition partition = bulkheads.classify(request);
+        long start = bulkheads.tryAcquire(partition);
+        if (start == AdaptiveConcurrencyLimiter.REJECTED) {
+            log.debug("Solicitud rechazada por sobrecarga de la partición {}", partition.key());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, loadSheddingProperties.getWindow().toNanos(),
+                    "El servidor está sobrecargado, reintentar en unos segundos");
+            return;
+        }
+
+        Permit permit = new Permit(partition, start);
+        BulkheadContext.set(partition);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.clear();
+            if (request.isAsyncStarted()) {
+                // Las descargas en streaming siguen ocupando un lugar hasta que terminan
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Descarta los buckets de los clientes inactivos para que la memoria no crezca con cada IP nueva.
+     */
+    @Scheduled(fixedDelayString = "${ecoshop.rate-limit.eviction-interval:1m}")
+    public void evictIdleClients() {
+        ipLimiter.evictIdle();
+        userLimiter.evictIdle();
+    }
+
+    private static String authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        GlobalExceptionHandler.ErrorResponse error = GlobalExceptionHandler.ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Lugar ocupado en el bulkhead de la partición; se libera una sola vez aunque la solicitud
+     * asíncrona termine por timeout y por error.
+     */
+    private final class Permit implements AsyncListener {
+
+        private final BulkheadPartition partition;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(BulkheadPartition partition, long start) {
+            this.partition = partition;
+            this.start = start;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkheads.release(partition, start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Sigue la misma solicitud: el lugar se libera cuando termine
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecoshop.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por clave (IP o usuario), sin locks.
+ *
+ * Se implementa con GCRA (Generic Cell Rate Algorithm), que es equivalente a un token bucket
+ * pero guarda un solo long por clave: el "theoretical arrival time" (TAT), el instante en el que
+ * el bucket volvería a estar lleno. Cada solicitud aceptada corre el TAT un intervalo
+ * (1 / tasa) hacia adelante; si eso lo deja más de burst intervalos por delante de ahora,
+ * el bucket está vacío y la solicitud se rechaza.
+ *
+ * El TAT de cada clave es un AtomicLong que se actualiza con compareAndSet, así que clientes
+ * distintos nunca compiten entre sí y los pedidos de un mismo cliente no toman locks.
+ */
+public class TokenBucketRateLimiter {
+
+    /** Clave compartida por los clientes nuevos cuando se llega a maxKeys. */
+    static final String OVERFLOW_KEY = "*";
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerSecond Solicitudes por segundo permitidas en promedio
+     * @param burst Solicitudes seguidas permitidas con el bucket lleno
+     * @param maxKeys Cantidad máxima de buckets en memoria
+     * @param nanoClock Reloj en nanosegundos (System::nanoTime salvo en tests)
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("La tasa debe ser positiva y el burst al menos 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Intenta consumir un token del bucket de la clave.
+     *
+     * @return 0 si la solicitud se acepta; si no, los nanosegundos que faltan para que haya un token
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong tat = bucket(key, now);
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descarta los buckets llenos: un cliente que no hizo solicitudes en el último
+     * burst / tasa segundos tiene el mismo estado que uno que nunca llegó.
+     *
+     * Si un pedido concurrente consume del bucket justo mientras se descarta, ese token se
+     * pierde y el cliente empieza con el bucket lleno: a lo sumo gana una solicitud.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) {
+            return tat;
+        }
+        if (buckets.size() >= maxKeys) {
+            key = OVERFLOW_KEY;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecoshop.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que manda las transacciones de solo lectura a la réplica y todo lo demás al primario.
+ *
+ * La decisión se toma al pedir la conexión, con la transacción ya iniciada, así que tiene que
+ * usarse detrás de un LazyConnectionDataSourceProxy: el JpaTransactionManager pide la conexión
+ * antes de marcar la transacción como readOnly, y el proxy recién la obtiene en la primera consulta.
+ *
+ * Una transacción readOnly va al primario si:
+ * - El cliente de la solicitud escribió hace poco (ReadYourWrites)
+ * - La réplica está atrasada o no se pudo medir (ReplicaLagMonitor)
+ * - La réplica no entrega una conexión; en ese caso además queda fuera de uso hasta la próxima medición
+ * - Se ejecuta dentro de readFromPrimary (cargas que llenan una caché)
+ *
+ * Las transacciones que escriben registran, al confirmarse, la escritura del cliente.
+ * Fuera de una transacción (arranque de Hibernate, health checks) siempre se usa el primario,
+ * y unwrap() devuelve el pool del primario para las métricas de HikariCP.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                rememberWriteOnCommit();
+            }
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_READS.get() != null) {
+            return Target.PRIMARY;
+        }
+        String client = ReadYourWrites.currentClient();
+        if (client != null && readYourWrites.wroteRecently(client)) {
+            return Target.PRIMARY;
+        }
+        return lagMonitor.isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * Ejecuta work leyendo del primario aunque la transacción sea readOnly.
+     *
+     * Es para las cargas que llenan las cachés del catálogo, que no expiran: un listado viejo
+     * leído de la réplica quedaría cacheado hasta la próxima escritura, y quien acaba de escribir
+     * no vería su cambio. Tiene que envolver la primera consulta de la transacción, que es cuando
+     * se elige la base. Sin réplica configurada no cambia nada.
+     */
+    public static <T> T readFromPrimary(Supplier<T> work) {
+        boolean outermost = PRIMARY_READS.get() == null;
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outermost) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            lagMonitor.markUnusable(ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private void rememberWriteOnCommit() {
+        String client = ReadYourWrites.currentClient();
+        if (client == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(client);
+            }
+        });
+    }
+}
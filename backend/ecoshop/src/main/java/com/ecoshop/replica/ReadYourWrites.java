@@ -0,0 +1,74 @@
+package com.ecoshop.replica;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Últimas escrituras de cada cliente, para que sus lecturas siguientes vean lo que acaba de escribir.
+ *
+ * Después de confirmar una escritura, durante stickyWindow las lecturas del mismo cliente van
+ * al primario aunque la réplica esté al día: el retraso se mide cada tanto y un pedido recién
+ * creado puede no haber llegado todavía. El cliente es el usuario autenticado o, si no hay, la IP
+ * (la misma identidad que usa el rate limit).
+ *
+ * Las escrituras se recuerdan en memoria, por instancia.
+ */
+public class ReadYourWrites {
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    public ReadYourWrites(Duration stickyWindow, LongSupplier clock) {
+        this.windowNanos = stickyWindow.toNanos();
+        this.clock = clock;
+    }
+
+    public void recordWrite(String client) {
+        lastWrites.put(client, clock.getAsLong());
+    }
+
+    public boolean wroteRecently(String client) {
+        Long writtenAt = lastWrites.get(client);
+        return writtenAt != null && clock.getAsLong() - writtenAt < windowNanos;
+    }
+
+    /**
+     * Olvida las escrituras que ya salieron de la ventana para que el mapa no crezca.
+     */
+    @Scheduled(fixedDelayString = "${ecoshop.replica.sticky-window:5s}")
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        lastWrites.entrySet().removeIf(entry -> now - entry.getValue() >= windowNanos);
+    }
+
+    public int size() {
+        return lastWrites.size();
+    }
+
+    /**
+     * Cliente de la solicitud en curso, o null si el hilo no está atendiendo una solicitud
+     * (tareas programadas, outbox).
+     */
+    public static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecoshop.replica;
+
+import com.ecoshop.config.ReplicaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Mide periódicamente el retraso de la réplica y decide si se le pueden mandar lecturas.
+ *
+ * La réplica se usa solo si la última medición es reciente (de los últimos tres intervalos) y
+ * el retraso no supera ecoshop.replica.max-lag. Si la consulta falla, devuelve NULL o la medición
+ * quedó vieja porque el scheduler está trabado, las lecturas vuelven al primario hasta la
+ * próxima medición buena.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleAfterNanos;
+    private final int queryTimeoutSeconds;
+    private final LongSupplier clock;
+
+    private volatile Measurement last;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties properties, LongSupplier clock) {
+        this.replica = replica;
+        this.lagQuery = properties.getLagQuery();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.staleAfterNanos = properties.getLagCheckInterval().toNanos() * 3;
+        this.queryTimeoutSeconds = (int) Math.max(1, properties.getConnectionTimeout().toSeconds());
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${ecoshop.replica.lag-check-interval:1s}")
+    public void refresh() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lag = rs.next() ? rs.getDouble(1) : 0;
+                if (rs.wasNull()) {
+                    update(new Measurement(false, null, clock.getAsLong(), "La réplica todavía no aplicó ninguna transacción"));
+                    return;
+                }
+                long lagMillis = Math.round(lag);
+                update(new Measurement(lagMillis <= maxLagMillis, lagMillis, clock.getAsLong(),
+                        lagMillis <= maxLagMillis ? null : "Retraso mayor que max-lag"));
+            }
+        } catch (SQLException ex) {
+            update(new Measurement(false, null, clock.getAsLong(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Saca la réplica de uso hasta la próxima medición (por ejemplo, si no entregó una conexión).
+     */
+    public void markUnusable(String reason) {
+        update(new Measurement(false, null, clock.getAsLong(), reason));
+    }
+
+    public boolean isReplicaUsable() {
+        Measurement measurement = last;
+        return measurement != null && measurement.usable()
+                && clock.getAsLong() - measurement.checkedAtNanos() <= staleAfterNanos;
+    }
+
+    /**
+     * Estado de la réplica para el health check: si se usa, último retraso medido y motivo si no se usa.
+     */
+    public Map<String, Object> details() {
+        Measurement measurement = last;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("usable", isReplicaUsable());
+        details.put("maxLagMs", maxLagMillis);
+        if (measurement != null) {
+            details.put("lagMs", measurement.lagMillis());
+            details.put("checkedMsAgo", TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - measurement.checkedAtNanos()));
+            if (measurement.reason() != null) {
+                details.put("reason", measurement.reason());
+            }
+        }
+        return details;
+    }
+
+    private void update(Measurement measurement) {
+        Measurement previous = last;
+        last = measurement;
+        boolean wasUsable = previous != null && previous.usable();
+        if (wasUsable && !measurement.usable()) {
+            log.warn("Réplica fuera de uso, las lecturas van al primario: {}", measurement.reason());
+        } else if (!wasUsable && measurement.usable()) {
+            log.info("Réplica en uso (retraso {} ms)", measurement.lagMillis());
+        }
+    }
+
+    private record Measurement(boolean usable, Long lagMillis, long checkedAtNanos, String reason) {
+    }
+}
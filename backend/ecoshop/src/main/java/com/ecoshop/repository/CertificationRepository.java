@@ -2,10 +2,13 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.Certification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -68,5 +71,46 @@ public interface CertificationRepository extends JpaRepository<Certification, Lo
      */
     @Query("SELECT COUNT(c) > 0 FROM Certification c WHERE UPPER(TRIM(c.code)) = UPPER(TRIM(:code))")
     boolean existsByCodeIgnoreCase(@Param("code") String code);
+
+    /**
+     * Elimina una certificación con un DELETE directo, sin cargar la entidad.
+     * 
+     * A diferencia de deleteById (que hace un SELECT antes del DELETE), ejecuta una sola sentencia.
+     * 
+     * @param id ID de la certificación a eliminar
+     * @return Cantidad de filas eliminadas (0 si la certificación no existe)
+     */
+    @Modifying
+    @Query("DELETE FROM Certification c WHERE c.id = :id")
+    int deleteCertificationById(@Param("id") Long id);
+
+    /**
+     * Busca las certificaciones de varios códigos en una sola consulta, sin distinguir mayúsculas/minúsculas.
+     * 
+     * @param codes Códigos normalizados (sin espacios y en mayúsculas)
+     * @return Certificaciones encontradas (los códigos inexistentes simplemente no aparecen)
+     */
+    @Query("SELECT c FROM Certification c WHERE UPPER(TRIM(c.code)) IN :codes")
+    List<Certification> findByCodesIgnoreCase(@Param("codes") Collection<String> codes);
+
+    /**
+     * Obtiene el ID y el código de todas las certificaciones en una sola consulta.
+     * 
+     * Lo usa la importación masiva para resolver los códigos de todas las filas
+     * en memoria, en lugar de hacer una consulta por cada código de cada fila.
+     * 
+     * @return Pares (id, code) de todas las certificaciones
+     */
+    @Query("SELECT c.id AS id, c.code AS code FROM Certification c")
+    List<CertificationCode> findAllCodes();
+
+    /**
+     * Proyección con el ID y el código de una certificación.
+     */
+    interface CertificationCode {
+        Long getId();
+
+        String getCode();
+    }
 }
 
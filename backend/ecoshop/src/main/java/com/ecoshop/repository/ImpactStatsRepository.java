@@ -0,0 +1,74 @@
+package com.ecoshop.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Consultas de totales para las estadísticas de impacto de la landing.
+ *
+ * Solo las ejecuta el refresco periódico de ImpactStatsCollector, nunca una petición:
+ * las ventas salen del rollup (ventas_pedidos y ventas_diarias), no de Pedidos, y el
+ * catálogo es una sola pasada de agregados sobre Productos.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImpactStatsRepository {
+
+    private static final String SELECT_COMPRAS = """
+            SELECT COUNT(*) AS compras,
+                   COALESCE(SUM(CASE WHEN fecha >= ? THEN 1 ELSE 0 END), 0) AS compras_mes
+            FROM ventas_pedidos
+            WHERE contabilizado = TRUE""";
+
+    private static final String SELECT_VENTAS = """
+            SELECT COALESCE(SUM(unidades), 0) AS unidades, COALESCE(SUM(co2_kg), 0) AS co2_kg
+            FROM ventas_diarias""";
+
+    private static final String SELECT_CATALOGO = """
+            SELECT COUNT(*) AS productos,
+                   COALESCE(SUM(CASE WHEN eco_badge = 'bajo_impacto' THEN 1 ELSE 0 END), 0) AS bajo_impacto,
+                   COUNT(huella_carbono_kg) AS con_huella,
+                   COALESCE(AVG(huella_carbono_kg), 0) AS huella_promedio,
+                   COALESCE(AVG(porcentaje_reciclable), 0) AS reciclable_promedio
+            FROM productos
+            WHERE activo = TRUE""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Totales de ventas: pedidos pagados y no cancelados, unidades y CO₂ vendidos.
+     *
+     * @param inicioMes Primer día del mes en curso, para contar las compras del mes
+     */
+    public Ventas ventas(LocalDate inicioMes) {
+        long[] compras = jdbcTemplate.queryForObject(SELECT_COMPRAS,
+                (rs, rowNum) -> new long[] {rs.getLong("compras"), rs.getLong("compras_mes")},
+                Date.valueOf(inicioMes));
+        return jdbcTemplate.queryForObject(SELECT_VENTAS, (rs, rowNum) -> new Ventas(
+                compras[0], compras[1], rs.getLong("unidades"), rs.getBigDecimal("co2_kg")));
+    }
+
+    /**
+     * Métricas de impacto de los productos activos del catálogo.
+     */
+    public Catalogo catalogo() {
+        return jdbcTemplate.queryForObject(SELECT_CATALOGO, (rs, rowNum) -> new Catalogo(
+                rs.getLong("productos"),
+                rs.getLong("bajo_impacto"),
+                rs.getLong("con_huella"),
+                rs.getDouble("huella_promedio"),
+                rs.getDouble("reciclable_promedio")));
+    }
+
+    public record Ventas(long compras, long comprasMes, long unidades, BigDecimal co2Kg) {
+    }
+
+    public record Catalogo(long productos, long bajoImpacto, long conHuella,
+                           double huellaPromedioKg, double reciclablePromedio) {
+    }
+}
@@ -2,7 +2,14 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.Marca;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MarcaRepository extends JpaRepository<Marca, Integer> {
 
+  // DELETE directo sin cargar la entidad; devuelve 0 si la marca no existe
+  @Modifying
+  @Query("DELETE FROM Marca m WHERE m.marcaId = :id")
+  int deleteMarcaById(@Param("id") Integer id);
 }
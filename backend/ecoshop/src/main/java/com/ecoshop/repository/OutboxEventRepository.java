@@ -0,0 +1,48 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de la tabla outbox_events.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Reserva el próximo lote de eventos pendientes.
+     * 
+     * FOR UPDATE bloquea las filas hasta el fin de la transacción y SKIP LOCKED saltea las
+     * que ya reservó otra instancia, así que varios dispatchers pueden trabajar en paralelo
+     * sin entregar dos veces el mismo evento ni esperarse entre sí.
+     * 
+     * @param ahora Solo se toman eventos cuyo siguiente_intento ya pasó
+     * @param maxIntentos Los eventos que ya fallaron esta cantidad de veces no se reintentan
+     * @param limite Tamaño máximo del lote
+     * @return Eventos reservados, en orden de registro
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE procesado_en IS NULL AND siguiente_intento <= :ahora AND intentos < :maxIntentos
+            ORDER BY id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("ahora") LocalDateTime ahora, @Param("maxIntentos") int maxIntentos,
+                                    @Param("limite") int limite);
+
+    /**
+     * Borra los eventos ya entregados antes de la fecha indicada.
+     * 
+     * @return Cantidad de filas borradas
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.procesadoEn < :limite")
+    int deleteProcessedBefore(@Param("limite") LocalDateTime limite);
+}
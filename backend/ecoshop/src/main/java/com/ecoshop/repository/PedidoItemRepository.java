@@ -2,6 +2,8 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.PedidoItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +11,9 @@ import java.util.List;
 public interface PedidoItemRepository extends JpaRepository<PedidoItem, Integer> {
 
   List<PedidoItem> findByPedido_PedidoId(Integer pedidoId);
+
+  // Items con su producto en un solo SELECT (JOIN FETCH): mostrar nombre e imagen de cada
+  // línea no dispara una consulta por ítem, sin importar cuántas líneas tenga el pedido
+  @Query("SELECT i FROM PedidoItem i JOIN FETCH i.producto WHERE i.pedido.pedidoId = :pedidoId ORDER BY i.pedidoItemId")
+  List<PedidoItem> findWithProductoByPedidoId(@Param("pedidoId") Integer pedidoId);
 }
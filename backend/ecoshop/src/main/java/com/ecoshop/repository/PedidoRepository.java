@@ -2,12 +2,33 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.Pedido;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.List;
-
+import java.util.Optional;
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
+public interface PedidoRepository extends JpaRepository<Pedido, Integer>, JpaSpecificationExecutor<Pedido> {
+
+  // Pedido con su usuario en un solo SELECT (la respuesta incluye el email del usuario)
+  @Query("SELECT p FROM Pedido p JOIN FETCH p.usuario WHERE p.pedidoId = :id")
+  Optional<Pedido> findWithUsuarioById(@Param("id") Integer id);
+
+  // Los listados de pedidos se paginan con findBy(Specification, ...) y los filtros de PedidoSpecifications
+
+  // Transición de estado condicional: solo se aplica si el pedido sigue en el estado y la versión leídos.
+  // Devuelve 0 si otra petición ya lo cambió (p. ej. dos callbacks de pago simultáneos, o una
+  // escritura que no tocó el estado pero sí la versión).
+  // Incrementa la versión a mano porque los UPDATE JPQL no pasan por @Version
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Pedido p SET p.estado = :nuevo, p.version = p.version + 1 "
+      + "WHERE p.pedidoId = :id AND p.estado = :esperado AND p.version = :version")
+  int updateEstadoIfCurrent(@Param("id") Integer id, @Param("esperado") String esperado,
+      @Param("version") Long version, @Param("nuevo") String nuevo);
 
-  // Obtener pedidos por ID de usuario
-  List<Pedido> findByUsuario_UsuarioId(Integer usuarioId);
+  // DELETE directo sin cargar la entidad; devuelve 0 si el pedido no existe
+  @Modifying
+  @Query("DELETE FROM Pedido p WHERE p.pedidoId = :id")
+  int deletePedidoById(@Param("id") Integer id);
 }
@@ -0,0 +1,56 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.Pedido;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Filtros combinables para el historial de pedidos (PedidoRepository.findBy).
+// Cada filtro nulo se omite, así la consulta generada solo tiene las condiciones
+// realmente pedidas y el planificador puede usar el índice que corresponde
+public final class PedidoSpecifications {
+
+  private PedidoSpecifications() {}
+
+  // Trae el usuario en el mismo SELECT (el DTO expone su email) para evitar un SELECT por pedido
+  public static Specification<Pedido> fetchUsuario() {
+    return (root, query, cb) -> {
+      root.fetch("usuario", JoinType.INNER);
+      return null;
+    };
+  }
+
+  public static Specification<Pedido> delUsuario(Integer usuarioId) {
+    return (root, query, cb) -> cb.equal(root.get("usuario").get("usuarioId"), usuarioId);
+  }
+
+  public static Specification<Pedido> conEstado(String estado) {
+    return estado == null ? null : (root, query, cb) -> cb.equal(root.get("estado"), estado);
+  }
+
+  // Rango [desde, hasta) sobre fecha_pedido
+  public static Specification<Pedido> entreFechas(LocalDateTime desde, LocalDateTime hasta) {
+    return (root, query, cb) -> {
+      if (desde != null && hasta != null) {
+        return cb.and(cb.greaterThanOrEqualTo(root.get("fechaPedido"), desde),
+            cb.lessThan(root.get("fechaPedido"), hasta));
+      }
+      if (desde != null) {
+        return cb.greaterThanOrEqualTo(root.get("fechaPedido"), desde);
+      }
+      return hasta != null ? cb.lessThan(root.get("fechaPedido"), hasta) : null;
+    };
+  }
+
+  // Keyset: pedidos posteriores al cursor en el orden (fecha_pedido DESC, pedido_id DESC).
+  // El ID desempata pedidos con la misma fecha, así ninguno se repite ni se saltea entre páginas
+  public static Specification<Pedido> despuesDe(LocalDateTime fecha, Integer pedidoId) {
+    if (fecha == null) {
+      return null;
+    }
+    return (root, query, cb) -> cb.or(
+        cb.lessThan(root.get("fechaPedido"), fecha),
+        cb.and(cb.equal(root.get("fechaPedido"), fecha), cb.lessThan(root.get("pedidoId"), pedidoId)));
+  }
+}
@@ -0,0 +1,124 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.ImpactoAmbiental;
+import com.ecoshop.domain.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositorio de escritura masiva de productos con JDBC.
+ *
+ * Se usa en la importación de catálogos, donde pasar por Hibernate sería el cuello de botella:
+ * con IDENTITY, Hibernate no puede agrupar los INSERT en lotes (necesita el ID de cada fila
+ * apenas la inserta) y además guarda cada entidad en el contexto de persistencia.
+ *
+ * Aquí cada lote se envía con un solo executeBatch y los IDs generados se leen de
+ * getGeneratedKeys, así que insertar N productos cuesta un viaje a la BD en lugar de N.
+ *
+ * Los métodos deben llamarse dentro de una transacción (el servicio usa una por lote).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO products (nombre, marca, precio, stock, activo, fecha_creacion, imagen,
+                                  huella_carbono_kg, materiales_reciclables, nivel)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_PRODUCT_CERTIFICATION =
+            "INSERT INTO producto_certificaciones (producto_id, certificacion_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta un lote de productos (sin certificaciones) en un solo batch.
+     *
+     * @param products Productos a insertar (el ID se ignora)
+     * @return IDs generados, en el mismo orden que los productos
+     */
+    public List<Long> insertProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PRODUCT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setProductValues(ps, products.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            // Un solo valor por fila: la columna id (el nombre varía en mayúsculas según el driver)
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Inserta las filas de la tabla intermedia producto_certificaciones en un solo batch.
+     *
+     * @param certificationIdsByProduct IDs de certificaciones por ID de producto
+     */
+    public void insertProductCertifications(Map<Long, ? extends Collection<Long>> certificationIdsByProduct) {
+        List<Object[]> rows = new ArrayList<>();
+        certificationIdsByProduct.forEach((productId, certificationIds) -> {
+            for (Long certificationId : certificationIds) {
+                rows.add(new Object[] {productId, certificationId});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_CERTIFICATION, rows);
+        }
+    }
+
+    private static void setProductValues(PreparedStatement ps, Product product) throws SQLException {
+        ps.setString(1, product.getNombre());
+        ps.setString(2, product.getMarca());
+        ps.setBigDecimal(3, product.getPrecio());
+        ps.setInt(4, product.getStock() != null ? product.getStock() : 0);
+        ps.setBoolean(5, product.getActivo() == null || product.getActivo());
+        LocalDateTime fechaCreacion = product.getFechaCreacion() != null ? product.getFechaCreacion() : LocalDateTime.now();
+        ps.setTimestamp(6, Timestamp.valueOf(fechaCreacion));
+        ps.setString(7, product.getImagen());
+
+        ImpactoAmbiental impacto = product.getImpactoAmbiental();
+        if (impacto != null && impacto.getHuellaCarbonoKg() != null) {
+            ps.setDouble(8, impacto.getHuellaCarbonoKg());
+        } else {
+            ps.setNull(8, Types.DOUBLE);
+        }
+        if (impacto != null && impacto.getMaterialesReciclables() != null) {
+            ps.setBoolean(9, impacto.getMaterialesReciclables());
+        } else {
+            ps.setNull(9, Types.BOOLEAN);
+        }
+        ps.setString(10, impacto != null ? impacto.getNivel() : null);
+    }
+}
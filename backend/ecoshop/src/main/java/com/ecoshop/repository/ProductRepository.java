@@ -1,16 +1,20 @@
 package com.ecoshop.repository;
 
 import com.ecoshop.domain.Product;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para acceder a los datos de productos en la base de datos.
@@ -53,18 +57,59 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Override
     @EntityGraph(attributePaths = "certificaciones")
     Optional<Product> findById(Long id);
+
+    /**
+     * Recorre todos los productos con un cursor de solo avance, sin cargarlos en memoria.
+     *
+     * - Fetch size: el driver trae las filas de a lotes (en PostgreSQL solo funciona
+     *   dentro de una transacción, por eso el servicio lo llama con @Transactional)
+     * - Read only: Hibernate no guarda snapshots para dirty checking
+     * - Sin @EntityGraph: las certificaciones se cargan por lote con findCertificationNames
+     *
+     * El Stream debe cerrarse (try-with-resources) para liberar el cursor.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    /**
+     * Filas traídas por viaje a la BD al recorrer streamAll().
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Obtiene los nombres de las certificaciones de un lote de productos en una sola consulta.
+     *
+     * @param productIds IDs de los productos del lote
+     * @return Pares (productId, name) de cada certificación asignada
+     */
+    @Query("SELECT p.id AS productId, c.name AS name FROM Product p JOIN p.certificaciones c WHERE p.id IN :productIds")
+    List<ProductCertificationName> findCertificationNames(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Proyección con el nombre de una certificación asignada a un producto.
+     */
+    interface ProductCertificationName {
+        Long getProductId();
+
+        String getName();
+    }
     
     /**
-     * Elimina todas las relaciones de certificaciones para un producto específico.
+     * Elimina un producto con un DELETE directo, sin cargar la entidad.
      * 
-     * Este método elimina directamente las filas de la tabla intermedia
-     * producto_certificaciones para un producto dado.
+     * A diferencia de deleteById (que hace un SELECT antes del DELETE), no carga la entidad.
+     * Hibernate antepone el DELETE de las filas de producto_certificaciones del producto
+     * (la tabla de la relación @ManyToMany), así que son dos sentencias en total.
      * 
-     * @param productId ID del producto cuyas relaciones se eliminarán
+     * @param id ID del producto a eliminar
+     * @return Cantidad de filas eliminadas (0 si el producto no existe)
      */
     @Modifying
-    @Transactional
-    @Query(value = "DELETE FROM producto_certificaciones WHERE producto_id = :productId", nativeQuery = true)
-    void deleteProductCertifications(@Param("productId") Long productId);
+    @Query("DELETE FROM Product p WHERE p.id = :id")
+    int deleteProductById(@Param("id") Long id);
 }
 
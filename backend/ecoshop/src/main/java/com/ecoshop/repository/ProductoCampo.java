@@ -0,0 +1,88 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.Producto;
+import com.ecoshop.dto.Producto.ProductoResponseDTO;
+import com.ecoshop.exception.BadRequestException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de ProductoResponseDTO que se pueden pedir con ?fields= en los listados de productos.
+ *
+ * Cada campo conoce su atributo en la entidad (para el SELECT) y su setter en el DTO, así que
+ * la proyección lee de la BD solo las columnas pedidas: sin descripcion ni materiales (TEXT)
+ * si la vista no los usa. nombreMarca es el único que necesita el JOIN con Marcas.
+ */
+public enum ProductoCampo {
+
+  PRODUCTO_ID("productoId", "productoId", (dto, v) -> dto.setProductoId((Integer) v)),
+  MARCA_ID("marcaId", "marca.marcaId", (dto, v) -> dto.setMarcaId((Integer) v)),
+  NOMBRE_MARCA("nombreMarca", "marca.nombreOficial", (dto, v) -> dto.setNombreMarca((String) v)),
+  NOMBRE("nombre", "nombre", (dto, v) -> dto.setNombre((String) v)),
+  DESCRIPCION("descripcion", "descripcion", (dto, v) -> dto.setDescripcion((String) v)),
+  PRECIO("precio", "precio", (dto, v) -> dto.setPrecio((BigDecimal) v)),
+  STOCK("stock", "stock", (dto, v) -> dto.setStock((Integer) v)),
+  SKU("sku", "sku", (dto, v) -> dto.setSku((String) v)),
+  MATERIALES("materiales", "materiales", (dto, v) -> dto.setMateriales((String) v)),
+  ORIGEN("origen", "origen", (dto, v) -> dto.setOrigen((String) v)),
+  HUELLA_CARBONO_KG("huellaCarbonoKg", "huellaCarbonoKg", (dto, v) -> dto.setHuellaCarbonoKg((BigDecimal) v)),
+  PORCENTAJE_RECICLABLE("porcentajeReciclable", "porcentajeReciclable",
+      (dto, v) -> dto.setPorcentajeReciclable((Integer) v)),
+  ECO_BADGE("ecoBadge", "ecoBadge", (dto, v) -> dto.setEcoBadge((String) v)),
+  IMAGEN_URL("imagenUrl", "imagenUrl", (dto, v) -> dto.setImagenUrl((String) v)),
+  ACTIVO("activo", "activo", (dto, v) -> dto.setActivo((Boolean) v)),
+  FECHA_CREACION("fechaCreacion", "fechaCreacion", (dto, v) -> dto.setFechaCreacion((LocalDateTime) v)),
+  VERSION("version", "version", (dto, v) -> dto.setVersion((Long) v));
+
+  private final String nombre;
+  private final String atributo;
+  private final BiConsumer<ProductoResponseDTO, Object> setter;
+
+  ProductoCampo(String nombre, String atributo, BiConsumer<ProductoResponseDTO, Object> setter) {
+    this.nombre = nombre;
+    this.atributo = atributo;
+    this.setter = setter;
+  }
+
+  // Nombre del campo en el JSON (y en el parámetro fields)
+  public String getNombre() { return nombre; }
+
+  // Ruta del atributo a partir de la raíz; "marca.x" navega la relación (Hibernate agrega el JOIN si hace falta)
+  Path<?> path(Root<Producto> root) {
+    Path<?> path = root;
+    for (String parte : atributo.split("\\.")) {
+      path = path.get(parte);
+    }
+    return path;
+  }
+
+  void asignar(ProductoResponseDTO dto, Object valor) {
+    setter.accept(dto, valor);
+  }
+
+  // Convierte "nombre,precio,ecoBadge" en el conjunto de campos. productoId siempre se incluye:
+  // es la clave con la que el cliente identifica cada fila. Un nombre desconocido es un 400
+  public static Set<ProductoCampo> parse(String fields) {
+    Set<ProductoCampo> campos = EnumSet.of(PRODUCTO_ID);
+    for (String nombre : fields.split(",")) {
+      String limpio = nombre.trim();
+      if (limpio.isEmpty()) {
+        continue;
+      }
+      campos.add(Arrays.stream(values())
+          .filter(campo -> campo.nombre.equals(limpio))
+          .findFirst()
+          .orElseThrow(() -> new BadRequestException("Campo inválido en fields: '" + limpio + "'. Valores: "
+              + Arrays.stream(values()).map(ProductoCampo::getNombre).collect(Collectors.joining(", ")))));
+    }
+    return campos;
+  }
+}
@@ -2,13 +2,21 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.Producto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ProductoRepository extends JpaRepository<Producto, Integer> {
+public interface ProductoRepository extends JpaRepository<Producto, Integer>, ProductoRepositoryCustom {
   List<Producto> findByMarca_MarcaId(Integer marcaId);
 
   // Verificar SKU duplicado
   boolean existsBySku(String sku);
+
+  // DELETE directo sin cargar la entidad; devuelve 0 si el producto no existe
+  @Modifying
+  @Query("DELETE FROM Producto p WHERE p.productoId = :id")
+  int deleteProductoById(@Param("id") Integer id);
 }
@@ -0,0 +1,14 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.dto.Producto.ProductoResponseDTO;
+
+import java.util.List;
+import java.util.Set;
+
+// Consultas de productos que Spring Data no puede derivar (implementadas en ProductoRepositoryImpl)
+public interface ProductoRepositoryCustom {
+
+  // Listado con solo las columnas de los campos pedidos; los demás campos del DTO quedan en null.
+  // marcaId null = todos los productos
+  List<ProductoResponseDTO> findProyectados(Set<ProductoCampo> campos, Integer marcaId);
+}
@@ -0,0 +1,53 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.Producto;
+import com.ecoshop.dto.Producto.ProductoResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Spring Data combina esta clase con ProductoRepository por el sufijo "Impl"
+class ProductoRepositoryImpl implements ProductoRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  // SELECT solo de las columnas pedidas (tuplas, no entidades): no se leen los TEXT que la
+  // vista no usa y Hibernate no guarda nada en el contexto de persistencia
+  @Override
+  public List<ProductoResponseDTO> findProyectados(Set<ProductoCampo> campos, Integer marcaId) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Producto> root = query.from(Producto.class);
+
+    List<Selection<?>> columnas = new ArrayList<>(campos.size());
+    for (ProductoCampo campo : campos) {
+      columnas.add(campo.path(root));
+    }
+    query.multiselect(columnas);
+    if (marcaId != null) {
+      query.where(cb.equal(root.get("marca").get("marcaId"), marcaId));
+    }
+    query.orderBy(cb.asc(root.get("productoId")));
+
+    List<Tuple> filas = entityManager.createQuery(query).getResultList();
+    List<ProductoResponseDTO> productos = new ArrayList<>(filas.size());
+    for (Tuple fila : filas) {
+      ProductoResponseDTO dto = new ProductoResponseDTO();
+      int i = 0;
+      for (ProductoCampo campo : campos) {
+        campo.asignar(dto, fila.get(i++));
+      }
+      productos.add(dto);
+    }
+    return productos;
+  }
+}
@@ -2,9 +2,17 @@ package com.ecoshop.repository;
 
 import com.ecoshop.domain.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
   boolean existsByEmail(String email);
+
+  // DELETE directo sin cargar la entidad; devuelve 0 si el usuario no existe
+  @Modifying
+  @Query("DELETE FROM Usuario u WHERE u.usuarioId = :id")
+  int deleteUsuarioById(@Param("id") Integer id);
 }
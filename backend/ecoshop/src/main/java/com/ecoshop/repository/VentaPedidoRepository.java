@@ -0,0 +1,12 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.VentaPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio del registro de pedidos sumados al rollup de ventas.
+ */
+@Repository
+public interface VentaPedidoRepository extends JpaRepository<VentaPedido, Integer> {
+}
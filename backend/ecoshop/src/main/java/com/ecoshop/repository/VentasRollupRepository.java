@@ -0,0 +1,160 @@
+package com.ecoshop.repository;
+
+import com.ecoshop.domain.VentaDiaria;
+import com.ecoshop.dto.analytics.VentasPorEcoBadgeResponse;
+import com.ecoshop.dto.analytics.VentasPorMarcaResponse;
+import com.ecoshop.dto.analytics.VentasPorPeriodoResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio JDBC del rollup de ventas (tabla ventas_diarias) y de los aportes de cada
+ * pedido (tabla ventas_pedidos_aportes).
+ *
+ * Escrituras: cada aporte se suma con un UPDATE atómico (ingresos = ingresos + ?), así dos
+ * transacciones que actualizan la misma fila no pisan sus cambios; si la fila todavía no
+ * existe se inserta. Si otra transacción la inserta al mismo tiempo, la clave primaria
+ * rechaza el segundo INSERT, la transacción hace rollback y el outbox reintenta el evento.
+ *
+ * Lecturas: las consultas filtran por rango de fechas sobre la clave primaria (fecha, marca_id,
+ * eco_badge), así que recorren solo las filas del rollup del rango pedido.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VentasRollupRepository {
+
+    /** Valor de eco_badge para productos sin badge (las columnas de la clave no admiten null). */
+    public static final String SIN_BADGE = "sin_badge";
+
+    // Aportes de un solo pedido: agrupa sus líneas (unas pocas filas) por marca y badge y los
+    // guarda con los datos actuales de los productos
+    private static final String INSERT_APORTES_PEDIDO = """
+            INSERT INTO ventas_pedidos_aportes (pedido_id, marca_id, eco_badge, ingresos, unidades, co2_kg)
+            SELECT i.pedido_id,
+                   pr.marca_id,
+                   COALESCE(pr.eco_badge, '%s'),
+                   SUM(i.cantidad * i.precio_unitario),
+                   SUM(i.cantidad),
+                   SUM(i.cantidad * COALESCE(pr.huella_carbono_kg, 0))
+            FROM pedido_items i
+            JOIN productos pr ON pr.producto_id = i.producto_id
+            WHERE i.pedido_id = ?
+            GROUP BY i.pedido_id, pr.marca_id, COALESCE(pr.eco_badge, '%s')""".formatted(SIN_BADGE, SIN_BADGE);
+
+    private static final String SELECT_APORTES_PEDIDO = """
+            SELECT marca_id, eco_badge, ingresos, unidades, co2_kg
+            FROM ventas_pedidos_aportes
+            WHERE pedido_id = ?""";
+
+    private static final String UPDATE_VENTA = """
+            UPDATE ventas_diarias
+            SET ingresos = ingresos + ?, unidades = unidades + ?, co2_kg = co2_kg + ?
+            WHERE fecha = ? AND marca_id = ? AND eco_badge = ?""";
+
+    private static final String INSERT_VENTA = """
+            INSERT INTO ventas_diarias (fecha, marca_id, eco_badge, ingresos, unidades, co2_kg)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private static final String SELECT_POR_DIA = """
+            SELECT fecha, SUM(ingresos) AS ingresos, SUM(unidades) AS unidades, SUM(co2_kg) AS co2_kg
+            FROM ventas_diarias
+            WHERE fecha BETWEEN ? AND ?
+            GROUP BY fecha
+            ORDER BY fecha""";
+
+    private static final String SELECT_POR_MARCA = """
+            SELECT v.marca_id, m.nombre_oficial,
+                   SUM(v.ingresos) AS ingresos, SUM(v.unidades) AS unidades, SUM(v.co2_kg) AS co2_kg
+            FROM ventas_diarias v
+            LEFT JOIN marcas m ON m.marca_id = v.marca_id
+            WHERE v.fecha BETWEEN ? AND ?
+            GROUP BY v.marca_id, m.nombre_oficial
+            ORDER BY ingresos DESC""";
+
+    private static final String SELECT_POR_ECO_BADGE = """
+            SELECT eco_badge, SUM(ingresos) AS ingresos, SUM(unidades) AS unidades, SUM(co2_kg) AS co2_kg
+            FROM ventas_diarias
+            WHERE fecha BETWEEN ? AND ?
+            GROUP BY eco_badge
+            ORDER BY ingresos DESC""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Guarda lo que un pedido aporta al rollup: una fila por marca y eco-badge de sus líneas.
+     *
+     * @param pedidoId ID del pedido
+     */
+    public void registrarAportes(Integer pedidoId) {
+        jdbcTemplate.update(INSERT_APORTES_PEDIDO, pedidoId);
+    }
+
+    /**
+     * Aportes guardados de un pedido, imputados al día indicado.
+     *
+     * @param pedidoId ID del pedido
+     * @param fecha Día del rollup al que se imputan las ventas
+     */
+    public List<VentaDiaria> aportesRegistrados(Integer pedidoId, LocalDate fecha) {
+        return jdbcTemplate.query(SELECT_APORTES_PEDIDO, (rs, rowNum) -> new VentaDiaria(
+                new VentaDiaria.Clave(fecha, rs.getInt("marca_id"), rs.getString("eco_badge")),
+                rs.getBigDecimal("ingresos"),
+                rs.getLong("unidades"),
+                rs.getBigDecimal("co2_kg")), pedidoId);
+    }
+
+    /**
+     * Suma (signo 1) o resta (signo -1) los aportes al rollup.
+     */
+    public void aplicar(List<VentaDiaria> aportes, int signo) {
+        BigDecimal factor = BigDecimal.valueOf(signo);
+        for (VentaDiaria aporte : aportes) {
+            VentaDiaria.Clave clave = aporte.getClave();
+            BigDecimal ingresos = aporte.getIngresos().multiply(factor);
+            long unidades = aporte.getUnidades() * signo;
+            BigDecimal co2Kg = aporte.getCo2Kg().multiply(factor);
+            Date fecha = Date.valueOf(clave.getFecha());
+
+            int actualizadas = jdbcTemplate.update(UPDATE_VENTA,
+                    ingresos, unidades, co2Kg, fecha, clave.getMarcaId(), clave.getEcoBadge());
+            if (actualizadas == 0) {
+                jdbcTemplate.update(INSERT_VENTA,
+                        fecha, clave.getMarcaId(), clave.getEcoBadge(), ingresos, unidades, co2Kg);
+            }
+        }
+    }
+
+    public List<VentasPorPeriodoResponse> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query(SELECT_POR_DIA, (rs, rowNum) -> VentasPorPeriodoResponse.builder()
+                .periodo(rs.getDate("fecha").toLocalDate())
+                .ingresos(rs.getBigDecimal("ingresos"))
+                .unidades(rs.getLong("unidades"))
+                .co2Kg(rs.getBigDecimal("co2_kg"))
+                .build(), Date.valueOf(desde), Date.valueOf(hasta));
+    }
+
+    public List<VentasPorMarcaResponse> ventasPorMarca(LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query(SELECT_POR_MARCA, (rs, rowNum) -> VentasPorMarcaResponse.builder()
+                .marcaId(rs.getInt("marca_id"))
+                .nombreMarca(rs.getString("nombre_oficial"))
+                .ingresos(rs.getBigDecimal("ingresos"))
+                .unidades(rs.getLong("unidades"))
+                .co2Kg(rs.getBigDecimal("co2_kg"))
+                .build(), Date.valueOf(desde), Date.valueOf(hasta));
+    }
+
+    public List<VentasPorEcoBadgeResponse> ventasPorEcoBadge(LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query(SELECT_POR_ECO_BADGE, (rs, rowNum) -> VentasPorEcoBadgeResponse.builder()
+                .ecoBadge(rs.getString("eco_badge"))
+                .ingresos(rs.getBigDecimal("ingresos"))
+                .unidades(rs.getLong("unidades"))
+                .co2Kg(rs.getBigDecimal("co2_kg"))
+                .build(), Date.valueOf(desde), Date.valueOf(hasta));
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecoshop.service;
+
+import com.ecoshop.dto.analytics.VentasPorEcoBadgeResponse;
+import com.ecoshop.dto.analytics.VentasPorMarcaResponse;
+import com.ecoshop.dto.analytics.VentasPorPeriodoResponse;
+import com.ecoshop.event.PedidoEstadoCambiadoEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interfaz del servicio de analítica de ventas y sostenibilidad para el dashboard de admin.
+ *
+ * Las consultas leen el rollup ventas_diarias, que se mantiene al día desde los eventos
+ * de pedidos: un pedido cuenta como venta cuando pasa de pendiente_pago a procesando (pago
+ * confirmado) y deja de contar si se cancela después. Los rangos de fechas son inclusivos.
+ */
+public interface AnalyticsService {
+
+    /**
+     * Granularidad de la serie temporal de ventas.
+     */
+    enum Agrupacion { DIA, SEMANA, MES }
+
+    /**
+     * Serie temporal de ingresos, unidades y CO₂, ordenada por período.
+     * Los períodos sin ventas no aparecen en la lista.
+     */
+    List<VentasPorPeriodoResponse> ventasPorPeriodo(LocalDate desde, LocalDate hasta, Agrupacion agrupacion);
+
+    /**
+     * Totales por marca, de mayor a menor ingreso.
+     */
+    List<VentasPorMarcaResponse> ventasPorMarca(LocalDate desde, LocalDate hasta);
+
+    /**
+     * Totales por eco-badge de los productos, de mayor a menor ingreso.
+     */
+    List<VentasPorEcoBadgeResponse> ventasPorEcoBadge(LocalDate desde, LocalDate hasta);
+
+    /**
+     * Actualiza el rollup ante un cambio de estado de pedido. Es idempotente: procesar
+     * dos veces el mismo evento no duplica las ventas.
+     */
+    void registrarCambioEstado(PedidoEstadoCambiadoEvent event);
+}
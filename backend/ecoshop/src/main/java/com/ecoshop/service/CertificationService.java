@@ -58,11 +58,13 @@ public interface CertificationService {
      * 
      * @param id Identificador único de la certificación a actualizar
      * @param request Nuevos datos de la certificación
+     * @param expectedVersion Versión enviada en If-Match (null si el cliente no la envió)
      * @return Certificación actualizada convertida a CertificationResponse
      * @throws jakarta.persistence.EntityNotFoundException si la certificación no existe
      * @throws com.ecoshop.exception.BadRequestException si el nuevo código ya existe en otra certificación
+     * @throws com.ecoshop.exception.PreconditionFailedException si expectedVersion no es la versión actual
      */
-    CertificationResponse update(Long id, CertificationRequest request);
+    CertificationResponse update(Long id, CertificationRequest request, Long expectedVersion);
     
     /**
      * Elimina una certificación de la base de datos.
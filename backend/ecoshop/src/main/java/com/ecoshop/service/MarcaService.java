@@ -11,7 +11,7 @@ public interface MarcaService {
 
   List<MarcaResponseDTO> getAllMarcas();
 
-  MarcaResponseDTO updateMarca(Integer id, MarcaRequestDTO marcaDTO);
+  MarcaResponseDTO updateMarca(Integer id, MarcaRequestDTO marcaDTO, Long expectedVersion);
 
   void deleteMarca(Integer id);
 }
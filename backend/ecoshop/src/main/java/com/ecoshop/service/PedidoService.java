@@ -1,19 +1,27 @@
 package com.ecoshop.service;
 
+import com.ecoshop.dto.Pedido.PedidoDetalleResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoPageResponseDTO;
 import com.ecoshop.dto.Pedido.PedidoRequestDTO;
 import com.ecoshop.dto.Pedido.PedidoResponseDTO;
-import java.util.List;
+import java.time.LocalDate;
 
 public interface PedidoService {
   PedidoResponseDTO createPedido(PedidoRequestDTO dto);
 
   PedidoResponseDTO getPedidoById(Integer id);
 
-  List<PedidoResponseDTO> getAllPedidos();
+  // Pedido con sus líneas y productos, en una cantidad fija de consultas
+  PedidoDetalleResponseDTO getPedidoDetalle(Integer id);
 
-  List<PedidoResponseDTO> getPedidosByUsuario(Integer usuarioId);
+  // Listado para el panel de admin, paginado por cursor y con filtros opcionales
+  PedidoPageResponseDTO getPedidos(String estado, LocalDate desde, LocalDate hasta, String cursor, int size);
 
-  PedidoResponseDTO updateEstadoPedido(Integer id, String nuevoEstado); // Método simplificado para cambiar estado
+  // Historial de un usuario, paginado por cursor (más recientes primero)
+  PedidoPageResponseDTO getPedidosByUsuario(Integer usuarioId, String cursor, int size);
+
+  // Transición de estado según EstadoPedido (409 si no está permitida o si otra petición la hizo antes)
+  PedidoResponseDTO updateEstadoPedido(Integer id, String nuevoEstado, Long expectedVersion);
 
   void deletePedido(Integer id);
 }
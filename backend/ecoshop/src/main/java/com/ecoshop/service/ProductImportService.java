@@ -0,0 +1,28 @@
+package com.ecoshop.service;
+
+import com.ecoshop.dto.ProductImportResult;
+import com.ecoshop.importer.ProductRowReader;
+
+import java.io.IOException;
+
+/**
+ * Interfaz del servicio de importación masiva de productos.
+ *
+ * Pensado para marcas que cargan miles de productos de una vez: en lugar de un
+ * POST /api/v1/products por producto, se envía un archivo CSV o NDJSON completo.
+ */
+public interface ProductImportService {
+
+    /**
+     * Importa todos los productos del lector.
+     *
+     * Las filas inválidas (formato, validaciones de ProductDto, certificaciones inexistentes)
+     * no detienen la importación: se reportan en el resultado y se sigue con las demás.
+     * Las filas válidas se insertan por lotes, cada uno en su propia transacción.
+     *
+     * @param rows Lector de filas (CSV o NDJSON)
+     * @return Resumen con la cantidad de filas importadas y los errores por fila
+     * @throws IOException si falla la lectura del cuerpo de la petición
+     */
+    ProductImportResult importProducts(ProductRowReader rows) throws IOException;
+}
@@ -4,6 +4,7 @@ import com.ecoshop.dto.ProductDto;
 import com.ecoshop.dto.ProductResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz del servicio de productos.
@@ -25,6 +26,17 @@ public interface ProductService {
      * @return Lista de todos los productos convertidos a ProductResponse
      */
     List<ProductResponse> findAll();
+
+    /**
+     * Recorre todo el catálogo sin cargarlo en memoria, entregando cada producto al consumidor.
+     * 
+     * Pensado para exportaciones masivas: la memoria usada es constante sin importar
+     * el tamaño del catálogo. El consumidor se ejecuta dentro de la transacción de lectura.
+     * 
+     * @param consumer Recibe cada producto convertido a ProductResponse, en orden de ID
+     * @return Cantidad de productos exportados
+     */
+    long exportAll(Consumer<ProductResponse> consumer);
     
     /**
      * Busca un producto por su ID.
@@ -48,10 +60,12 @@ public interface ProductService {
      * 
      * @param id Identificador del producto a actualizar
      * @param productDto Nuevos datos del producto
-     * @return Producto actualizado
+     * @param expectedVersion Versión enviada en If-Match (null si el cliente no la envió)
+     * @return Producto actualizado (con la versión nueva)
      * @throws jakarta.persistence.EntityNotFoundException si el producto no existe
+     * @throws com.ecoshop.exception.PreconditionFailedException si expectedVersion no es la versión actual
      */
-    ProductDto update(Long id, ProductDto productDto);
+    ProductDto update(Long id, ProductDto productDto, Long expectedVersion);
     
     /**
      * Elimina un producto de la base de datos.
@@ -8,8 +8,10 @@ import java.util.List;
 public interface ProductoService {
     ProductoResponseDTO createProducto(ProductoRequestDTO productoDTO);
     ProductoResponseDTO getProductoById(Integer id);
-    List<ProductoResponseDTO> getAllProductos();
-    List<ProductoResponseDTO> getProductosByMarca(Integer marcaId);
-    ProductoResponseDTO updateProducto(Integer id, ProductoRequestDTO productoDTO);
+    // fields: campos a devolver separados por coma (null = todos); ver ProductoCampo
+    List<ProductoResponseDTO> getAllProductos(String fields);
+    List<ProductoResponseDTO> getProductosByMarca(Integer marcaId, String fields);
+    // expectedVersion: versión del If-Match (null = sin verificación)
+    ProductoResponseDTO updateProducto(Integer id, ProductoRequestDTO productoDTO, Long expectedVersion);
     void deleteProducto(Integer id);
 }
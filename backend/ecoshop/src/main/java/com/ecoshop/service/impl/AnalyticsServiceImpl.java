@@ -0,0 +1,152 @@
+package com.ecoshop.service.impl;
+
+import com.ecoshop.domain.EstadoPedido;
+import com.ecoshop.domain.VentaDiaria;
+import com.ecoshop.domain.VentaPedido;
+import com.ecoshop.dto.analytics.VentasPorEcoBadgeResponse;
+import com.ecoshop.dto.analytics.VentasPorMarcaResponse;
+import com.ecoshop.dto.analytics.VentasPorPeriodoResponse;
+import com.ecoshop.event.PedidoEstadoCambiadoEvent;
+import com.ecoshop.event.VentaContabilizadaEvent;
+import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.repository.VentaPedidoRepository;
+import com.ecoshop.repository.VentasRollupRepository;
+import com.ecoshop.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del servicio de analítica sobre el rollup ventas_diarias.
+ *
+ * Las series por semana y por mes se arman en memoria a partir de la serie diaria:
+ * incluso varios años son unos pocos miles de filas del rollup, y así las consultas
+ * no dependen de funciones de fecha propias de cada motor de BD.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    /** Rango por defecto cuando no se indican fechas: los últimos 30 días. */
+    private static final int DIAS_POR_DEFECTO = 30;
+
+    private final VentasRollupRepository ventasRollupRepository;
+
+    private final VentaPedidoRepository ventaPedidoRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<VentasPorPeriodoResponse> ventasPorPeriodo(LocalDate desde, LocalDate hasta, Agrupacion agrupacion) {
+        LocalDate[] rango = resolverRango(desde, hasta);
+        List<VentasPorPeriodoResponse> porDia = ventasRollupRepository.ventasPorDia(rango[0], rango[1]);
+        if (agrupacion == Agrupacion.DIA) {
+            return porDia;
+        }
+
+        // La serie diaria viene ordenada, así que los períodos quedan en orden de inserción
+        Map<LocalDate, VentasPorPeriodoResponse> porPeriodo = new LinkedHashMap<>();
+        for (VentasPorPeriodoResponse dia : porDia) {
+            LocalDate inicio = agrupacion == Agrupacion.SEMANA
+                    ? dia.getPeriodo().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : dia.getPeriodo().withDayOfMonth(1);
+            porPeriodo.merge(inicio, VentasPorPeriodoResponse.builder()
+                    .periodo(inicio)
+                    .ingresos(dia.getIngresos())
+                    .unidades(dia.getUnidades())
+                    .co2Kg(dia.getCo2Kg())
+                    .build(), (acumulado, nuevo) -> {
+                        acumulado.setIngresos(acumulado.getIngresos().add(nuevo.getIngresos()));
+                        acumulado.setUnidades(acumulado.getUnidades() + nuevo.getUnidades());
+                        acumulado.setCo2Kg(acumulado.getCo2Kg().add(nuevo.getCo2Kg()));
+                        return acumulado;
+                    });
+        }
+        return new ArrayList<>(porPeriodo.values());
+    }
+
+    @Override
+    public List<VentasPorMarcaResponse> ventasPorMarca(LocalDate desde, LocalDate hasta) {
+        LocalDate[] rango = resolverRango(desde, hasta);
+        return ventasRollupRepository.ventasPorMarca(rango[0], rango[1]);
+    }
+
+    @Override
+    public List<VentasPorEcoBadgeResponse> ventasPorEcoBadge(LocalDate desde, LocalDate hasta) {
+        LocalDate[] rango = resolverRango(desde, hasta);
+        return ventasRollupRepository.ventasPorEcoBadge(rango[0], rango[1]);
+    }
+
+    /**
+     * Suma el pedido al rollup cuando se confirma el pago y lo resta si se cancela después.
+     *
+     * Las ventas se imputan al día del pago. Al pagar se guardan los aportes del pedido
+     * (ventas_pedidos_aportes) y la cancelación resta esas mismas filas, así que deshace
+     * exactamente lo que se sumó aunque después se haya editado la marca, el eco-badge o la
+     * huella de algún producto.
+     */
+    @Override
+    @Transactional
+    public void registrarCambioEstado(PedidoEstadoCambiadoEvent event) {
+        Integer pedidoId = event.pedidoId();
+
+        if (event.estadoAnterior() == EstadoPedido.PENDIENTE_PAGO && event.estadoNuevo() == EstadoPedido.PROCESANDO) {
+            if (ventaPedidoRepository.existsById(pedidoId)) {
+                return; // Evento repetido: el pedido ya se sumó
+            }
+            LocalDate fecha = event.ocurridoEn().toLocalDate();
+            ventasRollupRepository.registrarAportes(pedidoId);
+            List<VentaDiaria> aportes = ventasRollupRepository.aportesRegistrados(pedidoId, fecha);
+            ventasRollupRepository.aplicar(aportes, 1);
+            ventaPedidoRepository.save(new VentaPedido(pedidoId, fecha, true));
+            publicarVenta(pedidoId, fecha, aportes, 1);
+        } else if (event.estadoNuevo() == EstadoPedido.CANCELADO) {
+            ventaPedidoRepository.findById(pedidoId)
+                    .filter(VentaPedido::getContabilizado)
+                    .ifPresent(venta -> {
+                        List<VentaDiaria> aportes = ventasRollupRepository.aportesRegistrados(pedidoId, venta.getFecha());
+                        ventasRollupRepository.aplicar(aportes, -1);
+                        venta.setContabilizado(false);
+                        publicarVenta(pedidoId, venta.getFecha(), aportes, -1);
+                    });
+        }
+    }
+
+    /**
+     * Avisa a los contadores en memoria (ImpactStatsCollector) del total que se sumó o restó.
+     */
+    private void publicarVenta(Integer pedidoId, LocalDate fecha, List<VentaDiaria> aportes, int signo) {
+        long unidades = 0;
+        BigDecimal co2Kg = BigDecimal.ZERO;
+        for (VentaDiaria aporte : aportes) {
+            unidades += aporte.getUnidades();
+            co2Kg = co2Kg.add(aporte.getCo2Kg());
+        }
+        eventPublisher.publishEvent(new VentaContabilizadaEvent(pedidoId, fecha, unidades, co2Kg, signo));
+    }
+
+    /**
+     * Completa el rango por defecto y valida que desde no sea posterior a hasta.
+     *
+     * @return { desde, hasta }
+     */
+    private static LocalDate[] resolverRango(LocalDate desde, LocalDate hasta) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        LocalDate inicio = desde != null ? desde : fin.minusDays(DIAS_POR_DEFECTO - 1);
+        if (inicio.isAfter(fin)) {
+            throw new BadRequestException("La fecha 'desde' no puede ser posterior a 'hasta'");
+        }
+        return new LocalDate[] {inicio, fin};
+    }
+}
@@ -1,19 +1,23 @@
 package com.ecoshop.service.impl;
 
+import com.ecoshop.config.CacheConfig;
 import com.ecoshop.domain.Certification;
 import com.ecoshop.dto.CertificationRequest;
 import com.ecoshop.dto.CertificationResponse;
 import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.exception.PreconditionFailedException;
 import com.ecoshop.mapper.CertificationMapper;
+import com.ecoshop.replica.ReadWriteRoutingDataSource;
 import com.ecoshop.repository.CertificationRepository;
 import com.ecoshop.service.CertificationService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de certificaciones.
@@ -53,14 +57,19 @@ public class CertificationServiceImpl implements CertificationService {
      * 
      * @Transactional(readOnly = true): Optimiza la consulta indicando que es solo lectura
      * y evita que se abra una transacción de escritura innecesaria.
+     *
+     * @Cacheable: El resultado se guarda en la caché "certifications" y se reutiliza hasta
+     * que una escritura (create/update/delete) la invalida. Como no expira, se carga del
+     * primario aunque haya réplica: un listado atrasado quedaría cacheado.
      */
     @Override
+    @Cacheable(CacheConfig.CERTIFICATIONS)
     @Transactional(readOnly = true) // Solo lectura, no necesita transacción de escritura
     public List<CertificationResponse> findAll() {
         // Stream API para transformar la lista de entidades a CertificationResponse de forma funcional
-        return certificationRepository.findAll().stream()
+        return ReadWriteRoutingDataSource.readFromPrimary(certificationRepository::findAll).stream()
                 .map(certificationMapper::toResponse) // Convierte cada Certification a CertificationResponse
-                .collect(Collectors.toList()); // Recopila los resultados en una lista
+                .toList(); // Lista inmutable: la caché la comparte entre requests
     }
 
     /**
@@ -125,6 +134,8 @@ public class CertificationServiceImpl implements CertificationService {
      * @throws BadRequestException si ya existe una certificación con el mismo código
      */
     @Override
+    // Los productos exponen los nombres de sus certificaciones, así que también se invalida su caché
+    @CacheEvict(cacheNames = {CacheConfig.CERTIFICATIONS, CacheConfig.PRODUCTS}, allEntries = true)
     public CertificationResponse create(CertificationRequest request) {
         // Normalizamos el código: eliminamos espacios en blanco extremos y convertimos a mayúsculas
         // Esto asegura consistencia en la base de datos
@@ -161,15 +172,21 @@ public class CertificationServiceImpl implements CertificationService {
      * 
      * @param id ID de la certificación a actualizar
      * @param request Nuevos datos de la certificación
+     * @param expectedVersion Versión enviada en If-Match (null si no se verifica)
      * @return CertificationResponse de la certificación actualizada
      * @throws EntityNotFoundException si la certificación no existe
      * @throws BadRequestException si el nuevo código ya existe en otra certificación
      */
     @Override
-    public CertificationResponse update(Long id, CertificationRequest request) {
+    // Los productos exponen los nombres de sus certificaciones, así que también se invalida su caché
+    @CacheEvict(cacheNames = {CacheConfig.CERTIFICATIONS, CacheConfig.PRODUCTS}, allEntries = true)
+    public CertificationResponse update(Long id, CertificationRequest request, Long expectedVersion) {
         // Buscamos la certificación existente
         Certification existingCertification = certificationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Certificación no encontrada con id: " + id));
+
+        // Si el cliente envió If-Match, debe coincidir con la versión actual (si no, 412)
+        PreconditionFailedException.checkVersion(expectedVersion, existingCertification.getVersion());
         
         // Preservamos la fecha de creación original antes de actualizar
         // Esto es importante porque createdAt no debe cambiar al actualizar una certificación
@@ -202,7 +219,8 @@ public class CertificationServiceImpl implements CertificationService {
         existingCertification.setCreatedAt(createdAtOriginal);
         
         // Guardamos los cambios (JPA detecta que tiene ID y actualiza en lugar de crear)
-        Certification updatedCertification = certificationRepository.save(existingCertification);
+        // saveAndFlush ejecuta el UPDATE ahora para que la respuesta lleve la versión incrementada
+        Certification updatedCertification = certificationRepository.saveAndFlush(existingCertification);
         
         // Convertimos de vuelta a DTO para retornar al controlador
         return certificationMapper.toResponse(updatedCertification);
@@ -212,24 +230,22 @@ public class CertificationServiceImpl implements CertificationService {
      * Elimina una certificación de la base de datos.
      * 
      * Proceso:
-     * 1. Verifica que la certificación exista
-     * 2. Si existe, la elimina de la BD
-     * 3. Si no existe, lanza una excepción
+     * 1. Elimina la certificación con un DELETE directo (sin cargarla antes)
+     * 2. Si no se eliminó ninguna fila, la certificación no existía: lanza una excepción
      * 
-     * Nota: Verificamos existencia antes de eliminar para dar un mensaje de error
-     * más claro. También podríamos dejar que JPA lance la excepción, pero este
-     * enfoque nos da más control sobre el mensaje de error.
+     * Una sola sentencia SQL en lugar de tres (existsById, el SELECT de deleteById y el DELETE),
+     * manteniendo el mismo mensaje de error.
      * 
      * @param id Identificador de la certificación a eliminar
      * @throws EntityNotFoundException si la certificación no existe
      */
     @Override
+    // Los productos exponen los nombres de sus certificaciones, así que también se invalida su caché
+    @CacheEvict(cacheNames = {CacheConfig.CERTIFICATIONS, CacheConfig.PRODUCTS}, allEntries = true)
     public void delete(Long id) {
-        // Verificamos existencia antes de eliminar para un mejor mensaje de error
-        if (!certificationRepository.existsById(id)) {
+        // Eliminamos la certificación de la BD; 0 filas afectadas significa que no existía
+        if (certificationRepository.deleteCertificationById(id) == 0) {
             throw new EntityNotFoundException("Certificación no encontrada con id: " + id);
         }
-        // Eliminamos la certificación de la BD
-        certificationRepository.deleteById(id);
     }
 }
@@ -4,6 +4,7 @@ import com.ecoshop.dto.Marca.MarcaRequestDTO;
 import com.ecoshop.dto.Marca.MarcaResponseDTO;
 import com.ecoshop.domain.Marca;
 import com.ecoshop.domain.Usuario;
+import com.ecoshop.exception.PreconditionFailedException;
 import com.ecoshop.exception.ResourceNotFoundException;
 import com.ecoshop.repository.MarcaRepository;
 import com.ecoshop.repository.UsuarioRepository;
@@ -63,31 +64,33 @@ public class MarcaServiceImpl implements MarcaService {
 
   @Override
   @Transactional
-  public MarcaResponseDTO updateMarca(Integer id, MarcaRequestDTO dto) {
+  public MarcaResponseDTO updateMarca(Integer id, MarcaRequestDTO dto, Long expectedVersion) {
     Marca marca = marcaRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Marca no encontrada con id: " + id));
+    PreconditionFailedException.checkVersion(expectedVersion, marca.getVersion());
 
     marca.setNombreOficial(dto.getNombreOficial());
     marca.setDescripcionSostenible(dto.getDescripcionSostenible());
     marca.setSitioWeb(dto.getSitioWeb());
     marca.setLogoUrl(dto.getLogoUrl());
 
-    Marca updatedMarca = marcaRepository.save(marca);
+    // saveAndFlush para que la respuesta (y el ETag) lleve la versión incrementada
+    Marca updatedMarca = marcaRepository.saveAndFlush(marca);
     return mapToResponseDTO(updatedMarca);
   }
 
   @Override
   @Transactional
   public void deleteMarca(Integer id) {
-    if (!marcaRepository.existsById(id)) {
+    // Un solo DELETE: si no afectó filas, la marca no existía
+    if (marcaRepository.deleteMarcaById(id) == 0) {
       throw new ResourceNotFoundException("Marca no encontrada con id: " + id);
     }
-    marcaRepository.deleteById(id);
   }
 
   private MarcaResponseDTO mapToResponseDTO(Marca marca) {
     // Constructor manual del DTO
-    return new MarcaResponseDTO(
+    MarcaResponseDTO dto = new MarcaResponseDTO(
         marca.getMarcaId(),
         marca.getUsuario().getUsuarioId(),
         marca.getNombreOficial(),
@@ -95,5 +98,7 @@ public class MarcaServiceImpl implements MarcaService {
         marca.getSitioWeb(),
         marca.getLogoUrl(),
         marca.getFechaUnion());
+    dto.setVersion(marca.getVersion());
+    return dto;
   }
 }
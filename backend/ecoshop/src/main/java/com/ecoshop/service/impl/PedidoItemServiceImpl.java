@@ -2,9 +2,13 @@ package com.ecoshop.service.impl;
 
 import com.ecoshop.dto.PedidoItem.PedidoItemRequestDTO;
 import com.ecoshop.dto.PedidoItem.PedidoItemResponseDTO;
+import com.ecoshop.domain.EstadoPedido;
 import com.ecoshop.domain.Pedido;
 import com.ecoshop.domain.PedidoItem;
 import com.ecoshop.domain.Producto;
+import com.ecoshop.event.OutboxPublisher;
+import com.ecoshop.event.PedidoItemsCambiadosEvent;
+import com.ecoshop.exception.ConflictException;
 import com.ecoshop.exception.ResourceNotFoundException;
 import com.ecoshop.repository.PedidoItemRepository;
 import com.ecoshop.repository.PedidoRepository;
@@ -14,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,13 +28,16 @@ public class PedidoItemServiceImpl implements PedidoItemService {
   private final PedidoItemRepository pedidoItemRepository;
   private final PedidoRepository pedidoRepository;
   private final ProductoRepository productoRepository;
+  private final OutboxPublisher outboxPublisher;
 
   public PedidoItemServiceImpl(PedidoItemRepository pedidoItemRepository,
       PedidoRepository pedidoRepository,
-      ProductoRepository productoRepository) {
+      ProductoRepository productoRepository,
+      OutboxPublisher outboxPublisher) {
     this.pedidoItemRepository = pedidoItemRepository;
     this.pedidoRepository = pedidoRepository;
     this.productoRepository = productoRepository;
+    this.outboxPublisher = outboxPublisher;
   }
 
   @Override
@@ -37,6 +45,7 @@ public class PedidoItemServiceImpl implements PedidoItemService {
   public PedidoItemResponseDTO addItem(PedidoItemRequestDTO dto) {
     Pedido pedido = pedidoRepository.findById(dto.getPedidoId())
         .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+    verificarEditable(pedido);
     Producto producto = productoRepository.findById(dto.getProductoId())
         .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
 
@@ -49,7 +58,7 @@ public class PedidoItemServiceImpl implements PedidoItemService {
     PedidoItem savedItem = pedidoItemRepository.save(item);
 
     // --- MAGIA: Recalculamos el total del padre ---
-    recalcularTotalPedido(pedido.getPedidoId());
+    recalcularTotalPedido(pedido.getPedidoId(), producto.getProductoId());
     // ----------------------------------------------
 
     return mapToResponseDTO(savedItem);
@@ -60,12 +69,13 @@ public class PedidoItemServiceImpl implements PedidoItemService {
   public PedidoItemResponseDTO updateCantidad(Integer itemId, Integer nuevaCantidad) {
     PedidoItem item = pedidoItemRepository.findById(itemId)
         .orElseThrow(() -> new ResourceNotFoundException("Item no encontrado"));
+    verificarEditable(item.getPedido());
 
     item.setCantidad(nuevaCantidad);
     PedidoItem savedItem = pedidoItemRepository.save(item);
 
     // --- MAGIA: Recalculamos el total del padre ---
-    recalcularTotalPedido(item.getPedido().getPedidoId());
+    recalcularTotalPedido(item.getPedido().getPedidoId(), item.getProducto().getProductoId());
     // ----------------------------------------------
 
     return mapToResponseDTO(savedItem);
@@ -76,28 +86,43 @@ public class PedidoItemServiceImpl implements PedidoItemService {
   public void removeItem(Integer itemId) {
     PedidoItem item = pedidoItemRepository.findById(itemId)
         .orElseThrow(() -> new ResourceNotFoundException("Item no encontrado"));
+    verificarEditable(item.getPedido());
 
     Integer pedidoId = item.getPedido().getPedidoId();
+    Integer productoId = item.getProducto().getProductoId();
     pedidoItemRepository.deleteById(itemId);
 
     // --- MAGIA: Recalculamos el total del padre ---
-    recalcularTotalPedido(pedidoId);
+    recalcularTotalPedido(pedidoId, productoId);
     // ----------------------------------------------
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<PedidoItemResponseDTO> getItemsByPedido(Integer pedidoId) {
-    if (!pedidoRepository.existsById(pedidoId)) {
+    List<PedidoItem> items = pedidoItemRepository.findWithProductoByPedidoId(pedidoId);
+    // Solo una lista vacía puede deberse a un pedido inexistente
+    if (items.isEmpty() && !pedidoRepository.existsById(pedidoId)) {
       throw new ResourceNotFoundException("Pedido no encontrado");
     }
-    return pedidoItemRepository.findByPedido_PedidoId(pedidoId).stream()
-        .map(this::mapToResponseDTO)
+    return items.stream()
+        .map(PedidoItemServiceImpl::mapToResponseDTO)
         .collect(Collectors.toList());
   }
 
+  // Las líneas solo se editan mientras el pedido espera el pago: una vez pagado, el rollup de
+  // ventas ya lo sumó y una cancelación posterior debe restar exactamente lo mismo.
+  // Si el estado cambia en paralelo, el save del total falla por @Version y la edición se descarta
+  private static void verificarEditable(Pedido pedido) {
+    if (!EstadoPedido.PENDIENTE_PAGO.getValor().equals(pedido.getEstado())) {
+      throw new ConflictException("Las líneas del pedido " + pedido.getPedidoId()
+          + " no se pueden modificar en estado '" + pedido.getEstado() + "'");
+    }
+  }
+
   // --- MÉTODO PRIVADO PARA RECALCULAR ---
-  private void recalcularTotalPedido(Integer pedidoId) {
+  // También registra el cambio en el outbox (misma transacción) para los consumidores asíncronos
+  private void recalcularTotalPedido(Integer pedidoId, Integer productoId) {
     Pedido pedido = pedidoRepository.findById(pedidoId)
         .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
 
@@ -112,10 +137,13 @@ public class PedidoItemServiceImpl implements PedidoItemService {
 
     pedido.setTotal(nuevoTotal);
     pedidoRepository.save(pedido);
+    outboxPublisher.publish(pedidoId,
+        new PedidoItemsCambiadosEvent(pedidoId, productoId, nuevoTotal, LocalDateTime.now()));
   }
   // --------------------------------------
 
-  private PedidoItemResponseDTO mapToResponseDTO(PedidoItem item) {
+  // Package-private: PedidoServiceImpl lo reutiliza para el detalle del pedido
+  static PedidoItemResponseDTO mapToResponseDTO(PedidoItem item) {
     PedidoItemResponseDTO dto = new PedidoItemResponseDTO();
     dto.setPedidoItemId(item.getPedidoItemId());
     dto.setPedidoId(item.getPedido().getPedidoId());
@@ -1,28 +1,57 @@
 package com.ecoshop.service.impl;
 
+import com.ecoshop.dto.Pedido.PedidoDetalleResponseDTO;
+import com.ecoshop.dto.Pedido.PedidoPageResponseDTO;
 import com.ecoshop.dto.Pedido.PedidoRequestDTO;
 import com.ecoshop.dto.Pedido.PedidoResponseDTO;
+import com.ecoshop.dto.PedidoItem.PedidoItemResponseDTO;
+import com.ecoshop.domain.EstadoPedido;
 import com.ecoshop.domain.Pedido;
+import com.ecoshop.domain.PedidoItem;
 import com.ecoshop.domain.Usuario;
+import com.ecoshop.event.OutboxPublisher;
+import com.ecoshop.event.PedidoCreadoEvent;
+import com.ecoshop.event.PedidoEstadoCambiadoEvent;
+import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.exception.ConflictException;
+import com.ecoshop.exception.PreconditionFailedException;
 import com.ecoshop.exception.ResourceNotFoundException;
+import com.ecoshop.repository.PedidoItemRepository;
 import com.ecoshop.repository.PedidoRepository;
+import com.ecoshop.repository.PedidoSpecifications;
 import com.ecoshop.repository.UsuarioRepository;
 import com.ecoshop.service.PedidoService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class PedidoServiceImpl implements PedidoService {
 
+  // Orden del historial: más recientes primero; el ID desempata pedidos con la misma fecha
+  private static final Sort ORDEN_HISTORIAL = Sort.by(Sort.Direction.DESC, "fechaPedido", "pedidoId");
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final PedidoRepository pedidoRepository;
+  private final PedidoItemRepository pedidoItemRepository;
   private final UsuarioRepository usuarioRepository;
+  private final OutboxPublisher outboxPublisher;
 
-  public PedidoServiceImpl(PedidoRepository pedidoRepository, UsuarioRepository usuarioRepository) {
+  public PedidoServiceImpl(PedidoRepository pedidoRepository, PedidoItemRepository pedidoItemRepository,
+      UsuarioRepository usuarioRepository, OutboxPublisher outboxPublisher) {
     this.pedidoRepository = pedidoRepository;
+    this.pedidoItemRepository = pedidoItemRepository;
     this.usuarioRepository = usuarioRepository;
+    this.outboxPublisher = outboxPublisher;
   }
 
   @Override
@@ -35,60 +64,139 @@ public class PedidoServiceImpl implements PedidoService {
     pedido.setUsuario(usuario);
     pedido.setDireccionEnvio(dto.getDireccionEnvio());
     pedido.setTotal(java.math.BigDecimal.ZERO);
-    pedido.setEstado(dto.getEstado() != null ? dto.getEstado() : "pendiente_pago");
+    pedido.setEstado(dto.getEstado() != null
+        ? EstadoPedido.fromValor(dto.getEstado()).getValor()
+        : EstadoPedido.PENDIENTE_PAGO.getValor());
     pedido.setMetodoPago(dto.getMetodoPago());
     pedido.setIdTransaccionPago(dto.getIdTransaccionPago());
     pedido.setHuellaCarbonoTotalKg(
         dto.getHuellaCarbonoTotalKg() != null ? dto.getHuellaCarbonoTotalKg() : java.math.BigDecimal.ZERO);
 
     Pedido savedPedido = pedidoRepository.save(pedido);
+    // El evento se guarda en la misma transacción; analítica, puntos y notificaciones
+    // lo procesan después, sin sumar latencia al checkout
+    outboxPublisher.publish(savedPedido.getPedidoId(), new PedidoCreadoEvent(savedPedido.getPedidoId(),
+        usuario.getUsuarioId(), savedPedido.getEstado(), savedPedido.getHuellaCarbonoTotalKg(), LocalDateTime.now()));
     return mapToResponseDTO(savedPedido);
   }
 
   @Override
   @Transactional(readOnly = true)
   public PedidoResponseDTO getPedidoById(Integer id) {
-    Pedido pedido = pedidoRepository.findById(id)
+    Pedido pedido = pedidoRepository.findWithUsuarioById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
     return mapToResponseDTO(pedido);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<PedidoResponseDTO> getAllPedidos() {
-    return pedidoRepository.findAll().stream()
-        .map(this::mapToResponseDTO)
+  public PedidoDetalleResponseDTO getPedidoDetalle(Integer id) {
+    // Dos consultas fijas sin importar la cantidad de líneas: pedido + usuario, e ítems + productos
+    Pedido pedido = pedidoRepository.findWithUsuarioById(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+    List<PedidoItem> items = pedidoItemRepository.findWithProductoByPedidoId(id);
+
+    List<PedidoItemResponseDTO> lineas = items.stream()
+        .map(PedidoItemServiceImpl::mapToResponseDTO)
         .collect(Collectors.toList());
+    PedidoDetalleResponseDTO detalle = new PedidoDetalleResponseDTO();
+    detalle.setPedido(mapToResponseDTO(pedido));
+    detalle.setItems(lineas);
+    detalle.setCantidadUnidades(items.stream().mapToInt(PedidoItem::getCantidad).sum());
+    return detalle;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PedidoPageResponseDTO getPedidos(String estado, LocalDate desde, LocalDate hasta, String cursor, int size) {
+    if (desde != null && hasta != null && desde.isAfter(hasta)) {
+      throw new BadRequestException("La fecha 'desde' no puede ser posterior a 'hasta'");
+    }
+    // "hasta" es inclusivo: se toma hasta el inicio del día siguiente
+    Specification<Pedido> filtros = Specification.allOf(
+        estado != null ? PedidoSpecifications.conEstado(EstadoPedido.fromValor(estado).getValor()) : null,
+        PedidoSpecifications.entreFechas(
+            desde != null ? desde.atStartOfDay() : null,
+            hasta != null ? hasta.plusDays(1).atStartOfDay() : null));
+    return buscarPagina(filtros, cursor, size);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<PedidoResponseDTO> getPedidosByUsuario(Integer usuarioId) {
+  public PedidoPageResponseDTO getPedidosByUsuario(Integer usuarioId, String cursor, int size) {
     if (!usuarioRepository.existsById(usuarioId)) {
       throw new ResourceNotFoundException("Usuario no encontrado");
     }
-    return pedidoRepository.findByUsuario_UsuarioId(usuarioId).stream()
+    return buscarPagina(PedidoSpecifications.delUsuario(usuarioId), cursor, size);
+  }
+
+  // Paginación keyset: en lugar de OFFSET (que recorre y descarta todas las filas anteriores),
+  // cada página continúa desde el último pedido de la anterior usando el índice. El costo es
+  // el mismo para la primera página que para la número 10.000
+  private PedidoPageResponseDTO buscarPagina(Specification<Pedido> filtros, String cursor, int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+    }
+    Specification<Pedido> spec = Specification.allOf(PedidoSpecifications.fetchUsuario(), filtros);
+    if (cursor != null && !cursor.isBlank()) {
+      Cursor posicion = Cursor.decode(cursor);
+      spec = spec.and(PedidoSpecifications.despuesDe(posicion.fechaPedido(), posicion.pedidoId()));
+    }
+
+    // Se pide un pedido de más para saber si hay otra página sin ejecutar un COUNT
+    List<Pedido> pedidos = pedidoRepository.findBy(spec,
+        query -> query.sortBy(ORDEN_HISTORIAL).limit(size + 1).all());
+    boolean hayMas = pedidos.size() > size;
+    if (hayMas) {
+      pedidos = pedidos.subList(0, size);
+    }
+
+    List<PedidoResponseDTO> items = pedidos.stream()
         .map(this::mapToResponseDTO)
         .collect(Collectors.toList());
+    Pedido ultimo = pedidos.isEmpty() ? null : pedidos.get(pedidos.size() - 1);
+    return new PedidoPageResponseDTO(items,
+        hayMas ? new Cursor(ultimo.getFechaPedido(), ultimo.getPedidoId()).encode() : null);
   }
 
   @Override
   @Transactional
-  public PedidoResponseDTO updateEstadoPedido(Integer id, String nuevoEstado) {
+  public PedidoResponseDTO updateEstadoPedido(Integer id, String nuevoEstado, Long expectedVersion) {
+    EstadoPedido destino = EstadoPedido.fromValor(nuevoEstado);
     Pedido pedido = pedidoRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+    PreconditionFailedException.checkVersion(expectedVersion, pedido.getVersion());
+
+    EstadoPedido actual = EstadoPedido.fromValor(pedido.getEstado());
+    if (!actual.puedePasarA(destino)) {
+      throw new ConflictException(String.format("El pedido %d está '%s' y no puede pasar a '%s'",
+          id, actual.getValor(), destino.getValor()));
+    }
+
+    // UPDATE ... WHERE estado = actual AND version = leída: si otra petición modificó el pedido entre
+    // la lectura y este UPDATE, no se afectan filas y esta petición pierde (409) en vez de transicionar
+    // dos veces o pisar un cambio que no vio (el If-Match ya se comparó con la versión leída)
+    if (pedidoRepository.updateEstadoIfCurrent(
+        id, actual.getValor(), pedido.getVersion(), destino.getValor()) == 0) {
+      throw new ConflictException(String.format(
+          "El pedido %d cambió de estado mientras se procesaba la petición", id));
+    }
 
-    // NOTE: Analizar la posiblidad de validar el estado
-    return mapToResponseDTO(pedidoRepository.save(pedido));
+    // El UPDATE limpió el contexto de persistencia: se relee el pedido ya actualizado
+    Pedido actualizado = pedidoRepository.findById(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+    outboxPublisher.publish(id, new PedidoEstadoCambiadoEvent(id, actualizado.getUsuario().getUsuarioId(),
+        actual, destino, actualizado.getTotal(), actualizado.getHuellaCarbonoTotalKg(), LocalDateTime.now()));
+    return mapToResponseDTO(actualizado);
   }
 
   @Override
   @Transactional
   public void deletePedido(Integer id) {
-    if (!pedidoRepository.existsById(id)) {
+    // Un solo DELETE: si no afectó filas, el pedido no existía
+    if (pedidoRepository.deletePedidoById(id) == 0) {
       throw new ResourceNotFoundException("Pedido no encontrado");
     }
-    pedidoRepository.deleteById(id);
   }
 
   private PedidoResponseDTO mapToResponseDTO(Pedido p) {
@@ -103,6 +211,28 @@ public class PedidoServiceImpl implements PedidoService {
     dto.setMetodoPago(p.getMetodoPago());
     dto.setIdTransaccionPago(p.getIdTransaccionPago());
     dto.setHuellaCarbonoTotalKg(p.getHuellaCarbonoTotalKg());
+    dto.setVersion(p.getVersion());
     return dto;
   }
+
+  // Posición del último pedido de una página. Para el cliente es opaca:
+  // "fechaPedido|pedidoId" en Base64 URL-safe
+  private record Cursor(LocalDateTime fechaPedido, Integer pedidoId) {
+
+    String encode() {
+      String valor = fechaPedido + "|" + pedidoId;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+      try {
+        String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separador = valor.lastIndexOf('|');
+        return new Cursor(LocalDateTime.parse(valor.substring(0, separador)),
+            Integer.valueOf(valor.substring(separador + 1)));
+      } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+        throw new BadRequestException("Cursor de paginación inválido");
+      }
+    }
+  }
 }
@@ -0,0 +1,242 @@
+package com.ecoshop.service.impl;
+
+import com.ecoshop.config.CacheConfig;
+import com.ecoshop.config.ImportProperties;
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.dto.ProductImportResult;
+import com.ecoshop.importer.ProductImportRow;
+import com.ecoshop.importer.ProductRowReader;
+import com.ecoshop.mapper.ProductMapper;
+import com.ecoshop.repository.CertificationRepository;
+import com.ecoshop.repository.ProductBatchRepository;
+import com.ecoshop.service.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de importación masiva de productos.
+ *
+ * Pipeline:
+ * 1. Las certificaciones se cargan una sola vez en un Map (código → ID), así que
+ *    resolver los códigos de cada fila no consulta la BD
+ * 2. Las filas se leen de a una desde el cuerpo de la petición (streaming, memoria constante)
+ * 3. Cada fila se valida con las mismas reglas que POST /api/v1/products
+ *    (anotaciones de ProductDto + existencia de las certificaciones)
+ * 4. Las filas válidas se acumulan en lotes de ecoshop.import.batch-size y cada lote se
+ *    inserta con JDBC batch (ProductBatchRepository) en su propia transacción
+ * 5. Si un lote falla en la BD, se reintenta fila por fila para reportar solo las filas
+ *    culpables y guardar el resto
+ *
+ * A diferencia de ProductServiceImpl, la clase no es @Transactional: una transacción
+ * por lote mantiene acotados los locks y el log de la BD, y un error en el lote N
+ * no deshace los lotes anteriores.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final ProductBatchRepository productBatchRepository;
+
+    private final CertificationRepository certificationRepository;
+
+    private final ProductMapper productMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ImportProperties importProperties;
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    public ProductImportResult importProducts(ProductRowReader rows) throws IOException {
+        Map<String, Long> certificationIds = loadCertificationIds();
+        ImportReport report = new ImportReport(importProperties.getMaxReportedErrors());
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        List<PendingProduct> batch = new ArrayList<>(batchSize);
+
+        ProductImportRow row;
+        while ((row = rows.next()) != null) {
+            report.received++;
+            PendingProduct pending = prepare(row, certificationIds, report);
+            if (pending == null) {
+                continue;
+            }
+
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                insertBatch(batch, report);
+                batch.clear();
+            }
+        }
+        insertBatch(batch, report);
+
+        log.info("Importación de productos: {} filas, {} importadas, {} con errores",
+                report.received, report.imported, report.failed);
+        return report.toResult();
+    }
+
+    /**
+     * Valida la fila y la convierte a entidad.
+     *
+     * @return El producto listo para insertar, o null si la fila tiene errores (ya reportados)
+     */
+    private PendingProduct prepare(ProductImportRow row, Map<String, Long> certificationIds, ImportReport report) {
+        if (row.isFailed()) {
+            report.addError(row.getLine(), row.getError());
+            return null;
+        }
+
+        ProductDto dto = row.getProduct();
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            report.addError(row.getLine(), message);
+            return null;
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        List<String> codigosNoEncontrados = new ArrayList<>();
+        if (dto.getCertificaciones() != null) {
+            for (String code : dto.getCertificaciones()) {
+                if (code == null || code.isBlank()) {
+                    continue;
+                }
+                Long id = certificationIds.get(normalizeCode(code));
+                if (id != null) {
+                    ids.add(id);
+                } else {
+                    codigosNoEncontrados.add(code);
+                }
+            }
+        }
+        if (!codigosNoEncontrados.isEmpty()) {
+            // Mismos mensajes que ProductServiceImpl para que la API sea consistente
+            report.addError(row.getLine(), codigosNoEncontrados.size() == 1
+                    ? String.format("Certificación con código '%s' no encontrada", codigosNoEncontrados.get(0))
+                    : String.format("Certificaciones con códigos %s no encontradas", codigosNoEncontrados));
+            return null;
+        }
+
+        return new PendingProduct(row.getLine(), productMapper.toEntity(dto), ids);
+    }
+
+    /**
+     * Inserta un lote completo en una transacción. Si falla, reintenta fila por fila
+     * para aislar las filas que la BD rechaza.
+     */
+    private void insertBatch(List<PendingProduct> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            report.imported += batch.size();
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                report.addError(batch.get(0).line(), "No se pudo guardar el producto: "
+                        + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            log.warn("Falló la inserción de un lote de {} productos, se reintenta fila por fila: {}",
+                    batch.size(), e.getMostSpecificCause().getMessage());
+            for (PendingProduct pending : batch) {
+                insertBatch(List.of(pending), report);
+            }
+        }
+    }
+
+    private void insert(List<PendingProduct> batch) {
+        List<Product> products = new ArrayList<>(batch.size());
+        for (PendingProduct pending : batch) {
+            products.add(pending.product());
+        }
+
+        List<Long> ids = productBatchRepository.insertProducts(products);
+
+        Map<Long, Set<Long>> certificationIdsByProduct = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Set<Long> certificationIds = batch.get(i).certificationIds();
+            if (!certificationIds.isEmpty()) {
+                certificationIdsByProduct.put(ids.get(i), certificationIds);
+            }
+        }
+        productBatchRepository.insertProductCertifications(certificationIdsByProduct);
+    }
+
+    private Map<String, Long> loadCertificationIds() {
+        Map<String, Long> ids = new HashMap<>();
+        for (CertificationRepository.CertificationCode certification : certificationRepository.findAllCodes()) {
+            ids.put(normalizeCode(certification.getCode()), certification.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Normaliza el código igual que findByCodeIgnoreCase (UPPER(TRIM(code))).
+     */
+    private static String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Producto validado, pendiente de inserción.
+     */
+    private record PendingProduct(long line, Product product, Set<Long> certificationIds) {
+    }
+
+    /**
+     * Acumula los contadores y los errores (hasta maxReportedErrors) de la importación.
+     */
+    private static final class ImportReport {
+
+        private final int maxReportedErrors;
+        private final List<ProductImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void addError(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResult.RowError(line, message));
+            }
+        }
+
+        ProductImportResult toResult() {
+            return ProductImportResult.builder()
+                    .received(received)
+                    .imported(imported)
+                    .failed(failed)
+                    .errorsTruncated(failed > errors.size())
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
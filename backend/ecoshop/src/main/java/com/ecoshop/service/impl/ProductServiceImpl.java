@@ -1,26 +1,35 @@
 package com.ecoshop.service.impl;
 
+import com.ecoshop.config.CacheConfig;
 import com.ecoshop.domain.Certification;
 import com.ecoshop.domain.Product;
 import com.ecoshop.dto.ProductDto;
 import com.ecoshop.dto.ProductResponse;
 import com.ecoshop.exception.BadRequestException;
+import com.ecoshop.exception.PreconditionFailedException;
 import com.ecoshop.mapper.ProductMapper;
+import com.ecoshop.replica.ReadWriteRoutingDataSource;
 import com.ecoshop.repository.CertificationRepository;
 import com.ecoshop.repository.ProductRepository;
 import com.ecoshop.service.ProductService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de productos.
@@ -52,9 +61,13 @@ public class ProductServiceImpl implements ProductService {
     // Mapper para convertir entre entidades y DTOs
     private final ProductMapper productMapper;
     
-    // EntityManager para operaciones avanzadas de JPA (refresh, flush, etc.)
+    // EntityManager para operaciones avanzadas de JPA (clear del contexto en la exportación)
     private final EntityManager entityManager;
 
+    // Productos por lote en la exportación: se cargan sus certificaciones juntas
+    // y después se limpia el contexto de persistencia para mantener la memoria constante
+    private static final int EXPORT_CHUNK_SIZE = ProductRepository.STREAM_FETCH_SIZE;
+
     /**
      * Obtiene todos los productos de la base de datos.
      * 
@@ -65,19 +78,82 @@ public class ProductServiceImpl implements ProductService {
      * 
      * @Transactional(readOnly = true): Optimiza la consulta indicando que es solo lectura
      * y evita que se abra una transacción de escritura innecesaria.
+     *
+     * @Cacheable: El resultado se guarda en la caché "products" y se reutiliza hasta
+     * que una escritura (save/update/delete) la invalida. Como no expira, se carga del
+     * primario aunque haya réplica: un listado atrasado quedaría cacheado.
      */
     @Override
+    @Cacheable(CacheConfig.PRODUCTS)
     @Transactional(readOnly = true) // Solo lectura, no necesita transacción de escritura
     public List<ProductResponse> findAll() {
         // Obtenemos todos los productos de la BD
         // Con FetchType.EAGER, las certificaciones se cargan automáticamente
-        List<Product> products = productRepository.findAll();
+        List<Product> products = ReadWriteRoutingDataSource.readFromPrimary(productRepository::findAll);
         
         // Convertimos cada entidad a ProductResponse usando el mapper
         // El mapper maneja la conversión de certificaciones a nombres
         return products.stream()
                 .map(productMapper::toResponse) // Convierte cada Product a ProductResponse
-                .collect(Collectors.toList()); // Recopila los resultados en una lista
+                .toList(); // Lista inmutable: la caché la comparte entre requests
+    }
+
+    /**
+     * Exporta todo el catálogo recorriéndolo con un cursor de solo avance.
+     * 
+     * Proceso:
+     * 1. Abre un Stream<Product> con fetch size (el driver trae las filas de a lotes)
+     * 2. Acumula un lote de productos y carga los nombres de sus certificaciones en una consulta
+     * 3. Convierte cada producto a ProductResponse y lo entrega al consumidor
+     * 4. Limpia el contexto de persistencia (entityManager.clear()) para liberar las entidades del lote
+     * 
+     * Así la memoria usada depende del tamaño del lote, no del tamaño del catálogo.
+     * 
+     * @Transactional(readOnly = true): Necesario para mantener el cursor abierto mientras se recorre
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<ProductResponse> consumer) {
+        long exported = 0;
+        List<Product> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+        try (Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exported += exportChunk(chunk, consumer);
+                }
+            }
+            exported += exportChunk(chunk, consumer);
+        }
+        return exported;
+    }
+
+    /**
+     * Entrega un lote de productos al consumidor y libera sus entidades.
+     */
+    private int exportChunk(List<Product> chunk, Consumer<ProductResponse> consumer) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // Una sola consulta para las certificaciones de todo el lote (evita N+1)
+        List<Long> ids = chunk.stream().map(Product::getId).toList();
+        Map<Long, List<String>> certificacionesPorProducto = new HashMap<>();
+        for (ProductRepository.ProductCertificationName row : productRepository.findCertificationNames(ids)) {
+            certificacionesPorProducto.computeIfAbsent(row.getProductId(), id -> new ArrayList<>()).add(row.getName());
+        }
+
+        for (Product product : chunk) {
+            consumer.accept(productMapper.toResponse(product, certificacionesPorProducto.getOrDefault(product.getId(), List.of())));
+        }
+
+        int size = chunk.size();
+        chunk.clear();
+        // Desacopla las entidades del lote para que el GC pueda liberarlas
+        entityManager.clear();
+        return size;
     }
 
     /**
@@ -111,11 +187,17 @@ public class ProductServiceImpl implements ProductService {
      * 4. Convierte la entidad guardada de vuelta a DTO (para incluir el ID generado)
      * 5. Retorna el DTO con el ID asignado
      * 
+     * La respuesta se arma desde la misma entidad gestionada: ya tiene el ID (con IDENTITY el
+     * INSERT se ejecuta en save()) y las certificaciones que acabamos de asignar, así que no
+     * hace falta flush ni volver a leer el producto. Las filas de producto_certificaciones
+     * se insertan al hacer commit.
+     * 
      * @param productDto Datos del producto a guardar
      * @return ProductDto con el ID asignado por la BD
      * @throws BadRequestException si algún código de certificación no existe
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
     public ProductDto save(ProductDto productDto) {
         // Convierte DTO a entidad para guardar en BD (sin certificaciones)
         Product product = productMapper.toEntity(productDto);
@@ -127,16 +209,8 @@ public class ProductServiceImpl implements ProductService {
         // Guarda en BD (JPA asigna el ID automáticamente)
         Product savedProduct = productRepository.save(product);
         
-        // Forzamos el flush para asegurar que los cambios se persistan en la BD
-        entityManager.flush();
-        
-        // Recargamos el producto desde la BD para asegurar que las certificaciones se carguen
-        // Esto es necesario porque después de save(), las relaciones pueden no estar completamente cargadas
-        Product refreshedProduct = productRepository.findById(savedProduct.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Error al recargar el producto guardado con id: " + savedProduct.getId()));
-        
         // Convierte de vuelta a DTO para retornar al controlador
-        return productMapper.toDto(refreshedProduct);
+        return productMapper.toDto(savedProduct);
     }
 
     /**
@@ -150,14 +224,21 @@ public class ProductServiceImpl implements ProductService {
      * 5. Guarda los cambios en la BD
      * 6. Retorna el producto actualizado como DTO
      * 
+     * La entidad está gestionada por JPA: el dirty checking genera el UPDATE (y los cambios
+     * en producto_certificaciones) sin save(), y la respuesta se arma desde la entidad en
+     * memoria sin volver a consultar la BD. El UPDATE incluye "WHERE version = ?" (@Version):
+     * si otra transacción modificó el producto mientras tanto, falla con 409 Conflict.
+     * 
      * @param id ID del producto a actualizar
      * @param productDto Nuevos datos del producto
+     * @param expectedVersion Versión enviada en If-Match (null si no se verifica)
      * @return ProductDto actualizado
      * @throws EntityNotFoundException si el producto no existe
      * @throws BadRequestException si algún código de certificación no existe
      */
     @Override
-    public ProductDto update(Long id, ProductDto productDto) {
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    public ProductDto update(Long id, ProductDto productDto, Long expectedVersion) {
         // IMPORTANTE: El parámetro 'id' viene del path variable (@PathVariable) de la URL
         // Ignoramos completamente el campo 'id' del productDto (si existe) y usamos solo el path variable
         
@@ -165,6 +246,9 @@ public class ProductServiceImpl implements ProductService {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Producto no encontrado con id: " + id));
 
+        // Si el cliente envió If-Match, debe coincidir con la versión actual (si no, 412)
+        PreconditionFailedException.checkVersion(expectedVersion, existingProduct.getVersion());
+
         // Preservamos la fecha de creación original antes de actualizar
         // Esto es importante porque fechaCreacion no debe cambiar al actualizar un producto
         java.time.LocalDateTime fechaCreacionOriginal = existingProduct.getFechaCreacion();
@@ -194,84 +278,42 @@ public class ProductServiceImpl implements ProductService {
             existingProduct.getCertificaciones().addAll(nuevasCertificaciones);
         }
         
-        // Guardamos los cambios (JPA detecta automáticamente los cambios en la entidad gestionada)
-        Product updatedProduct = productRepository.save(existingProduct);
-        
-        // Forzamos el flush para asegurar que los cambios se persistan en la BD
-        entityManager.flush();
-        
-        // Extraemos los códigos de las certificaciones ANTES de pasar al mapper
-        // Esto evita que el mapper acceda a product.getCertificaciones() que puede
-        // disparar la carga de la relación bidireccional y causar StackOverflowError
+        // La entidad está gestionada: saveAndFlush no hace merge ni SELECT, solo adelanta el UPDATE
+        // del dirty checking para que @Version ya esté incrementada y la respuesta (y su ETag) lleve
+        // la versión nueva. Se usa el repositorio y no entityManager.flush() porque su proxy traduce
+        // el OptimisticLockException de una escritura concurrente (entre el If-Match y el UPDATE)
+        // a OptimisticLockingFailureException, que GlobalExceptionHandler responde con 409
+        productRepository.saveAndFlush(existingProduct);
+
+        // Las certificaciones ya están cargadas (findById usa @EntityGraph y las nuevas vienen de la consulta
+        // anterior), así que el mapper las lee de memoria; Certification excluye "productos" de equals/hashCode/toString,
+        // por lo que no se recorre la relación bidireccional
         // IMPORTANTE: ProductDto espera códigos (no nombres) porque se usa en POST/PUT
-        List<String> codigosCertificaciones = nuevasCertificaciones.stream()
-                .map(Certification::getCode)
-                .filter(code -> code != null && !code.trim().isEmpty())
-                .collect(Collectors.toList());
-        
-        // Creamos el DTO usando el mapper pero evitando que acceda a las certificaciones
-        // Construimos el DTO manualmente con los datos del producto actualizado
-        ProductDto.ImpactoAmbientalDto impactoDto = null;
-        if (updatedProduct.getImpactoAmbiental() != null) {
-            String huellaCarbonoStr = null;
-            if (updatedProduct.getImpactoAmbiental().getHuellaCarbonoKg() != null) {
-                huellaCarbonoStr = String.format("%.1f kg CO₂", updatedProduct.getImpactoAmbiental().getHuellaCarbonoKg());
-            }
-            impactoDto = ProductDto.ImpactoAmbientalDto.builder()
-                    .huellaCarbono(huellaCarbonoStr)
-                    .materialesReciclables(updatedProduct.getImpactoAmbiental().getMaterialesReciclables())
-                    .nivel(updatedProduct.getImpactoAmbiental().getNivel())
-                    .build();
-        }
-        
-        // Construimos el DTO sin acceder a las certificaciones de la entidad
-        return ProductDto.builder()
-                .id(updatedProduct.getId())
-                .nombre(updatedProduct.getNombre())
-                .marca(updatedProduct.getMarca())
-                .precio(updatedProduct.getPrecio())
-                .impactoAmbiental(impactoDto)
-                .imagen(updatedProduct.getImagen())
-                .certificaciones(codigosCertificaciones) // Usamos los códigos que ya extrajimos (ProductDto espera códigos)
-                .fechaCreacion(updatedProduct.getFechaCreacion())
-                .build();
+        return productMapper.toDto(existingProduct);
     }
 
     /**
      * Elimina un producto de la base de datos.
      * 
      * Proceso:
-     * 1. Verifica que el producto exista
-     * 2. Si existe, lo elimina de la BD
-     * 3. Si no existe, lanza una excepción
+     * 1. Elimina el producto con un DELETE directo que devuelve la cantidad de filas afectadas;
+     *    Hibernate borra antes sus filas de la tabla intermedia producto_certificaciones
+     * 2. Si no se eliminó ninguna fila, el producto no existía: lanza una excepción
      * 
-     * Nota: Verificamos existencia antes de eliminar para dar un mensaje de error
-     * más claro. También podríamos dejar que JPA lance la excepción, pero este
-     * enfoque nos da más control sobre el mensaje de error.
+     * Son dos sentencias SQL en total. Antes eran existsById, el DELETE de la tabla intermedia,
+     * deleteById (que primero hace un SELECT para cargar la entidad) y dos flush.
      * 
      * @param id Identificador del producto a eliminar
      * @throws EntityNotFoundException si el producto no existe
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
     public void deleteById(Long id) {
-        // Verificamos que el producto exista
-        if (!productRepository.existsById(id)) {
+        // Eliminamos el producto sin cargarlo (el DELETE masivo de Hibernate también borra las filas de
+        // producto_certificaciones); 0 filas afectadas significa que no existía
+        if (productRepository.deleteProductById(id) == 0) {
             throw new EntityNotFoundException("Producto no encontrado con id: " + id);
         }
-        
-        // Eliminamos directamente las relaciones de la tabla intermedia usando una consulta nativa
-        // Esto es más eficiente y evita problemas con foreign key constraints
-        productRepository.deleteProductCertifications(id);
-        
-        // Forzamos el flush para asegurar que las relaciones se eliminen antes de eliminar el producto
-        entityManager.flush();
-        
-        // Ahora eliminamos el producto de forma segura
-        // Las relaciones ya fueron eliminadas en el paso anterior
-        productRepository.deleteById(id);
-        
-        // Forzamos el flush final para asegurar que la eliminación se persista
-        entityManager.flush();
     }
 
     /**
@@ -279,7 +321,7 @@ public class ProductServiceImpl implements ProductService {
      * 
      * Este método privado encapsula la lógica de carga de certificaciones:
      * 1. Si la lista de códigos es null o vacía, retorna un Set vacío
-     * 2. Para cada código, busca la certificación correspondiente
+     * 2. Busca todas las certificaciones de los códigos en una sola consulta (IN)
      * 3. Si algún código no existe, lanza una excepción BadRequestException
      * 4. Retorna un Set con todas las certificaciones encontradas
      * 
@@ -293,35 +335,30 @@ public class ProductServiceImpl implements ProductService {
             return new HashSet<>();
         }
 
-        // Creamos un Set para almacenar las certificaciones encontradas
-        Set<Certification> certificaciones = new HashSet<>();
-        
-        // Lista para almacenar los códigos que no se encontraron
-        List<String> codigosNoEncontrados = new ArrayList<>();
-
-        // Iteramos sobre cada código y buscamos la certificación correspondiente
+        // Normalizamos los códigos: trim para eliminar espacios en blanco y convertimos a mayúsculas
+        // Esto asegura consistencia con cómo se comparan los códigos en la BD (UPPER(TRIM(code)))
+        Map<String, String> codigosOriginales = new LinkedHashMap<>();
         for (String code : certificacionCodes) {
             // Validamos que el código no sea null ni vacío
             if (code == null || code.trim().isEmpty()) {
                 continue; // Saltamos códigos vacíos o null
             }
+            codigosOriginales.putIfAbsent(code.trim().toUpperCase(), code);
+        }
+        if (codigosOriginales.isEmpty()) {
+            return new HashSet<>();
+        }
 
-            // Normalizamos el código: trim para eliminar espacios en blanco y convertimos a mayúsculas
-            // Esto asegura consistencia con cómo se almacenan los códigos en la BD
-            String normalizedCode = code.trim().toUpperCase();
-            
-            // Buscamos la certificación por código usando búsqueda case-insensitive
-            // Esto asegura que encontremos la certificación sin importar el formato del código
-            Optional<Certification> certificationOpt = certificationRepository.findByCodeIgnoreCase(normalizedCode);
-            
-            if (certificationOpt.isPresent()) {
-                // Si existe, la agregamos al Set
-                certificaciones.add(certificationOpt.get());
-            } else {
-                // Si no existe, la agregamos a la lista de códigos no encontrados
-                codigosNoEncontrados.add(code);
-            }
+        // Buscamos todas las certificaciones en una sola consulta en lugar de una por código
+        Set<Certification> certificaciones = new HashSet<>(
+                certificationRepository.findByCodesIgnoreCase(codigosOriginales.keySet()));
+
+        // Los códigos que no aparecen en el resultado no existen en la BD
+        Map<String, String> codigosFaltantes = new LinkedHashMap<>(codigosOriginales);
+        for (Certification certification : certificaciones) {
+            codigosFaltantes.remove(certification.getCode().trim().toUpperCase());
         }
+        List<String> codigosNoEncontrados = new ArrayList<>(codigosFaltantes.values());
 
         // Si hay códigos que no se encontraron, lanzamos una excepción
         if (!codigosNoEncontrados.isEmpty()) {
@@ -4,8 +4,10 @@ import com.ecoshop.dto.Producto.ProductoRequestDTO;
 import com.ecoshop.dto.Producto.ProductoResponseDTO;
 import com.ecoshop.domain.Marca;
 import com.ecoshop.domain.Producto;
+import com.ecoshop.exception.PreconditionFailedException;
 import com.ecoshop.exception.ResourceNotFoundException;
 import com.ecoshop.repository.MarcaRepository;
+import com.ecoshop.repository.ProductoCampo;
 import com.ecoshop.repository.ProductoRepository;
 import com.ecoshop.service.ProductoService;
 import org.springframework.stereotype.Service;
@@ -62,7 +64,10 @@ public class ProductoServiceImpl implements ProductoService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductoResponseDTO> getAllProductos() {
+    public List<ProductoResponseDTO> getAllProductos(String fields) {
+        if (fields != null && !fields.isBlank()) {
+            return productoRepository.findProyectados(ProductoCampo.parse(fields), null);
+        }
         return productoRepository.findAll().stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
@@ -70,7 +75,10 @@ public class ProductoServiceImpl implements ProductoService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductoResponseDTO> getProductosByMarca(Integer marcaId) {
+    public List<ProductoResponseDTO> getProductosByMarca(Integer marcaId, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            return productoRepository.findProyectados(ProductoCampo.parse(fields), marcaId);
+        }
         return productoRepository.findByMarca_MarcaId(marcaId).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
@@ -78,9 +86,10 @@ public class ProductoServiceImpl implements ProductoService {
 
     @Override
     @Transactional
-    public ProductoResponseDTO updateProducto(Integer id, ProductoRequestDTO dto) {
+    public ProductoResponseDTO updateProducto(Integer id, ProductoRequestDTO dto, Long expectedVersion) {
         Producto producto = productoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
+        PreconditionFailedException.checkVersion(expectedVersion, producto.getVersion());
 
         // Actualizar campos
         producto.setNombre(dto.getNombre());
@@ -96,16 +105,17 @@ public class ProductoServiceImpl implements ProductoService {
         
         // El SKU usualmente no se edita, o se valida duplicado antes
 
-        return mapToResponseDTO(productoRepository.save(producto));
+        // saveAndFlush: el UPDATE se ejecuta ahora y la respuesta lleva la versión nueva
+        return mapToResponseDTO(productoRepository.saveAndFlush(producto));
     }
 
     @Override
     @Transactional
     public void deleteProducto(Integer id) {
-        if (!productoRepository.existsById(id)) {
+        // Un solo DELETE: si no afectó filas, el producto no existía
+        if (productoRepository.deleteProductoById(id) == 0) {
             throw new ResourceNotFoundException("Producto no encontrado");
         }
-        productoRepository.deleteById(id);
     }
 
     private ProductoResponseDTO mapToResponseDTO(Producto p) {
@@ -126,6 +136,7 @@ public class ProductoServiceImpl implements ProductoService {
         dto.setImagenUrl(p.getImagenUrl());
         dto.setActivo(p.getActivo());
         dto.setFechaCreacion(p.getFechaCreacion());
+        dto.setVersion(p.getVersion());
         return dto;
     }
 }
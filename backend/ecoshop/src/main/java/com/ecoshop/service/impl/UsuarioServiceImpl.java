@@ -83,10 +83,10 @@ public class UsuarioServiceImpl implements UsuarioService {
   @Override
   @Transactional
   public void deleteUsuario(Integer id) {
-    if (!usuarioRepository.existsById(id)) {
+    // Un solo DELETE: si no afectó filas, el usuario no existía
+    if (usuarioRepository.deleteUsuarioById(id) == 0) {
       throw new ResourceNotFoundException("Usuario no encontrado con id: " + id);
     }
-    usuarioRepository.deleteById(id);
   }
 
   // Método manual para convertir Entidad -> DTO
@@ -0,0 +1,144 @@
+package com.ecoshop.stats;
+
+import com.ecoshop.event.VentaContabilizadaEvent;
+import com.ecoshop.repository.ImpactStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantiene en memoria las estadísticas de impacto que muestra la landing
+ * (StatsSection, ImpactStatistics, SustainabilityMetrics).
+ *
+ * Tres caminos, ninguno bloquea a los otros:
+ * - Lectura (cada visitante): current() devuelve la foto inmutable vigente de un AtomicReference.
+ *   No toca la BD ni toma locks
+ * - Eventos: cada venta sumada o restada del rollup (VentaContabilizadaEvent, después del commit)
+ *   se acumula en LongAdders, que no compiten entre hilos como un contador atómico único
+ * - Tareas programadas: publish() arma una foto nueva con la base más los acumuladores y la
+ *   reemplaza de un solo golpe; refresh() vuelve a leer la base de la BD y pone los acumuladores
+ *   en cero, lo que corrige cualquier desvío (por ejemplo eventos recibidos por otra instancia)
+ *
+ * Los acumuladores se vacían justo antes de consultar la BD, así que ninguna venta se pierde:
+ * si su commit es posterior a la consulta, su evento llega después del vaciado y se suma.
+ * Lo que puede pasar es lo contrario: una venta confirmada antes de la consulta cuyo evento
+ * llega después del vaciado (el listener corre después del commit) queda en la base y en los
+ * acumuladores, y se cuenta dos veces hasta el siguiente refresh. La ventana es la de un commit,
+ * así que el desvío es de unas pocas ventas y se corrige solo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImpactStatsCollector {
+
+    private final ImpactStatsRepository impactStatsRepository;
+
+    private final AtomicReference<ImpactStatsSnapshot> snapshot = new AtomicReference<>(ImpactStatsSnapshot.VACIA);
+
+    // Ventas recibidas por eventos desde el último refresh (el CO₂ en gramos, para sumar enteros)
+    private final LongAdder compras = new LongAdder();
+    private final LongAdder comprasMes = new LongAdder();
+    private final LongAdder unidades = new LongAdder();
+    private final LongAdder co2Gramos = new LongAdder();
+
+    // Totales leídos de la BD en el último refresh; null hasta que termina el primero
+    private volatile Base base;
+
+    /**
+     * Foto vigente de las estadísticas.
+     */
+    public ImpactStatsSnapshot current() {
+        return snapshot.get();
+    }
+
+    @TransactionalEventListener
+    public void onVentaContabilizada(VentaContabilizadaEvent event) {
+        int signo = event.signo();
+        compras.add(signo);
+        unidades.add(signo * event.unidades());
+        co2Gramos.add(signo * gramos(event.co2Kg()));
+        Base actual = base;
+        if (actual != null && actual.mes().equals(YearMonth.from(event.fecha()))) {
+            comprasMes.add(signo);
+        }
+    }
+
+    /**
+     * Recalcula la base desde la BD y publica una foto nueva. Corre al arrancar y luego
+     * cada ecoshop.impact-stats.refresh-interval.
+     */
+    @Scheduled(fixedDelayString = "${ecoshop.impact-stats.refresh-interval:10m}")
+    public synchronized void refresh() {
+        YearMonth mes = YearMonth.now();
+        // Se vacían antes de la consulta: lo que llegue desde ahora se suma a la base nueva
+        long comprasPrevias = compras.sumThenReset();
+        long comprasMesPrevias = comprasMes.sumThenReset();
+        long unidadesPrevias = unidades.sumThenReset();
+        long co2GramosPrevios = co2Gramos.sumThenReset();
+        try {
+            ImpactStatsRepository.Ventas ventas = impactStatsRepository.ventas(mes.atDay(1));
+            ImpactStatsRepository.Catalogo catalogo = impactStatsRepository.catalogo();
+            base = new Base(mes, ventas, catalogo);
+        } catch (DataAccessException e) {
+            // Se sigue sirviendo la foto anterior; se devuelve lo vaciado para no perderlo
+            compras.add(comprasPrevias);
+            comprasMes.add(comprasMesPrevias);
+            unidades.add(unidadesPrevias);
+            co2Gramos.add(co2GramosPrevios);
+            log.warn("No se pudieron recalcular las estadísticas de impacto: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+        publish();
+    }
+
+    /**
+     * Publica una foto con la base más las ventas recibidas desde el último refresh.
+     */
+    @Scheduled(fixedDelayString = "${ecoshop.impact-stats.publish-interval:5s}")
+    public synchronized void publish() {
+        Base actual = base;
+        if (actual == null) {
+            return;
+        }
+        if (!actual.mes().equals(YearMonth.now())) {
+            // Cambió el mes: las compras del mes hay que contarlas de nuevo desde la BD
+            refresh();
+            return;
+        }
+
+        ImpactStatsRepository.Ventas ventas = actual.ventas();
+        ImpactStatsRepository.Catalogo catalogo = actual.catalogo();
+        long co2 = gramos(ventas.co2Kg()) + co2Gramos.sum();
+        snapshot.set(new ImpactStatsSnapshot(
+                ventas.compras() + compras.sum(),
+                ventas.comprasMes() + comprasMes.sum(),
+                ventas.unidades() + unidades.sum(),
+                co2 / 1000.0,
+                catalogo.productos(),
+                catalogo.bajoImpacto(),
+                redondear(catalogo.huellaPromedioKg()),
+                redondear(catalogo.reciclablePromedio()),
+                catalogo.productos() == 0 ? 0 : redondear(100.0 * catalogo.conHuella() / catalogo.productos()),
+                LocalDateTime.now()));
+    }
+
+    private static long gramos(BigDecimal kg) {
+        return kg == null ? 0 : kg.movePointRight(3).longValue();
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    private record Base(YearMonth mes, ImpactStatsRepository.Ventas ventas, ImpactStatsRepository.Catalogo catalogo) {
+    }
+}
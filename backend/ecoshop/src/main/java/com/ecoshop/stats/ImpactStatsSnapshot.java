@@ -0,0 +1,36 @@
+package com.ecoshop.stats;
+
+import java.time.LocalDateTime;
+
+/**
+ * Foto inmutable de las estadísticas de impacto de la plataforma (contadores de la landing).
+ *
+ * Solo tiene campos primitivos: se arma una vez por publicación en ImpactStatsCollector
+ * y todas las peticiones leen la misma instancia sin copiarla ni sincronizarse.
+ *
+ * @param comprasSostenibles Pedidos pagados que no se cancelaron
+ * @param comprasMes Pedidos pagados en el mes en curso que no se cancelaron
+ * @param unidadesVendidas Unidades de esos pedidos
+ * @param co2Kg Huella de carbono total de las unidades vendidas
+ * @param productosActivos Productos activos del catálogo
+ * @param productosBajoImpacto Productos activos con eco-badge bajo_impacto
+ * @param huellaPromedioProductoKg Huella promedio de los productos activos que la informan
+ * @param porcentajeReciclablePromedio Porcentaje reciclable promedio de los productos activos
+ * @param porcentajeProductosConHuella Porcentaje de productos activos con huella informada
+ * @param actualizadoEn Momento en que se publicó la foto
+ */
+public record ImpactStatsSnapshot(
+    long comprasSostenibles,
+    long comprasMes,
+    long unidadesVendidas,
+    double co2Kg,
+    long productosActivos,
+    long productosBajoImpacto,
+    double huellaPromedioProductoKg,
+    double porcentajeReciclablePromedio,
+    double porcentajeProductosConHuella,
+    LocalDateTime actualizadoEn) {
+
+    /** Foto que se sirve hasta que termina el primer cálculo. */
+    static final ImpactStatsSnapshot VACIA = new ImpactStatsSnapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, null);
+}
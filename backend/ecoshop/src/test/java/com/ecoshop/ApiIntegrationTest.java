@@ -0,0 +1,109 @@
+package com.ecoshop;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.ecoshop.event.PedidoEventListener;
+import com.ecoshop.mapper.ProductMapper;
+import com.ecoshop.repository.PedidoRepository;
+
+/**
+ * Base de los tests de integración que llaman a la API por HTTP.
+ *
+ * Todas las subclases comparten el mismo contexto de Spring y la misma base H2, así que
+ * cada test crea sus propios datos (emails, nombres y códigos únicos) en vez de asumir
+ * una base vacía.
+ *
+ * Los beans espiados se declaran aquí y no en las subclases: otra combinación de
+ * @MockitoSpyBean levantaría un contexto nuevo sobre la misma base.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public abstract class ApiIntegrationTest {
+
+	private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+	};
+
+	private static final ParameterizedTypeReference<List<Map<String, Object>>> JSON_LIST = new ParameterizedTypeReference<>() {
+	};
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	protected TestRestTemplate restTemplate;
+
+	@MockitoSpyBean
+	protected PedidoEventListener pedidoEventListener;
+
+	@MockitoSpyBean
+	protected ProductMapper productMapper;
+
+	@MockitoSpyBean
+	protected PedidoRepository pedidoRepository;
+
+	protected static long statementsFor(Runnable action) {
+		SqlStatementCounter.reset();
+		action.run();
+		return SqlStatementCounter.count();
+	}
+
+	protected String api(String path) {
+		return "http://localhost:" + port + "/api/v1" + path;
+	}
+
+	protected ResponseEntity<Map<String, Object>> send(HttpMethod method, String path, HttpEntity<?> request) {
+		return restTemplate.exchange(api(path), method, request, JSON_OBJECT);
+	}
+
+	protected Map<String, Object> get(String path) {
+		return send(HttpMethod.GET, path, null).getBody();
+	}
+
+	protected List<Map<String, Object>> getList(String path) {
+		return restTemplate.exchange(api(path), HttpMethod.GET, null, JSON_LIST).getBody();
+	}
+
+	protected Map<String, Object> post(String path, Object body) {
+		return send(HttpMethod.POST, path, new HttpEntity<>(body)).getBody();
+	}
+
+	protected Object crearUsuario(String email, String rol) {
+		return post("/usuarios", Map.of("email", email, "password", "secreto", "rol", rol)).get("usuarioId");
+	}
+
+	protected Object crearMarca(Object usuarioId, String nombreOficial) {
+		return post("/marcas", Map.of("usuarioId", usuarioId, "nombreOficial", nombreOficial)).get("marcaId");
+	}
+
+	protected Object crearProducto(Map<String, Object> producto) {
+		return post("/productos", producto).get("productoId");
+	}
+
+	protected Object crearPedido(Object usuarioId, String direccionEnvio) {
+		return post("/pedidos", Map.of("usuarioId", usuarioId, "direccionEnvio", direccionEnvio)).get("pedidoId");
+	}
+
+	protected void agregarItem(Object pedidoId, Object productoId, int cantidad) {
+		post("/pedido-items", Map.of("pedidoId", pedidoId, "productoId", productoId, "cantidad", cantidad));
+	}
+
+	protected static String estadoPath(Object pedidoId, String estado) {
+		return "/pedidos/" + pedidoId + "/estado?estado=" + estado;
+	}
+
+	protected ResponseEntity<String> cambiarEstado(Object pedidoId, String estado) {
+		return restTemplate.exchange(api(estadoPath(pedidoId, estado)), HttpMethod.PATCH, null, String.class);
+	}
+}
@@ -3,21 +3,8 @@ package com.ecoshop;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@ActiveProfiles("test")
-class EcoShopApplicationTests {
-
-	@LocalServerPort
-	private int port;
-
-	@Autowired
-	private TestRestTemplate restTemplate;
+class EcoShopApplicationTests extends ApiIntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -27,8 +14,7 @@ class EcoShopApplicationTests {
 
 	@Test
 	void healthEndpointReturnsOk() {
-		String response = restTemplate.getForObject("http://localhost:" + port + "/api/v1/health", String.class);
+		String response = restTemplate.getForObject(api("/health"), String.class);
 		assertThat(response).isEqualTo("EcoShop API OK");
 	}
-
 }
@@ -0,0 +1,27 @@
+package com.ecoshop;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual (se registra en
+ * application-test.yml). Es por hilo para que el dispatcher del outbox y las demás tareas
+ * programadas, que consultan la base en segundo plano, no cambien la cuenta de un test.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	public static long count() {
+		return COUNT.get()[0];
+	}
+}
@@ -0,0 +1,49 @@
+package com.ecoshop.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class BulkheadIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void anExhaustedConnectionPartitionAnswers503WithRetryAfter() throws SQLException {
+		PartitionedDataSource partitions = dataSource.unwrap(PartitionedDataSource.class);
+		List<Connection> tomadas = new ArrayList<>();
+		// El test se queda con todas las conexiones de catalog: la lectura espera connection-timeout y se rinde
+		BulkheadContext.set(BulkheadPartition.CATALOG);
+		try {
+			for (int i = 0; i < partitions.maxConnections(BulkheadPartition.CATALOG); i++) {
+				tomadas.add(dataSource.getConnection());
+			}
+
+			ResponseEntity<String> response = restTemplate.getForEntity(api("/marcas"), String.class);
+
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+			assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+			assertThat(response.getBody()).contains("\"status\":503");
+		} finally {
+			for (Connection connection : tomadas) {
+				connection.close();
+			}
+			BulkheadContext.clear();
+		}
+		assertThat(restTemplate.getForEntity(api("/marcas"), String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+}
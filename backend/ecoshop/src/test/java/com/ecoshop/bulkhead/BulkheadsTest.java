@@ -0,0 +1,130 @@
+package com.ecoshop.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.ecoshop.config.BulkheadProperties;
+import com.ecoshop.config.LoadSheddingProperties;
+import com.ecoshop.ratelimit.AdaptiveConcurrencyLimiter;
+
+class BulkheadsTest {
+
+	private final BulkheadProperties properties = new BulkheadProperties();
+
+	private final LoadSheddingProperties loadShedding = new LoadSheddingProperties();
+
+	@Test
+	void classifiesRequestsByRouteAndMethod() {
+		Bulkheads bulkheads = bulkheads();
+
+		assertThat(bulkheads.classify(request("GET", "/api/v1/products"))).isEqualTo(BulkheadPartition.CATALOG);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/productos/marca/3"))).isEqualTo(BulkheadPartition.CATALOG);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/pedidos/7"))).isEqualTo(BulkheadPartition.CHECKOUT);
+		assertThat(bulkheads.classify(request("POST", "/api/v1/pedido-items"))).isEqualTo(BulkheadPartition.CHECKOUT);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/products/export"))).isEqualTo(BulkheadPartition.ADMIN);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/analytics/ventas"))).isEqualTo(BulkheadPartition.ADMIN);
+		// Las escrituras que no son de checkout van a admin
+		assertThat(bulkheads.classify(request("PUT", "/api/v1/products/1"))).isEqualTo(BulkheadPartition.ADMIN);
+	}
+
+	@Test
+	void routesCanBeRestrictedToAMethod() {
+		properties.getCheckout().setPaths(List.of("POST /api/v1/products/*/reservas"));
+		Bulkheads bulkheads = bulkheads();
+
+		assertThat(bulkheads.classify(request("POST", "/api/v1/products/4/reservas"))).isEqualTo(BulkheadPartition.CHECKOUT);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/products/4/reservas"))).isEqualTo(BulkheadPartition.CATALOG);
+		assertThat(bulkheads.classify(request("GET", "/api/v1/pedidos"))).isEqualTo(BulkheadPartition.CATALOG);
+	}
+
+	@Test
+	void aFullCatalogPartitionDoesNotBlockCheckout() {
+		properties.getCatalog().setMaxConcurrent(3);
+		properties.getCheckout().setMaxConcurrent(2);
+		Bulkheads bulkheads = bulkheads();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(bulkheads.tryAcquire(BulkheadPartition.CATALOG)).isNotEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+		}
+		assertThat(bulkheads.tryAcquire(BulkheadPartition.CATALOG)).isEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+		assertThat(bulkheads.tryAcquire(BulkheadPartition.CHECKOUT)).isNotEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+
+		assertThat(bulkheads.metrics(BulkheadPartition.CATALOG))
+				.containsEntry("inFlight", 3)
+				.containsEntry("limit", 3)
+				.containsEntry("rejected", 1L)
+				.containsEntry("maxConnections", 5);
+		assertThat(bulkheads.metrics(BulkheadPartition.CHECKOUT)).containsEntry("inFlight", 1).containsEntry("rejected", 0L);
+	}
+
+	@Test
+	void withoutLoadSheddingTheLimitIsFixedAtMaxConcurrent() {
+		loadShedding.setEnabled(false);
+		properties.getAdmin().setMaxConcurrent(7);
+
+		assertThat(bulkheads().metrics(BulkheadPartition.ADMIN)).containsEntry("limit", 7);
+	}
+
+	@Test
+	void threadsQueuedOnThePartitionShrinkItsLimit() throws Exception {
+		properties.getCatalog().setMaxConnections(1);
+		loadShedding.setWindow(Duration.ofMillis(1));
+		loadShedding.setPoolMaxAwaiting(0);
+		DataSource pool = mock(DataSource.class);
+		when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		PartitionedDataSource dataSource = new PartitionedDataSource(pool, properties);
+		Bulkheads bulkheads = new Bulkheads(properties, loadShedding, dataSource);
+
+		BulkheadContext.set(BulkheadPartition.CATALOG);
+		Connection held = dataSource.getConnection();
+		CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+			BulkheadContext.set(BulkheadPartition.CATALOG);
+			try {
+				return dataSource.getConnection();
+			} catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			} finally {
+				BulkheadContext.clear();
+			}
+		});
+		try {
+			while (dataSource.awaiting(BulkheadPartition.CATALOG) == 0) {
+				Thread.sleep(1);
+			}
+			assertThat(bulkheads.metrics(BulkheadPartition.CATALOG)).containsEntry("awaitingConnections", 1);
+
+			// Hikari no ve a nadie esperando, pero el limitador de catalog cuenta la cola de la partición
+			long start = bulkheads.tryAcquire(BulkheadPartition.CATALOG);
+			Thread.sleep(2);
+			bulkheads.release(BulkheadPartition.CATALOG, start);
+			assertThat(bulkheads.metrics(BulkheadPartition.CATALOG)).containsEntry("limit", 32);
+			assertThat(bulkheads.metrics(BulkheadPartition.CHECKOUT)).containsEntry("awaitingConnections", 0);
+		} finally {
+			held.close();
+			waiting.get(5, TimeUnit.SECONDS).close();
+			BulkheadContext.clear();
+		}
+	}
+
+	private Bulkheads bulkheads() {
+		DataSource dataSource = new PartitionedDataSource(mock(DataSource.class), properties);
+		return new Bulkheads(properties, loadShedding, dataSource);
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		return new MockHttpServletRequest(method, uri);
+	}
+}
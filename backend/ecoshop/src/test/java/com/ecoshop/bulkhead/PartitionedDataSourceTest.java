@@ -0,0 +1,97 @@
+package com.ecoshop.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ecoshop.config.BulkheadProperties;
+
+class PartitionedDataSourceTest {
+
+	private final DataSource pool = mock(DataSource.class);
+
+	private PartitionedDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		BulkheadProperties properties = new BulkheadProperties();
+		properties.setConnectionTimeout(Duration.ofMillis(50));
+		properties.getCatalog().setMaxConnections(1);
+		properties.getCheckout().setMaxConnections(1);
+		dataSource = new PartitionedDataSource(pool, properties);
+	}
+
+	@AfterEach
+	void clearPartition() {
+		BulkheadContext.clear();
+	}
+
+	@Test
+	void eachPartitionIsCappedIndependently() throws SQLException {
+		BulkheadContext.set(BulkheadPartition.CATALOG);
+		Connection catalog = dataSource.getConnection();
+		assertThatThrownBy(dataSource::getConnection)
+				.isInstanceOf(SQLTransientConnectionException.class)
+				.hasMessageContaining("catalog");
+
+		BulkheadContext.set(BulkheadPartition.CHECKOUT);
+		assertThat(dataSource.getConnection()).isNotNull();
+		assertThat(dataSource.inUse(BulkheadPartition.CATALOG)).isEqualTo(1);
+		assertThat(dataSource.inUse(BulkheadPartition.CHECKOUT)).isEqualTo(1);
+
+		catalog.close();
+		assertThat(dataSource.inUse(BulkheadPartition.CATALOG)).isZero();
+	}
+
+	@Test
+	void closingTwiceReleasesOnePermitAndClosesTheRealConnection() throws SQLException {
+		BulkheadContext.set(BulkheadPartition.CATALOG);
+		Connection real = mock(Connection.class);
+		when(pool.getConnection()).thenReturn(real);
+		Connection connection = dataSource.getConnection();
+
+		connection.close();
+		connection.close();
+
+		assertThat(dataSource.inUse(BulkheadPartition.CATALOG)).isZero();
+		assertThat(dataSource.maxConnections(BulkheadPartition.CATALOG)).isEqualTo(1);
+		verify(real, times(2)).close();
+		// El proxy no se confunde con la conexión real (Spring compara conexiones con equals)
+		assertThat(connection).isEqualTo(connection).isNotEqualTo(real);
+	}
+
+	@Test
+	void threadsWithoutPartitionUseThePoolDirectly() throws SQLException {
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+
+		assertThat(first).isNotSameAs(second);
+		assertThat(dataSource.inUse(BulkheadPartition.CATALOG)).isZero();
+		first.close();
+		verify(first).close();
+	}
+
+	@Test
+	void failedAcquisitionsGiveThePermitBack() throws SQLException {
+		when(pool.getConnection()).thenThrow(new SQLException("sin red"));
+		BulkheadContext.set(BulkheadPartition.CATALOG);
+
+		assertThatThrownBy(dataSource::getConnection).hasMessage("sin red");
+		assertThat(dataSource.inUse(BulkheadPartition.CATALOG)).isZero();
+	}
+}
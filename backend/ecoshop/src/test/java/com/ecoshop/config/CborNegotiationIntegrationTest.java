@@ -0,0 +1,79 @@
+package com.ecoshop.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+import com.ecoshop.dto.CertificationResponse;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.dto.Pedido.PedidoResponseDTO;
+import com.ecoshop.dto.Producto.ProductoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+class CborNegotiationIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void cborResponsesCarryTheSameDataAsJson() throws IOException {
+		ObjectMapper cbor = new CBORMapper().findAndRegisterModules();
+
+		// Cuerpo de la petición en CBOR
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.valueOf("application/cbor"));
+		headers.setAccept(List.of(MediaType.valueOf("application/cbor")));
+		ResponseEntity<byte[]> certification = restTemplate.postForEntity(api("/certifications"),
+				new HttpEntity<>(cbor.writeValueAsBytes(Map.of(
+						"name", "Certificación CBOR", "code", "CBOR_CERT")), headers), byte[].class);
+		assertThat(certification.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(certification.getHeaders().getContentType().toString()).isEqualTo("application/cbor");
+		Long certificationId = cbor.readValue(certification.getBody(), CertificationResponse.class).getId();
+
+		Map<String, Object> product = post("/products", Map.of(
+				"nombre", "Producto CBOR", "precio", 19.99, "certificaciones", List.of("CBOR_CERT"),
+				"impactoAmbiental", Map.of("huellaCarbono", "1.25 kg CO₂", "materialesReciclables", true)));
+		Object usuarioId = crearUsuario("cbor@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca CBOR");
+		Object productoId = crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Producto de marca CBOR", "precio", 12.5, "stock", 3,
+				"huellaCarbonoKg", 0.75, "ecoBadge", "bajo_impacto"));
+		Object pedidoId = crearPedido(usuarioId, "Calle CBOR");
+
+		assertCborMatchesJson(cbor, api("/certifications/" + certificationId), CertificationResponse.class);
+		assertCborMatchesJson(cbor, api("/products/" + product.get("id")), ProductResponse.class);
+		assertCborMatchesJson(cbor, api("/productos/" + productoId), ProductoResponseDTO.class);
+		assertCborMatchesJson(cbor, api("/pedidos/" + pedidoId), PedidoResponseDTO.class);
+		// Sin preferencia de formato la API sigue respondiendo JSON
+		assertThat(getWithAccept(api("/products/" + product.get("id")), MediaType.ALL).getHeaders().getContentType()
+				.isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+	}
+
+	// La misma URL pedida en JSON y en CBOR debe decodificar al mismo DTO
+	private <T> void assertCborMatchesJson(ObjectMapper cbor, String url, Class<T> type) throws IOException {
+		ResponseEntity<byte[]> json = getWithAccept(url, MediaType.APPLICATION_JSON);
+		ResponseEntity<byte[]> binary = getWithAccept(url, MediaType.valueOf("application/cbor"));
+		assertThat(json.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).as(url).isTrue();
+		assertThat(binary.getHeaders().getContentType().toString()).as(url).isEqualTo("application/cbor");
+		assertThat(binary.getBody().length).as(url).isLessThan(json.getBody().length);
+
+		T fromJson = new ObjectMapper().findAndRegisterModules().readValue(json.getBody(), type);
+		T fromCbor = cbor.readValue(binary.getBody(), type);
+		assertThat(fromCbor).as(url).usingRecursiveComparison().isEqualTo(fromJson);
+	}
+
+	private ResponseEntity<byte[]> getWithAccept(String url, MediaType accept) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setAccept(List.of(accept));
+		return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+	}
+}
@@ -0,0 +1,52 @@
+package com.ecoshop.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ecoshop.dto.Pedido.PedidoPageResponseDTO;
+import com.ecoshop.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JacksonConfigTest {
+
+	private final ObjectMapper objectMapper;
+
+	JacksonConfigTest() {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		new JacksonConfig().ecoshopJacksonCustomizer().customize(builder);
+		objectMapper = builder.build();
+	}
+
+	@Test
+	void writesLocalDateTimeExactlyLikeIsoLocalDateTime() throws Exception {
+		List<LocalDateTime> fechas = List.of(
+				LocalDateTime.of(2025, 1, 2, 3, 4),
+				LocalDateTime.of(2025, 12, 31, 23, 59, 59, 1),
+				LocalDateTime.of(999, 6, 15, 12, 0, 5, 120_000_000),
+				LocalDateTime.of(2024, 2, 29, 0, 0, 0, 999_999_999),
+				LocalDateTime.of(2024, 2, 29, 0, 0, 0, 100_000),
+				LocalDateTime.of(12025, 1, 1, 0, 0),
+				LocalDateTime.of(-5, 1, 1, 0, 0));
+		for (LocalDateTime fecha : fechas) {
+			assertThat(objectMapper.writeValueAsString(fecha))
+					.isEqualTo("\"" + fecha.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "\"");
+		}
+	}
+
+	@Test
+	void omitsNullFieldsUnlessTheDtoForcesThem() throws Exception {
+		String producto = objectMapper.writeValueAsString(ProductResponse.builder()
+				.id(1L).nombre("Taza").precio(BigDecimal.TEN).build());
+		assertThat(producto).contains("\"nombre\":\"Taza\"").doesNotContain("imagen").doesNotContain("null");
+
+		assertThat(objectMapper.writeValueAsString(new PedidoPageResponseDTO(List.of(), null)))
+				.isEqualTo("{\"items\":[],\"nextCursor\":null}");
+	}
+}
@@ -0,0 +1,44 @@
+package com.ecoshop.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeRuntimeHintsTest {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	NativeRuntimeHintsTest() {
+		new NativeRuntimeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void registersEntitiesForHibernateReflection() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(Product.class)
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+	}
+
+	@Test
+	void registersDtosAndNestedTypesForJackson() {
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(ProductResponse.class, "getNombre")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(ProductDto.ImpactoAmbientalDto.class, "setHuellaCarbono")).accepts(hints);
+	}
+
+	@Test
+	void registersTheConnectionProxyOfThePartitionedDataSource() {
+		assertThat(RuntimeHintsPredicates.proxies().forInterfaces(java.sql.Connection.class)).accepts(hints);
+	}
+
+	@Test
+	void registersTheLazyConnectionProxyUsedWithTheReadReplica() {
+		assertThat(RuntimeHintsPredicates.proxies()
+				.forInterfaces(org.springframework.jdbc.datasource.ConnectionProxy.class)).accepts(hints);
+	}
+
+}
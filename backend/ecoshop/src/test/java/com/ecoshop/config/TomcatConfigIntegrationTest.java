@@ -0,0 +1,40 @@
+package com.ecoshop.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class TomcatConfigIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private ServletWebServerApplicationContext webServerContext;
+
+	@Test
+	void servesHttp2CleartextWithTheConfiguredLimits() throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+		// Sobre http:// el cliente del JDK negocia h2c con "Upgrade: h2c"
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(api("/health"))).build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+
+		Connector connector = ((TomcatWebServer) webServerContext.getWebServer()).getTomcat().getConnector();
+		assertThat(connector.findUpgradeProtocols()).singleElement()
+				.isInstanceOfSatisfying(Http2Protocol.class, http2 -> {
+					assertThat(http2.getMaxConcurrentStreamExecution()).isEqualTo(50);
+					assertThat(http2.getKeepAliveTimeout()).isEqualTo(65_000);
+				});
+	}
+}
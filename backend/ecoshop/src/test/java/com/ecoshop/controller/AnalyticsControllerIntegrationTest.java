@@ -0,0 +1,93 @@
+package com.ecoshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class AnalyticsControllerIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void paidPedidosFeedTheSalesRollup() throws InterruptedException {
+		Object usuarioId = crearUsuario("ventas@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca ventas");
+		Object botellaId = crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Botella", "precio", 100, "stock", 10,
+				"huellaCarbonoKg", 2.5, "ecoBadge", "neutro"));
+		Object bolsaId = crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Bolsa", "precio", 40, "stock", 10,
+				"huellaCarbonoKg", 1));
+		Object pedidoId = crearPedido(usuarioId, "Calle 321");
+		agregarItem(pedidoId, botellaId, 2);
+		agregarItem(pedidoId, bolsaId, 3);
+
+		cambiarEstado(pedidoId, "procesando");
+
+		String hoy = LocalDate.now().toString();
+		String ventasPath = "/analytics/ventas/marcas?desde=" + hoy + "&hasta=" + hoy;
+		Map<String, Object> ventas = ventasDeMarca(ventasPath, marcaId, 320.0);
+		assertThat(ventas).containsEntry("nombreMarca", "Marca ventas")
+				.containsEntry("unidades", 5)
+				.containsEntry("co2Kg", 8.0);
+		assertThat(getList("/analytics/ventas/eco-badges?desde=" + hoy))
+				.extracting("ecoBadge").contains("neutro", "sin_badge");
+		assertThat(getList("/analytics/ventas?agrupacion=mes"))
+				.extracting("periodo").contains(LocalDate.now().withDayOfMonth(1).toString());
+		assertThat(restTemplate.getForEntity(api("/analytics/ventas?agrupacion=anual"), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+
+		// Un pedido pagado ya no admite cambios en sus líneas
+		assertThat(restTemplate.postForEntity(api("/pedido-items"), Map.of(
+				"pedidoId", pedidoId, "productoId", bolsaId, "cantidad", 1), String.class)
+				.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+		// Cancelar después del pago resta las ventas del día en que se sumaron
+		cambiarEstado(pedidoId, "cancelado");
+		ventas = ventasDeMarca(ventasPath, marcaId, 0.0);
+		assertThat(ventas).containsEntry("unidades", 0).containsEntry("co2Kg", 0.0);
+	}
+
+	@Test
+	void cancellingAfterAProductEditSubtractsWhatThePaymentAdded() throws InterruptedException {
+		Object usuarioId = crearUsuario("ventas-edicion@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca ventas editadas");
+		Object jarraId = crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Jarra", "precio", 50, "stock", 10,
+				"huellaCarbonoKg", 2, "ecoBadge", "neutro"));
+		Object pedidoId = crearPedido(usuarioId, "Calle 654");
+		agregarItem(pedidoId, jarraId, 2);
+		cambiarEstado(pedidoId, "procesando");
+
+		String hoy = LocalDate.now().toString();
+		String ventasPath = "/analytics/ventas/marcas?desde=" + hoy + "&hasta=" + hoy;
+		assertThat(ventasDeMarca(ventasPath, marcaId, 100.0)).containsEntry("co2Kg", 4.0);
+
+		// La huella y el badge del producto cambian entre el pago y la cancelación
+		restTemplate.put(api("/productos/" + jarraId), Map.of(
+				"marcaId", marcaId, "nombre", "Jarra", "precio", 50, "stock", 10,
+				"huellaCarbonoKg", 5, "ecoBadge", "bajo_impacto"));
+
+		cambiarEstado(pedidoId, "cancelado");
+		Map<String, Object> ventas = ventasDeMarca(ventasPath, marcaId, 0.0);
+		assertThat(ventas).containsEntry("unidades", 0).containsEntry("co2Kg", 0.0);
+	}
+
+	// Espera a que el dispatcher del outbox actualice el rollup y devuelve la fila de la marca
+	private Map<String, Object> ventasDeMarca(String path, Object marcaId, double ingresosEsperados)
+			throws InterruptedException {
+		Map<String, Object> fila = null;
+		for (int i = 0; i < 50; i++) {
+			fila = getList(path).stream().filter(f -> marcaId.equals(f.get("marcaId"))).findFirst().orElse(null);
+			if (fila != null && ((Number) fila.get("ingresos")).doubleValue() == ingresosEsperados) {
+				return fila;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("El rollup no llegó a " + ingresosEsperados + " para la marca " + marcaId + ": " + fila);
+	}
+}
@@ -0,0 +1,25 @@
+package com.ecoshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class DeleteEndpointsIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void deletingMissingResourcesReturnsNotFound() {
+		for (String resource : List.of("certifications", "productos", "pedidos", "usuarios", "marcas")) {
+			ResponseEntity<String> response = restTemplate.exchange(api("/" + resource + "/999999"),
+					HttpMethod.DELETE, null, String.class);
+			assertThat(response.getStatusCode()).as(resource).isEqualTo(HttpStatus.NOT_FOUND);
+			assertThat(response.getBody()).as(resource).contains("no encontrad");
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.ecoshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecoshop.ApiIntegrationTest;
+import com.ecoshop.event.PedidoEstadoCambiadoEvent;
+import com.ecoshop.service.PedidoService;
+
+class PedidoControllerIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void pedidoFollowsTheStateMachine() {
+		Object usuarioId = crearUsuario("estados@ecoshop.test", "cliente");
+		Map<String, Object> pedido = post("/pedidos", Map.of("usuarioId", usuarioId, "direccionEnvio", "Calle 123"));
+		assertThat(pedido).containsEntry("estado", "pendiente_pago");
+		Object pedidoId = pedido.get("pedidoId");
+
+		ResponseEntity<Map<String, Object>> procesando = send(HttpMethod.PATCH, estadoPath(pedidoId, "procesando"), null);
+		assertThat(procesando.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(procesando.getBody()).containsEntry("estado", "procesando").containsEntry("version", 1);
+		assertThat(procesando.getHeaders().getETag()).isEqualTo("\"1\"");
+
+		// Un segundo callback de pago no vuelve a transicionar
+		assertThat(cambiarEstado(pedidoId, "procesando").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		// No se puede saltar de procesando a entregado
+		assertThat(cambiarEstado(pedidoId, "entregado").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(cambiarEstado(pedidoId, "perdido").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+		ResponseEntity<Map<String, Object>> enviado = send(HttpMethod.PATCH, estadoPath(pedidoId, "enviado"), null);
+		assertThat(enviado.getBody()).containsEntry("estado", "enviado").containsEntry("version", 2);
+		assertThat(cambiarEstado(pedidoId, "cancelado").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+		// Solo las dos transiciones aplicadas emiten evento (después del commit, en otro hilo)
+		verify(pedidoEventListener, timeout(5000).times(2)).onEstadoCambiado(any(PedidoEstadoCambiadoEvent.class));
+	}
+
+	@Test
+	void aConcurrentWriteBetweenTheReadAndTheTransitionIsAConflict() {
+		Object usuarioId = crearUsuario("estados-carrera@ecoshop.test", "cliente");
+		Object pedidoId = crearPedido(usuarioId, "Calle 789");
+		// Otra escritura confirma entre la lectura del pedido y el UPDATE condicional sin cambiar el estado.
+		// El repositorio es un proxy de interfaz: el espía delega en el bean real con su respuesta por defecto
+		Answer<?> real = mockingDetails(pedidoRepository).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(invocation -> {
+			CompletableFuture.runAsync(() -> jdbcTemplate.update(
+					"UPDATE pedidos SET direccion_envio = 'Calle 790', version = version + 1 WHERE pedido_id = ?",
+					pedidoId)).join();
+			return real.answer(invocation);
+		}).when(pedidoRepository).updateEstadoIfCurrent(argThat(pedidoId::equals), any(), any(), any());
+
+		ResponseEntity<String> response = cambiarEstado(pedidoId, "procesando");
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(get("/pedidos/" + pedidoId))
+				.containsEntry("estado", "pendiente_pago")
+				.containsEntry("direccionEnvio", "Calle 790")
+				.containsEntry("version", 1);
+	}
+
+	@Test
+	void pedidoHistoryIsCursorPaginatedNewestFirst() {
+		Object usuarioId = crearUsuario("historial@ecoshop.test", "cliente");
+		List<Object> creados = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			creados.add(crearPedido(usuarioId, "Calle " + i));
+		}
+
+		List<Object> vistos = new ArrayList<>();
+		String cursor = null;
+		int paginas = 0;
+		do {
+			Map<String, Object> pagina = get("/pedidos/usuario/" + usuarioId
+					+ "?size=2" + (cursor != null ? "&cursor=" + cursor : ""));
+			for (Object item : (List<?>) pagina.get("items")) {
+				vistos.add(((Map<?, ?>) item).get("pedidoId"));
+			}
+			cursor = (String) pagina.get("nextCursor");
+			paginas++;
+		} while (cursor != null);
+		assertThat(paginas).isEqualTo(3);
+		// Más recientes primero, sin repetidos ni faltantes entre páginas
+		assertThat(vistos).containsExactlyElementsOf(creados.reversed());
+
+		cambiarEstado(creados.get(0), "cancelado");
+		String hoy = LocalDate.now().toString();
+		Map<String, Object> cancelados = get("/pedidos?estado=cancelado&desde=" + hoy + "&hasta=" + hoy);
+		assertThat(cancelados.get("items")).asInstanceOf(InstanceOfAssertFactories.LIST)
+				.isNotEmpty()
+				.allSatisfy(pedido -> assertThat(pedido).asInstanceOf(InstanceOfAssertFactories.MAP)
+						.containsEntry("estado", "cancelado"))
+				.anySatisfy(pedido -> assertThat(pedido).asInstanceOf(InstanceOfAssertFactories.MAP)
+						.containsEntry("pedidoId", creados.get(0)));
+
+		assertThat(restTemplate.getForEntity(api("/pedidos?cursor=no-es-un-cursor"), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(restTemplate.getForEntity(api("/pedidos?size=0"), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void pedidoDetalleReturnsHeaderLinesAndProducts() {
+		Object usuarioId = crearUsuario("detalle@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca detalle");
+		Object pedidoId = crearPedido(usuarioId, "Calle 789");
+		for (int i = 1; i <= 3; i++) {
+			Object productoId = crearProducto(Map.of(
+					"marcaId", marcaId, "nombre", "Producto detalle " + i, "precio", 10 * i,
+					"stock", 5, "imagenUrl", "https://img/" + i));
+			agregarItem(pedidoId, productoId, i);
+		}
+
+		ResponseEntity<Map<String, Object>> detalle = send(HttpMethod.GET, "/pedidos/" + pedidoId + "/detalle", null);
+		assertThat(detalle.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(detalle.getBody().get("pedido")).asInstanceOf(InstanceOfAssertFactories.MAP)
+				.containsEntry("emailUsuario", "detalle@ecoshop.test")
+				.containsEntry("total", 140.0);
+		assertThat(detalle.getBody().get("items")).asInstanceOf(InstanceOfAssertFactories.LIST)
+				.extracting("nombreProducto", "imagenUrl", "cantidad")
+				.containsExactly(
+						tuple("Producto detalle 1", "https://img/1", 1),
+						tuple("Producto detalle 2", "https://img/2", 2),
+						tuple("Producto detalle 3", "https://img/3", 3));
+		assertThat(detalle.getBody()).containsEntry("cantidadUnidades", 6);
+
+		assertThat(restTemplate.getForEntity(api("/pedidos/999999/detalle"), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void pedidoDetalleRunsTheSameStatementsForOneOrThirtyLines() {
+		Object usuarioId = crearUsuario("detalle-consultas@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca consultas");
+		Object chico = crearPedido(usuarioId, "Calle 1");
+		Object grande = crearPedido(usuarioId, "Calle 30");
+		for (int i = 1; i <= 30; i++) {
+			Object productoId = crearProducto(Map.of(
+					"marcaId", marcaId, "nombre", "Producto consultas " + i, "precio", i, "stock", 5));
+			if (i == 1) {
+				agregarItem(chico, productoId, 1);
+			}
+			agregarItem(grande, productoId, 1);
+		}
+
+		long unaLinea = statementsFor(() -> pedidoService.getPedidoDetalle((Integer) chico));
+		long treintaLineas = statementsFor(() -> pedidoService.getPedidoDetalle((Integer) grande));
+
+		assertThat(unaLinea).isEqualTo(2);
+		assertThat(treintaLineas).isEqualTo(unaLinea);
+	}
+}
@@ -0,0 +1,158 @@
+package com.ecoshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecoshop.ApiIntegrationTest;
+import com.ecoshop.dto.ProductDto;
+import com.ecoshop.service.ProductService;
+
+class ProductControllerIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	void exportStreamsCatalogAsNdjson() {
+		post("/certifications", Map.of("name", "Vegano", "code", "VEGAN_EXPORT"));
+		for (int i = 0; i < 3; i++) {
+			post("/products", Map.of(
+					"nombre", "Producto exportado " + i,
+					"precio", 10 + i,
+					"certificaciones", List.of("VEGAN_EXPORT")));
+		}
+
+		ResponseEntity<String> response = restTemplate.getForEntity(api("/products/export"), String.class);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+		String body = response.getBody();
+		assertThat(body).endsWith("\n");
+		List<String> lines = body.lines().filter(line -> line.contains("Producto exportado")).toList();
+		assertThat(lines).hasSize(3).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"Vegano\""));
+	}
+
+	@Test
+	void productWritesReturnTheManagedEntityAndDeleteReportsMissingProducts() {
+		post("/certifications", Map.of("name", "Comercio justo", "code", "FAIR_WRITE"));
+		post("/certifications", Map.of("name", "Orgánico", "code", "ORGANIC_WRITE"));
+
+		ResponseEntity<Map<String, Object>> created = send(HttpMethod.POST, "/products", new HttpEntity<>(Map.of(
+				"nombre", "Producto escritura",
+				"precio", 100,
+				"certificaciones", List.of("fair_write", "ORGANIC_WRITE"))));
+		assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(created.getBody().get("id")).isNotNull();
+		assertThat(created.getBody().get("fechaCreacion")).isNotNull();
+		assertThat(created.getBody().get("certificaciones")).asInstanceOf(InstanceOfAssertFactories.list(String.class))
+				.containsExactlyInAnyOrder("FAIR_WRITE", "ORGANIC_WRITE");
+		String path = "/products/" + created.getBody().get("id");
+
+		ResponseEntity<Map<String, Object>> updated = send(HttpMethod.PUT, path, new HttpEntity<>(Map.of(
+				"nombre", "Producto escritura editado",
+				"precio", 150,
+				"certificaciones", List.of("ORGANIC_WRITE"))));
+		assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(updated.getBody()).containsEntry("nombre", "Producto escritura editado")
+				.containsEntry("fechaCreacion", created.getBody().get("fechaCreacion"));
+		assertThat(updated.getBody().get("certificaciones")).asInstanceOf(InstanceOfAssertFactories.list(String.class))
+				.containsExactly("ORGANIC_WRITE");
+		assertThat(restTemplate.getForObject(api(path), String.class))
+				.contains("Producto escritura editado", "Orgánico").doesNotContain("Comercio justo");
+
+		ResponseEntity<Void> deleted = restTemplate.exchange(api(path), HttpMethod.DELETE, null, Void.class);
+		assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+		ResponseEntity<String> deletedAgain = restTemplate.exchange(api(path), HttpMethod.DELETE, null, String.class);
+		assertThat(deletedAgain.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void productWritesRunAtMostTwoStatementsEach() {
+		// Se llama al servicio en el hilo del test, que es el que cuenta SqlStatementCounter.
+		// Sin certificaciones, para medir solo el producto (la tabla intermedia suma un lote)
+		ProductDto[] saved = new ProductDto[1];
+		long create = statementsFor(() -> saved[0] = productService.save(
+				ProductDto.builder().nombre("Producto contado").precio(new BigDecimal("100")).build()));
+		Long id = saved[0].getId();
+		long update = statementsFor(() -> productService.update(id,
+				ProductDto.builder().nombre("Producto contado editado").precio(new BigDecimal("150")).build(), null));
+		long delete = statementsFor(() -> productService.deleteById(id));
+
+		assertThat(create).isLessThanOrEqualTo(2);
+		assertThat(update).isLessThanOrEqualTo(2);
+		assertThat(delete).isLessThanOrEqualTo(2);
+		assertThat(restTemplate.getForEntity(api("/products/" + id), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void conditionalUpdatesUseTheVersionAsETag() {
+		ResponseEntity<Map<String, Object>> created = send(HttpMethod.POST, "/products",
+				new HttpEntity<>(Map.of("nombre", "Producto versionado", "precio", 100)));
+		assertThat(created.getHeaders().getETag()).isEqualTo("\"0\"");
+		String path = "/products/" + created.getBody().get("id");
+		assertThat(restTemplate.getForEntity(api(path), String.class).getHeaders().getETag()).isEqualTo("\"0\"");
+
+		HttpHeaders ifMatch = new HttpHeaders();
+		ifMatch.setIfMatch("\"0\"");
+		ResponseEntity<Map<String, Object>> updated = send(HttpMethod.PUT, path,
+				new HttpEntity<>(Map.of("nombre", "Versión 1", "precio", 110), ifMatch));
+		assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(updated.getHeaders().getETag()).isEqualTo("\"1\"");
+		assertThat(updated.getBody()).containsEntry("version", 1);
+
+		// Un segundo cliente que todavía tiene la versión 0 no pisa el cambio
+		ResponseEntity<String> stale = restTemplate.exchange(api(path), HttpMethod.PUT,
+				new HttpEntity<>(Map.of("nombre", "Versión vieja", "precio", 120), ifMatch), String.class);
+		assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(restTemplate.getForObject(api(path), String.class)).contains("Versión 1");
+
+		// Sin If-Match la actualización no es condicional
+		ResponseEntity<String> unconditional = restTemplate.exchange(api(path), HttpMethod.PUT,
+				new HttpEntity<>(Map.of("nombre", "Versión 2", "precio", 130)), String.class);
+		assertThat(unconditional.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(unconditional.getHeaders().getETag()).isEqualTo("\"2\"");
+	}
+
+	@Test
+	void aConcurrentWriteBetweenIfMatchAndTheUpdateIsAConflict() {
+		ResponseEntity<Map<String, Object>> created = send(HttpMethod.POST, "/products",
+				new HttpEntity<>(Map.of("nombre", "Producto en carrera", "precio", 100)));
+		Object id = created.getBody().get("id");
+		// Otra escritura confirma entre la verificación del If-Match y el UPDATE de esta petición
+		doAnswer(invocation -> {
+			CompletableFuture.runAsync(() -> jdbcTemplate.update(
+					"UPDATE products SET version = version + 1 WHERE id = ?", id)).join();
+			return invocation.callRealMethod();
+		}).when(productMapper).toEntity(argThat(dto -> dto != null && "Carrera".equals(dto.getNombre())));
+
+		HttpHeaders ifMatch = new HttpHeaders();
+		ifMatch.setIfMatch("\"0\"");
+		ResponseEntity<String> response = restTemplate.exchange(api("/products/" + id), HttpMethod.PUT,
+				new HttpEntity<>(Map.of("nombre", "Carrera", "precio", 110), ifMatch), String.class);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(response.getBody()).contains("\"status\":409");
+		assertThat(restTemplate.getForObject(api("/products/" + id), String.class)).contains("Producto en carrera");
+	}
+}
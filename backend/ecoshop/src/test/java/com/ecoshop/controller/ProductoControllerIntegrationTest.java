@@ -0,0 +1,38 @@
+package com.ecoshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class ProductoControllerIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void productoListsReturnOnlyTheRequestedFields() {
+		Object usuarioId = crearUsuario("campos@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca campos");
+		crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Cepillo", "precio", 5, "stock", 1,
+				"descripcion", "x".repeat(5000), "materiales", "bambú", "ecoBadge", "bajo_impacto",
+				"imagenUrl", "https://img/cepillo"));
+		String path = "/productos/marca/" + marcaId;
+
+		List<Map<String, Object>> tarjetas = getList(path + "?fields=nombre,precio,imagenUrl,ecoBadge,nombreMarca");
+		assertThat(tarjetas).singleElement().satisfies(tarjeta -> assertThat(tarjeta)
+				.containsOnlyKeys("productoId", "nombre", "precio", "imagenUrl", "ecoBadge", "nombreMarca")
+				.containsEntry("nombreMarca", "Marca campos")
+				.containsEntry("ecoBadge", "bajo_impacto"));
+		assertThat(getList(path))
+				.singleElement().satisfies(completo -> assertThat(completo).containsKeys("descripcion", "materiales"));
+
+		ResponseEntity<String> invalido = restTemplate.getForEntity(api("/productos?fields=nombre,clave"), String.class);
+		assertThat(invalido.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(invalido.getBody()).contains("clave");
+	}
+}
@@ -0,0 +1,45 @@
+package com.ecoshop.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.ecoshop.ApiIntegrationTest;
+import com.ecoshop.domain.OutboxEvent;
+import com.ecoshop.repository.OutboxEventRepository;
+
+class OutboxIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Test
+	void outboxDeliversPedidoEventsAndRetriesFailedConsumers() throws InterruptedException {
+		// El primer intento de entrega falla; el evento debe reintentarse y no perderse
+		doThrow(new IllegalStateException("consumidor caído")).doCallRealMethod()
+				.when(pedidoEventListener).onPedidoCreado(any(PedidoCreadoEvent.class));
+
+		Object usuarioId = crearUsuario("outbox@ecoshop.test", "cliente");
+		String pedidoId = String.valueOf(crearPedido(usuarioId, "Calle 456"));
+
+		verify(pedidoEventListener, timeout(5000).times(2))
+				.onPedidoCreado(argThat(event -> pedidoId.equals(String.valueOf(event.pedidoId()))));
+		// La marca de procesado se guarda al hacer commit el lote, justo después de la entrega
+		OutboxEvent evento = null;
+		for (int i = 0; i < 50 && (evento == null || evento.getProcesadoEn() == null); i++) {
+			Thread.sleep(100);
+			evento = outboxEventRepository.findAll().stream()
+					.filter(e -> e.getTipo().equals("PEDIDO_CREADO") && e.getAggregateId().equals(pedidoId))
+					.findFirst().orElseThrow();
+		}
+		assertThat(evento.getProcesadoEn()).isNotNull();
+		assertThat(evento.getIntentos()).isEqualTo(1);
+		assertThat(evento.getUltimoError()).contains("consumidor caído");
+	}
+}
@@ -0,0 +1,36 @@
+package com.ecoshop.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ecoshop.config.CacheConfig;
+
+/**
+ * Contexto propio (y base H2 propia) para que ningún otro test invalide las cachés
+ * entre el warm-up y las aserciones.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:warmup")
+@ActiveProfiles("test")
+@DirtiesContext
+class CatalogWarmupRunnerTest {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private WarmupState warmupState;
+
+	@Test
+	void warmupFillsTheProductsAndCertificationsCaches() {
+		assertThat(warmupState.isComplete()).isTrue();
+		assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(SimpleKey.EMPTY)).isNotNull();
+		assertThat(cacheManager.getCache(CacheConfig.CERTIFICATIONS).get(SimpleKey.EMPTY)).isNotNull();
+	}
+}
@@ -0,0 +1,109 @@
+package com.ecoshop.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ecoshop.bulkhead.BulkheadPartition;
+import com.ecoshop.bulkhead.PartitionedDataSource;
+import com.ecoshop.config.HealthProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+class ConnectionPoolHealthCheckTest {
+
+	private final HikariDataSource hikari = mock(HikariDataSource.class);
+
+	private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+
+	private final HealthProperties properties = new HealthProperties();
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final ConnectionPoolHealthCheck check = new ConnectionPoolHealthCheck(hikari, properties, clock::get);
+
+	@BeforeEach
+	void setUp() {
+		when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+		when(hikari.getMaximumPoolSize()).thenReturn(10);
+	}
+
+	@Test
+	void aPoolWithFreeConnectionsIsUp() {
+		when(pool.getActiveConnections()).thenReturn(9);
+
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.UP);
+	}
+
+	@Test
+	void aPoolWithEveryConnectionInUseIsDownOnlyAfterTheGracePeriod() {
+		when(pool.getActiveConnections()).thenReturn(10);
+
+		// Un pico con todas las conexiones ocupadas y sin cola no saca la instancia de rotación
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.UP);
+		clock.set(TimeUnit.SECONDS.toNanos(9));
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.UP);
+
+		clock.set(TimeUnit.SECONDS.toNanos(10));
+		HealthCheckResult result = check.check();
+
+		assertThat(result.getStatus()).isEqualTo(HealthStatus.DOWN);
+		assertThat(result.getDetails()).containsEntry("active", 10).containsEntry("max", 10)
+				.containsEntry("saturatedForMs", 10_000L);
+	}
+
+	@Test
+	void freeingAConnectionRestartsTheGracePeriod() {
+		when(pool.getActiveConnections()).thenReturn(10);
+		check.check();
+		clock.set(TimeUnit.SECONDS.toNanos(9));
+		when(pool.getActiveConnections()).thenReturn(9);
+		check.check();
+
+		when(pool.getActiveConnections()).thenReturn(10);
+		clock.set(TimeUnit.SECONDS.toNanos(12));
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.UP);
+		clock.set(TimeUnit.SECONDS.toNanos(22));
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.DOWN);
+	}
+
+	@Test
+	void theUsageThresholdIsConfigurable() {
+		properties.setPoolMaxUsage(0.8);
+		properties.setPoolSaturationGrace(Duration.ZERO);
+		when(pool.getActiveConnections()).thenReturn(8);
+
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.DOWN);
+	}
+
+	@Test
+	void threadsQueuedOnAPartitionCountAsWaitingForAConnection() throws Exception {
+		PartitionedDataSource partitions = mock(PartitionedDataSource.class);
+		when(partitions.isWrapperFor(PartitionedDataSource.class)).thenReturn(true);
+		when(partitions.unwrap(PartitionedDataSource.class)).thenReturn(partitions);
+		when(partitions.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+		when(partitions.unwrap(HikariDataSource.class)).thenReturn(hikari);
+		when(partitions.awaiting(BulkheadPartition.CATALOG)).thenReturn(3);
+		when(pool.getActiveConnections()).thenReturn(5);
+
+		HealthCheckResult result = new ConnectionPoolHealthCheck(partitions, properties).check();
+
+		assertThat(result.getStatus()).isEqualTo(HealthStatus.DOWN);
+		assertThat(result.getDetails()).containsEntry("awaiting", 3).containsEntry("partitionAwaiting", 3);
+	}
+
+	@Test
+	void threadsWaitingForAConnectionMarkThePoolDown() {
+		when(pool.getActiveConnections()).thenReturn(2);
+		when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+		assertThat(check.check().getStatus()).isEqualTo(HealthStatus.DOWN);
+	}
+}
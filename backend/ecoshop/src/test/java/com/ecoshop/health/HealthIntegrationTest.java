@@ -0,0 +1,47 @@
+package com.ecoshop.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+import com.ecoshop.config.CacheConfig;
+import com.ecoshop.dto.HealthResponse;
+
+class HealthIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private WarmupState warmupState;
+
+	@Test
+	void readinessEndpointReportsChecks() {
+		ResponseEntity<HealthResponse> response = restTemplate.getForEntity(api("/health/ready"), HealthResponse.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody().getStatus()).isEqualTo(HealthStatus.UP);
+		assertThat(response.getBody().getChecks()).containsKeys("readinessState", "db", "pool", "warmup", "bulkheads");
+		assertThat(response.getBody().getChecks().get("bulkheads").getDetails())
+				.containsKeys("catalog", "checkout", "admin");
+	}
+
+	@Test
+	void catalogWarmupCompletesAndFillsCaches() {
+		// El warm-up corre antes de ACCEPTING_TRAFFIC; otros tests pueden invalidar las cachés después,
+		// así que se verifica que terminó y que un listado vuelve a llenar la caché
+		// (CatalogWarmupRunnerTest verifica las dos cachés en un contexto propio)
+		assertThat(warmupState.isComplete()).isTrue();
+		assertThat(warmupState.check().getDetails().get("completed")).asInstanceOf(InstanceOfAssertFactories.COLLECTION)
+				.contains("catalog");
+
+		restTemplate.getForObject(api("/products"), String.class);
+		assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(SimpleKey.EMPTY)).isNotNull();
+	}
+}
@@ -0,0 +1,95 @@
+package com.ecoshop.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecoshop.exception.BadRequestException;
+
+class CsvProductRowReaderTest {
+
+	@Test
+	void readsRowsByHeaderNameInAnyOrder() throws IOException {
+		List<ProductImportRow> rows = readAll("""
+				precio,Nombre,huella_carbono,materialesReciclables,certificaciones
+				14990,Botella reutilizable,0.8 kg CO₂,sí,FAIR_TRADE| carbon_neutral
+				3990,Cepillo de bambú,,,
+				""");
+
+		assertThat(rows).hasSize(2).noneMatch(ProductImportRow::isFailed);
+		ProductImportRow botella = rows.get(0);
+		assertThat(botella.getLine()).isEqualTo(2);
+		assertThat(botella.getProduct().getNombre()).isEqualTo("Botella reutilizable");
+		assertThat(botella.getProduct().getPrecio()).isEqualByComparingTo("14990");
+		assertThat(botella.getProduct().getImpactoAmbiental().getHuellaCarbono()).isEqualTo("0.8 kg CO₂");
+		assertThat(botella.getProduct().getImpactoAmbiental().getMaterialesReciclables()).isTrue();
+		assertThat(botella.getProduct().getCertificaciones()).containsExactly("FAIR_TRADE", "carbon_neutral");
+
+		ProductImportRow cepillo = rows.get(1);
+		assertThat(cepillo.getLine()).isEqualTo(3);
+		assertThat(cepillo.getProduct().getImpactoAmbiental()).isNull();
+		assertThat(cepillo.getProduct().getCertificaciones()).isNull();
+	}
+
+	@Test
+	void handlesQuotedFieldsAndSemicolonSeparator() throws IOException {
+		List<ProductImportRow> rows = readAll("""
+				nombre;precio;marca
+				"Bolsa ""eco""; de tela";1299,50;"Marca
+				en dos líneas"
+				Taza;500;
+				""");
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).getProduct().getNombre()).isEqualTo("Bolsa \"eco\"; de tela");
+		assertThat(rows.get(0).getProduct().getPrecio()).isEqualTo(new BigDecimal("1299.50"));
+		assertThat(rows.get(0).getProduct().getMarca()).isEqualTo("Marca\nen dos líneas");
+		// La fila anterior ocupa dos líneas, así que Taza está en la línea 4
+		assertThat(rows.get(1).getLine()).isEqualTo(4);
+		assertThat(rows.get(1).getProduct().getMarca()).isNull();
+	}
+
+	@Test
+	void reportsMalformedRowsAndKeepsReading() throws IOException {
+		List<ProductImportRow> rows = readAll("""
+				nombre,precio
+				Sin precio válido,abc
+				Columnas de más,10,extra
+
+				Válido,10
+				""");
+
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(0).getError()).contains("Precio inválido");
+		assertThat(rows.get(1).getError()).contains("Se esperaban 2 columnas");
+		assertThat(rows.get(2).isFailed()).isFalse();
+		assertThat(rows.get(2).getLine()).isEqualTo(5);
+	}
+
+	@Test
+	void rejectsInvalidHeaders() {
+		assertThatThrownBy(() -> readAll("")).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> readAll("nombre,color\nTaza,rojo\n"))
+				.isInstanceOf(BadRequestException.class).hasMessageContaining("color");
+		assertThatThrownBy(() -> readAll("nombre,marca\nTaza,Eco\n"))
+				.isInstanceOf(BadRequestException.class).hasMessageContaining("precio");
+	}
+
+	private static List<ProductImportRow> readAll(String csv) throws IOException {
+		List<ProductImportRow> rows = new ArrayList<>();
+		try (CsvProductRowReader reader = new CsvProductRowReader(new StringReader(csv))) {
+			ProductImportRow row;
+			while ((row = reader.next()) != null) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+}
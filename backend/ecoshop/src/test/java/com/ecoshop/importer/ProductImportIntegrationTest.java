@@ -0,0 +1,52 @@
+package com.ecoshop.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class ProductImportIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void importInsertsValidRowsAndReportsRowErrors() {
+		post("/certifications", Map.of("name", "Reciclado", "code", "RECYCLED_IMPORT"));
+
+		String csv = """
+				nombre,precio,huellaCarbono,certificaciones
+				Importado CSV 1,100,350 g,recycled_import
+				Importado CSV 2,0,,
+				Importado CSV 3,200,,NO_EXISTE
+				Importado CSV 4,300,1.5 kg,
+				""";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("text/csv"));
+		ResponseEntity<Map<String, Object>> response = send(HttpMethod.POST, "/products/import",
+				new HttpEntity<>(csv, headers));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).containsEntry("received", 4).containsEntry("imported", 2).containsEntry("failed", 2);
+		assertThat(response.getBody().get("errors")).asInstanceOf(InstanceOfAssertFactories.LIST)
+				.extracting("line")
+				.containsExactly(3, 4);
+
+		headers.setContentType(MediaType.APPLICATION_NDJSON);
+		String ndjson = "{\"nombre\": \"Importado NDJSON\", \"precio\": 50}\n{no es json}\n";
+		ResponseEntity<Map<String, Object>> ndjsonResponse = send(HttpMethod.POST, "/products/import",
+				new HttpEntity<>(ndjson, headers));
+		assertThat(ndjsonResponse.getBody()).containsEntry("imported", 1).containsEntry("failed", 1);
+
+		String products = restTemplate.getForObject(api("/products"), String.class);
+		assertThat(products).contains("Importado CSV 1", "Importado CSV 4", "Importado NDJSON", "0.4 kg CO₂", "Reciclado")
+				.doesNotContain("Importado CSV 2", "Importado CSV 3");
+	}
+}
@@ -0,0 +1,82 @@
+package com.ecoshop.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class HuellaCarbonoFormatterTest {
+
+	private static String reference(double kg) {
+		return String.format(Locale.ROOT, "%.1f kg CO₂", kg);
+	}
+
+	@Test
+	void formatsNullAsNull() {
+		assertThat(HuellaCarbonoFormatter.format((Double) null)).isNull();
+	}
+
+	@Test
+	void roundsHalfUpLikeFormatter() {
+		assertThat(HuellaCarbonoFormatter.format(0.8)).isEqualTo("0.8 kg CO₂");
+		assertThat(HuellaCarbonoFormatter.format(0.25)).isEqualTo("0.3 kg CO₂");
+		assertThat(HuellaCarbonoFormatter.format(0.15)).isEqualTo("0.2 kg CO₂");
+		assertThat(HuellaCarbonoFormatter.format(0.149)).isEqualTo("0.1 kg CO₂");
+		assertThat(HuellaCarbonoFormatter.format(999.95)).isEqualTo("1000.0 kg CO₂");
+	}
+
+	@Test
+	void matchesFormatterAtEveryTieOfTheTable() {
+		// Los empates x.x5 son donde el redondeo HALF_UP puede diferir; se prueban con sus vecinos
+		for (int tenths = 0; tenths < 10_000; tenths++) {
+			double tie = (tenths * 10 + 5) / 100.0;
+			for (double kg : new double[] {Math.nextDown(tie), tie, Math.nextUp(tie)}) {
+				assertThat(HuellaCarbonoFormatter.format(kg)).as("%s", kg).isEqualTo(reference(kg));
+			}
+		}
+	}
+
+	@Test
+	void matchesFormatterForSampledHundredthsOutsideTheTable() {
+		SplittableRandom random = new SplittableRandom(31);
+		for (int i = 0; i < 50_000; i++) {
+			double kg = random.nextLong(100_000, 100_000_000_000L) / 100.0;
+			assertThat(HuellaCarbonoFormatter.format(kg)).as("%s", kg).isEqualTo(reference(kg));
+		}
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "ecoshop.exhaustive", matches = "true")
+	void matchesFormatterForEveryHundredth() {
+		// Barrido completo (unos segundos); se corre a mano con -Decoshop.exhaustive=true
+		for (int hundredths = 0; hundredths <= 2_000_000; hundredths++) {
+			double kg = hundredths / 100.0;
+			assertThat(HuellaCarbonoFormatter.format(kg)).as("%s", kg).isEqualTo(reference(kg));
+		}
+	}
+
+	@Test
+	void matchesFormatterForRandomValues() {
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < 200_000; i++) {
+			double kg = random.nextDouble() * Math.pow(10, random.nextInt(-3, 10));
+			assertThat(HuellaCarbonoFormatter.format(kg)).as("%s", kg).isEqualTo(reference(kg));
+		}
+	}
+
+	@Test
+	void delegatesSpecialValuesToFormatter() {
+		for (double kg : new double[] {-0.0, -1.25, Double.NaN, Double.POSITIVE_INFINITY, 1e12, Double.MAX_VALUE}) {
+			assertThat(HuellaCarbonoFormatter.format(kg)).isEqualTo(reference(kg));
+		}
+	}
+
+	@Test
+	void reusesCachedStringsForCommonValues() {
+		assertThat(HuellaCarbonoFormatter.format(12.3)).isSameAs(HuellaCarbonoFormatter.format(12.3));
+	}
+
+}
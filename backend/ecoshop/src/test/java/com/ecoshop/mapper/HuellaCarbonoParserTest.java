@@ -0,0 +1,86 @@
+package com.ecoshop.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class HuellaCarbonoParserTest {
+
+	@Test
+	void parsesKilogramsWithBothDecimalSeparators() {
+		assertThat(HuellaCarbonoParser.parseKg("0.8 kg CO₂")).isEqualTo(0.8);
+		assertThat(HuellaCarbonoParser.parseKg("0,8 kg CO₂")).isEqualTo(0.8);
+		assertThat(HuellaCarbonoParser.parseKg("12")).isEqualTo(12.0);
+		assertThat(HuellaCarbonoParser.parseKg("  2.5kg")).isEqualTo(2.5);
+	}
+
+	@Test
+	void treatsRepeatedOrMixedSeparatorsAsThousands() {
+		assertThat(HuellaCarbonoParser.parseKg("1.234,5 kg")).isEqualTo(1234.5);
+		assertThat(HuellaCarbonoParser.parseKg("1,234.5 kg")).isEqualTo(1234.5);
+		assertThat(HuellaCarbonoParser.parseKg("1.234.567 kg")).isEqualTo(1234567.0);
+	}
+
+	@Test
+	void convertsUnitsToKilograms() {
+		assertThat(HuellaCarbonoParser.parseKg("350 g CO₂e")).isEqualTo(0.35);
+		assertThat(HuellaCarbonoParser.parseKg("1,2 t CO₂e")).isEqualTo(1200.0);
+		assertThat(HuellaCarbonoParser.parseKg("3 Tn")).isEqualTo(3000.0);
+		assertThat(HuellaCarbonoParser.parseKg("3 KG")).isEqualTo(3.0);
+	}
+
+	@Test
+	void recognizesOnlyWholeUnitWords() {
+		assertThat(HuellaCarbonoParser.parseKg("5 total")).isEqualTo(5.0);
+		assertThat(HuellaCarbonoParser.parseKg("5 gramos")).isEqualTo(5.0);
+		assertThat(HuellaCarbonoParser.parseKg("5 t.")).isEqualTo(5000.0);
+		assertThat(HuellaCarbonoParser.parseKg("5 G")).isEqualTo(0.005);
+	}
+
+	@Test
+	void takesOnlyTheFirstNumber() {
+		assertThat(HuellaCarbonoParser.parseKg("0.8 kg (1.2 t en total)")).isEqualTo(0.8);
+		assertThat(HuellaCarbonoParser.parseKg("CO2e: 4.5 kg")).isEqualTo(4.5);
+		assertThat(HuellaCarbonoParser.parseKg("5. kg")).isEqualTo(5.0);
+	}
+
+	@Test
+	void returnsNullWithoutNumber() {
+		assertThat(HuellaCarbonoParser.parseKg(null)).isNull();
+		assertThat(HuellaCarbonoParser.parseKg("")).isNull();
+		assertThat(HuellaCarbonoParser.parseKg("sin datos")).isNull();
+		assertThat(HuellaCarbonoParser.parseKg("kg CO₂")).isNull();
+	}
+
+	@Test
+	void matchesParseDoubleForFormattedValues() {
+		SplittableRandom random = new SplittableRandom(11);
+		for (int i = 0; i < 100_000; i++) {
+			String number = String.format(Locale.ROOT, "%." + random.nextInt(0, 7) + "f", random.nextDouble() * 10_000);
+			assertThat(HuellaCarbonoParser.parseKg(number + " kg CO₂")).as(number).isEqualTo(Double.parseDouble(number));
+		}
+	}
+
+	@Test
+	void matchesParseDoubleBeyondTheExactMantissaRange() {
+		assertThat(HuellaCarbonoParser.parseKg("9007199254740993")).isEqualTo(9007199254740993d);
+		SplittableRandom random = new SplittableRandom(13);
+		for (int i = 0; i < 100_000; i++) {
+			String digits = Long.toString(random.nextLong(1_000_000_000_000_000L, Long.MAX_VALUE));
+			int point = random.nextInt(1, digits.length());
+			String number = digits.substring(0, point) + "." + digits.substring(point);
+			assertThat(HuellaCarbonoParser.parseKg(number)).as(number).isEqualTo(Double.parseDouble(number));
+			assertThat(HuellaCarbonoParser.parseKg(number + " g")).as(number).isEqualTo(Double.parseDouble(number + "E-3"));
+		}
+	}
+
+	@Test
+	void handlesExtremeDigitCounts() {
+		assertThat(HuellaCarbonoParser.parseKg("0.0000000000000000000001")).isEqualTo(1e-22);
+		assertThat(HuellaCarbonoParser.parseKg("12345678901234567890123")).isEqualTo(1.2345678901234568e22);
+	}
+
+}
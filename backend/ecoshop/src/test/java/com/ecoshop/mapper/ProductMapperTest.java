@@ -0,0 +1,40 @@
+package com.ecoshop.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.ProductResponse;
+
+class ProductMapperTest {
+
+	private final ProductMapper mapper = new ProductMapper();
+
+	@Test
+	void theResponseKeepsItsOwnUnmodifiableCopyOfTheCertifications() {
+		Product product = Product.builder().id(1L).nombre("Botella").precio(BigDecimal.TEN).build();
+		List<String> certificaciones = new ArrayList<>(List.of("Fair Trade"));
+
+		ProductResponse response = mapper.toResponse(product, certificaciones);
+		certificaciones.add("Carbon Neutral");
+
+		assertThat(response.getCertificaciones()).containsExactly("Fair Trade");
+		assertThatThrownBy(() -> response.getCertificaciones().add("Organic"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void aProductWithoutCertificationsGetsAnUnmodifiableEmptyList() {
+		ProductResponse response = mapper.toResponse(Product.builder().id(1L).nombre("Botella").build());
+
+		assertThat(response.getCertificaciones()).isEmpty();
+		assertThatThrownBy(() -> response.getCertificaciones().add("Organic"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+}
@@ -0,0 +1,97 @@
+package com.ecoshop.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecoshop.config.LoadSheddingProperties;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final AtomicInteger poolAwaiting = new AtomicInteger();
+
+	private long windowStart;
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(), poolAwaiting::get, clock::get);
+
+	@Test
+	void rejectsAboveTheLimitUntilARequestFinishes() {
+		long[] starts = new long[10];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = limiter.tryAcquire();
+			assertThat(starts[i]).isNotEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+		}
+		assertThat(limiter.tryAcquire()).isEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+
+		limiter.release(starts[0]);
+		assertThat(limiter.getInFlight()).isEqualTo(9);
+		assertThat(limiter.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimiter.REJECTED);
+	}
+
+	@Test
+	void slowRequestsShrinkTheLimitMultiplicatively() {
+		runWindow(5, Duration.ofMillis(500));
+		assertThat(limiter.getLimit()).isEqualTo(5);
+
+		runWindow(5, Duration.ofMillis(500));
+		assertThat(limiter.getLimit()).isEqualTo(2);
+
+		// Nunca baja del mínimo
+		runWindow(2, Duration.ofMillis(500));
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void poolWaitShrinksTheLimitEvenWithFastRequests() {
+		poolAwaiting.set(3);
+		runWindow(5, Duration.ofMillis(5));
+		assertThat(limiter.getLimit()).isEqualTo(5);
+	}
+
+	@Test
+	void growsByOneOnlyWhenTheLimitWasReachedWithoutCongestion() {
+		runWindow(4, Duration.ofMillis(5));
+		assertThat(limiter.getLimit()).isEqualTo(10);
+
+		runWindow(10, Duration.ofMillis(5));
+		assertThat(limiter.getLimit()).isEqualTo(11);
+		runWindow(11, Duration.ofMillis(5));
+		assertThat(limiter.getLimit()).isEqualTo(12);
+	}
+
+	// Arranca "concurrentes" solicitudes a la vez; todas tardan "latencia" y la última en terminar cierra la ventana
+	private void runWindow(int concurrentes, Duration latencia) {
+		long finVentana = windowStart + TimeUnit.SECONDS.toNanos(1);
+		clock.set(finVentana - latencia.toNanos());
+		long[] starts = new long[concurrentes];
+		for (int i = 0; i < concurrentes; i++) {
+			starts[i] = limiter.tryAcquire();
+		}
+		clock.set(finVentana - 1);
+		for (int i = 0; i < concurrentes - 1; i++) {
+			limiter.release(starts[i]);
+		}
+		clock.set(finVentana);
+		limiter.release(starts[concurrentes - 1]);
+		windowStart = finVentana;
+	}
+
+	private static LoadSheddingProperties properties() {
+		LoadSheddingProperties properties = new LoadSheddingProperties();
+		properties.setInitialLimit(10);
+		properties.setMinLimit(2);
+		properties.setMaxLimit(12);
+		properties.setWindow(Duration.ofSeconds(1));
+		properties.setLatencyTarget(Duration.ofMillis(100));
+		properties.setPoolMaxAwaiting(2);
+		properties.setDecreaseFactor(0.5);
+		return properties;
+	}
+}
@@ -0,0 +1,42 @@
+package com.ecoshop.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class RateLimitFilterIntegrationTest extends ApiIntegrationTest {
+
+	@Test
+	void rateLimitsEachClientIpWithRetryAfter() {
+		HttpHeaders headers = new HttpHeaders();
+		// Tomcat toma la IP del cliente de X-Forwarded-For porque el pedido llega desde 127.0.0.1
+		headers.set("X-Forwarded-For", "203.0.113.7");
+		HttpEntity<Void> scraper = new HttpEntity<>(headers);
+		String url = api("/stats/impacto");
+
+		ResponseEntity<String> limitada = null;
+		for (int i = 0; i < 1000 && limitada == null; i++) {
+			ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, scraper, String.class);
+			if (response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+				limitada = response;
+			} else {
+				assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+			}
+		}
+
+		assertThat(limitada).as("el bucket de la IP nunca se vació").isNotNull();
+		assertThat(limitada.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+		assertThat(limitada.getBody()).contains("\"status\":429");
+		// Los demás clientes y los health checks no se ven afectados
+		assertThat(restTemplate.getForEntity(url, String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(restTemplate.exchange(api("/health"), HttpMethod.GET, scraper, String.class).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+	}
+}
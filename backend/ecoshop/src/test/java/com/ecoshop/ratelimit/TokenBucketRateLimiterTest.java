@@ -0,0 +1,85 @@
+package com.ecoshop.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void allowsTheBurstAndThenTheSustainedRate() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, clock::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("10.0.0.1")).as("solicitud %d", i).isZero();
+		}
+		long wait = limiter.tryAcquire("10.0.0.1");
+		assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+		// A 10 por segundo, cada 100 ms vuelve a haber un token (y uno solo)
+		clock.addAndGet(wait);
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+	}
+
+	@Test
+	void keysAreIndependent() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+
+	@Test
+	void evictsOnlyFullBuckets() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 100, clock::get);
+		limiter.tryAcquire("inactivo");
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		limiter.tryAcquire("activo");
+
+		limiter.evictIdle();
+
+		assertThat(limiter.size()).isEqualTo(1);
+		// El cliente que quedó conserva su consumo: le queda un solo token
+		assertThat(limiter.tryAcquire("activo")).isZero();
+		assertThat(limiter.tryAcquire("activo")).isPositive();
+	}
+
+	@Test
+	void newClientsShareOneBucketOnceTheMapIsFull() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2, clock::get);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+
+		assertThat(limiter.tryAcquire("c")).isZero();
+		assertThat(limiter.tryAcquire("d")).isPositive();
+		assertThat(limiter.size()).isEqualTo(3);
+	}
+
+	@Test
+	void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1000, 100, clock::get);
+		AtomicLong accepted = new AtomicLong();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 500; i++) {
+					if (limiter.tryAcquire("scraper") == 0) {
+						accepted.incrementAndGet();
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(accepted.get()).isEqualTo(1000);
+	}
+}
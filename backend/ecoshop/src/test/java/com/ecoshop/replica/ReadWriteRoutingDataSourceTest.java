@@ -0,0 +1,189 @@
+package com.ecoshop.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.ecoshop.config.ReplicaProperties;
+
+/**
+ * Primario y réplica son dos bases H2 en memoria con la misma tabla y datos distintos,
+ * así cada lectura dice de qué base vino.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final ReplicaProperties properties = new ReplicaProperties();
+
+	private DataSource primary;
+
+	private DataSource replica;
+
+	private ReplicaLagMonitor lagMonitor;
+
+	private ReadYourWrites readYourWrites;
+
+	private JdbcTemplate jdbc;
+
+	private TransactionTemplate writeTx;
+
+	private TransactionTemplate readOnlyTx;
+
+	@BeforeEach
+	void setUp() {
+		primary = h2("primario");
+		replica = h2("replica");
+		new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (ms BIGINT)");
+		new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+		properties.setLagQuery("SELECT ms FROM replica_lag");
+		properties.setMaxLag(Duration.ofSeconds(1));
+		properties.setLagCheckInterval(Duration.ofSeconds(1));
+
+		lagMonitor = new ReplicaLagMonitor(replica, properties, clock::get);
+		readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), clock::get);
+		DataSource routing = new LazyConnectionDataSourceProxy(
+				new ReadWriteRoutingDataSource(primary, replica, lagMonitor, readYourWrites));
+		jdbc = new JdbcTemplate(routing);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		writeTx = new TransactionTemplate(transactionManager);
+		readOnlyTx = new TransactionTemplate(transactionManager);
+		readOnlyTx.setReadOnly(true);
+		lagMonitor.refresh();
+	}
+
+	@AfterEach
+	void clearRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplicaAndTheRestToThePrimary() {
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+		assertThat(writeOrigin()).isEqualTo("primario");
+		// Fuera de una transacción también se usa el primario
+		assertThat(origin()).isEqualTo("primario");
+	}
+
+	@Test
+	void aLaggingReplicaSendsReadsToThePrimaryUntilItCatchesUp() {
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET ms = 5000");
+		lagMonitor.refresh();
+		assertThat(readOnlyOrigin()).isEqualTo("primario");
+
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET ms = 200");
+		lagMonitor.refresh();
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void aClientReadsItsOwnWritesFromThePrimaryDuringTheStickyWindow() {
+		asClient("203.0.113.9");
+		writeTx.executeWithoutResult(status -> jdbc.update("INSERT INTO marca (nombre) VALUES ('nueva')"));
+
+		Integer visible = readOnlyTx.execute(status -> jdbc.queryForObject(
+				"SELECT COUNT(*) FROM marca WHERE nombre = 'nueva'", Integer.class));
+		assertThat(visible).isEqualTo(1);
+
+		// Los demás clientes siguen leyendo de la réplica
+		asClient("198.51.100.4");
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+
+		asClient("203.0.113.9");
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+		lagMonitor.refresh();
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void readFromPrimaryKeepsAReadOnlyTransactionOnThePrimary() {
+		String origin = readOnlyTx.execute(status -> ReadWriteRoutingDataSource.readFromPrimary(this::origin));
+		assertThat(origin).isEqualTo("primario");
+
+		// Termina con la carga: la transacción siguiente vuelve a la réplica
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void rolledBackWritesDoNotMakeTheClientSticky() {
+		asClient("203.0.113.9");
+		writeTx.executeWithoutResult(status -> {
+			jdbc.update("INSERT INTO marca (nombre) VALUES ('descartada')");
+			status.setRollbackOnly();
+		});
+
+		assertThat(readYourWrites.size()).isZero();
+		assertThat(readOnlyOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void aReplicaThatCannotGiveAConnectionFallsBackToThePrimary() throws SQLException {
+		DataSource broken = mock(DataSource.class);
+		when(broken.getConnection()).thenThrow(new SQLException("réplica caída"));
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, broken, lagMonitor, readYourWrites);
+		DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+		TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+		tx.setReadOnly(true);
+		JdbcTemplate template = new JdbcTemplate(lazy);
+
+		String origin = tx.execute(status -> template.queryForObject("SELECT nombre FROM marca", String.class));
+		assertThat(origin).isEqualTo("primario");
+		assertThat(lagMonitor.isReplicaUsable()).isFalse();
+		assertThat(lagMonitor.details()).containsEntry("reason", "réplica caída");
+	}
+
+	@Test
+	void unwrapAlwaysReachesThePrimaryPool() throws SQLException {
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, readYourWrites);
+
+		assertThat(routing.isWrapperFor(DriverManagerDataSource.class)).isTrue();
+		assertThat(routing.unwrap(DriverManagerDataSource.class)).isSameAs(primary);
+	}
+
+	private String readOnlyOrigin() {
+		return readOnlyTx.execute(status -> origin());
+	}
+
+	private String writeOrigin() {
+		return writeTx.execute(status -> origin());
+	}
+
+	private String origin() {
+		return jdbc.queryForObject("SELECT nombre FROM marca", String.class);
+	}
+
+	private static void asClient(String ip) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(ip);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static DataSource h2(String nombre) {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + nombre + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.execute("CREATE TABLE marca (nombre VARCHAR(50))");
+		template.update("INSERT INTO marca VALUES (?)", nombre);
+		return dataSource;
+	}
+}
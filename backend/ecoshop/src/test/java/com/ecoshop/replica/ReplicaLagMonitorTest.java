@@ -0,0 +1,80 @@
+package com.ecoshop.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.ecoshop.config.ReplicaProperties;
+
+class ReplicaLagMonitorTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final ReplicaProperties properties = new ReplicaProperties();
+
+	private JdbcTemplate replica;
+
+	private ReplicaLagMonitor monitor;
+
+	@BeforeEach
+	void setUp() {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		replica = new JdbcTemplate(dataSource);
+		replica.execute("CREATE TABLE replica_lag (ms BIGINT)");
+		replica.update("INSERT INTO replica_lag VALUES (300)");
+		properties.setLagQuery("SELECT ms FROM replica_lag");
+		properties.setMaxLag(Duration.ofMillis(500));
+		properties.setLagCheckInterval(Duration.ofSeconds(1));
+		monitor = new ReplicaLagMonitor(dataSource, properties, clock::get);
+	}
+
+	@Test
+	void theReplicaIsNotUsedBeforeTheFirstMeasurement() {
+		assertThat(monitor.isReplicaUsable()).isFalse();
+
+		monitor.refresh();
+
+		assertThat(monitor.isReplicaUsable()).isTrue();
+		assertThat(monitor.details()).containsEntry("lagMs", 300L).containsEntry("maxLagMs", 500L);
+	}
+
+	@Test
+	void aNullLagMeansTheReplicaHasNotReplayedAnythingYet() {
+		replica.update("UPDATE replica_lag SET ms = NULL");
+
+		monitor.refresh();
+
+		assertThat(monitor.isReplicaUsable()).isFalse();
+		assertThat(monitor.details()).containsKey("reason");
+	}
+
+	@Test
+	void aFailingLagQueryTakesTheReplicaOutOfUse() {
+		monitor.refresh();
+		replica.execute("DROP TABLE replica_lag");
+
+		monitor.refresh();
+
+		assertThat(monitor.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void aStaleMeasurementIsNotTrusted() {
+		monitor.refresh();
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+
+		assertThat(monitor.isReplicaUsable()).isFalse();
+	}
+}
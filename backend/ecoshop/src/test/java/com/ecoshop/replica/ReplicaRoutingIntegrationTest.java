@@ -0,0 +1,137 @@
+package com.ecoshop.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.ecoshop.config.CacheConfig;
+import com.ecoshop.domain.Product;
+import com.ecoshop.dto.CertificationRequest;
+import com.ecoshop.dto.CertificationResponse;
+import com.ecoshop.dto.ProductResponse;
+import com.ecoshop.repository.ProductRepository;
+import com.ecoshop.service.CertificationService;
+import com.ecoshop.service.ProductService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * El camino de producción completo (JpaTransactionManager, PartitionedDataSource,
+ * LazyConnectionDataSourceProxy y ReadWriteRoutingDataSource) con dos bases H2.
+ *
+ * Hibernate crea el esquema en el primario; antes de cada test se copia a la réplica, que
+ * arranca fuera de uso (la tabla del retraso no existe hasta entonces) y tiene filas propias,
+ * así cada lectura dice de qué base vino.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:replica-primario",
+		"ecoshop.replica.enabled=true",
+		"ecoshop.replica.url=jdbc:h2:mem:replica-lectura;DB_CLOSE_DELAY=-1",
+		"ecoshop.replica.lag-query=SELECT ms FROM replica_lag"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class ReplicaRoutingIntegrationTest {
+
+	private static final long SOLO_EN_REPLICA = 900L;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	@Autowired
+	private ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	private CertificationService certificationService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void copySchemaToReplica() {
+		// Fuera de una transacción se usa el primario
+		List<String> schema = new JdbcTemplate(dataSource).queryForList("SCRIPT NODATA", String.class);
+		JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+		replica.execute("DROP ALL OBJECTS");
+		schema.forEach(replica::execute);
+		replica.update("INSERT INTO certifications (id, name, code, created_at, updated_at, version)"
+				+ " VALUES (?, 'Solo en réplica', 'REPLICA', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", SOLO_EN_REPLICA);
+		replica.execute("CREATE TABLE replica_lag (ms BIGINT)");
+		replica.update("INSERT INTO replica_lag VALUES (0)");
+		lagMonitor.refresh();
+		assertThat(lagMonitor.isReplicaUsable()).isTrue();
+	}
+
+	@AfterEach
+	void clearRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readOnlyServiceCallsAreServedByTheReplica() {
+		asClient("198.51.100.4");
+
+		assertThat(certificationService.findById(SOLO_EN_REPLICA).getName()).isEqualTo("Solo en réplica");
+	}
+
+	@Test
+	void aClientReadsItsOwnWriteFromThePrimary() {
+		asClient("203.0.113.9");
+		CertificationResponse created = certificationService.create(
+				CertificationRequest.builder().name("Recién creada").code("NUEVA").build());
+
+		assertThat(certificationService.findById(created.getId()).getName()).isEqualTo("Recién creada");
+
+		// Otro cliente lee de la réplica, a la que la escritura nunca llegó
+		asClient("198.51.100.4");
+		assertThatThrownBy(() -> certificationService.findById(created.getId()))
+				.isInstanceOf(EntityNotFoundException.class);
+	}
+
+	@Test
+	void theCatalogCachesAreFilledFromThePrimary() {
+		Product product = productRepository.save(Product.builder().nombre("Solo en primario").precio(BigDecimal.TEN).build());
+		cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+		cacheManager.getCache(CacheConfig.CERTIFICATIONS).clear();
+		asClient("198.51.100.4");
+
+		assertThat(productService.findAll()).extracting(ProductResponse::getId).contains(product.getId());
+		assertThat(certificationService.findAll()).extracting(CertificationResponse::getCode).doesNotContain("REPLICA");
+		// Las lecturas que no llenan una caché siguen yendo a la réplica
+		assertThat(certificationService.findById(SOLO_EN_REPLICA).getCode()).isEqualTo("REPLICA");
+	}
+
+	private static void asClient(String ip) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(ip);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+}
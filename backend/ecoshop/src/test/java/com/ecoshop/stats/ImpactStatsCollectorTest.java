@@ -0,0 +1,115 @@
+package com.ecoshop.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.ecoshop.event.VentaContabilizadaEvent;
+import com.ecoshop.repository.ImpactStatsRepository;
+
+class ImpactStatsCollectorTest {
+
+	private final ImpactStatsRepository repository = mock(ImpactStatsRepository.class);
+
+	private final ImpactStatsCollector collector = new ImpactStatsCollector(repository);
+
+	@BeforeEach
+	void baseFromDatabase() {
+		when(repository.ventas(any())).thenReturn(new ImpactStatsRepository.Ventas(10, 4, 25, new BigDecimal("12.500")));
+		when(repository.catalogo()).thenReturn(new ImpactStatsRepository.Catalogo(8, 3, 6, 1.8251, 81.0));
+	}
+
+	@Test
+	void servesAnEmptySnapshotUntilTheFirstRefresh() {
+		assertThat(collector.current().comprasSostenibles()).isZero();
+		collector.publish();
+		assertThat(collector.current().actualizadoEn()).isNull();
+	}
+
+	@Test
+	void refreshPublishesTheDatabaseTotals() {
+		collector.refresh();
+
+		ImpactStatsSnapshot snapshot = collector.current();
+		assertThat(snapshot.comprasSostenibles()).isEqualTo(10);
+		assertThat(snapshot.comprasMes()).isEqualTo(4);
+		assertThat(snapshot.co2Kg()).isEqualTo(12.5);
+		assertThat(snapshot.productosBajoImpacto()).isEqualTo(3);
+		assertThat(snapshot.huellaPromedioProductoKg()).isEqualTo(1.83);
+		assertThat(snapshot.porcentajeProductosConHuella()).isEqualTo(75.0);
+		assertThat(snapshot.actualizadoEn()).isNotNull();
+	}
+
+	@Test
+	void eventsAreVisibleOnlyAfterTheNextPublish() {
+		collector.refresh();
+		ImpactStatsSnapshot antes = collector.current();
+
+		collector.onVentaContabilizada(new VentaContabilizadaEvent(1, LocalDate.now(), 3, new BigDecimal("2.250"), 1));
+		collector.onVentaContabilizada(new VentaContabilizadaEvent(2, LocalDate.now().minusMonths(1), 2, BigDecimal.ONE, 1));
+		collector.onVentaContabilizada(new VentaContabilizadaEvent(2, LocalDate.now().minusMonths(1), 2, BigDecimal.ONE, -1));
+		assertThat(collector.current()).isSameAs(antes);
+
+		collector.publish();
+		ImpactStatsSnapshot despues = collector.current();
+		assertThat(despues.comprasSostenibles()).isEqualTo(11);
+		assertThat(despues.comprasMes()).isEqualTo(5);
+		assertThat(despues.unidadesVendidas()).isEqualTo(28);
+		assertThat(despues.co2Kg()).isEqualTo(14.75);
+	}
+
+	@Test
+	void refreshResetsTheEventCountersAndKeepsTheLastSnapshotOnFailure() {
+		collector.refresh();
+		collector.onVentaContabilizada(new VentaContabilizadaEvent(1, LocalDate.now(), 3, BigDecimal.TEN, 1));
+
+		// La BD ya incluye la venta del evento: no se cuenta dos veces
+		when(repository.ventas(any())).thenReturn(new ImpactStatsRepository.Ventas(11, 5, 28, new BigDecimal("22.500")));
+		collector.refresh();
+		assertThat(collector.current().comprasSostenibles()).isEqualTo(11);
+		assertThat(collector.current().co2Kg()).isEqualTo(22.5);
+
+		ImpactStatsSnapshot vigente = collector.current();
+		when(repository.ventas(any())).thenThrow(new DataAccessResourceFailureException("BD caída"));
+		collector.refresh();
+		assertThat(collector.current()).isSameAs(vigente);
+	}
+
+	@Test
+	void aFailedRefreshKeepsTheEventsReceivedSinceTheLastOne() {
+		collector.refresh();
+		collector.onVentaContabilizada(new VentaContabilizadaEvent(1, LocalDate.now(), 3, BigDecimal.TEN, 1));
+
+		when(repository.ventas(any())).thenThrow(new DataAccessResourceFailureException("BD caída"));
+		collector.refresh();
+		collector.publish();
+
+		assertThat(collector.current().comprasSostenibles()).isEqualTo(11);
+		assertThat(collector.current().co2Kg()).isEqualTo(22.5);
+	}
+
+	@Test
+	void aSaleCommittedWhileTheQueryRunsIsNotLost() {
+		collector.refresh();
+		// La consulta ya leyó los totales cuando llega el evento de una venta confirmada después
+		when(repository.ventas(any())).thenAnswer(invocation -> {
+			collector.onVentaContabilizada(new VentaContabilizadaEvent(1, LocalDate.now(), 3, BigDecimal.TEN, 1));
+			return new ImpactStatsRepository.Ventas(10, 4, 25, new BigDecimal("12.500"));
+		});
+
+		collector.refresh();
+
+		assertThat(collector.current().comprasSostenibles()).isEqualTo(11);
+		assertThat(collector.current().comprasMes()).isEqualTo(5);
+		assertThat(collector.current().unidadesVendidas()).isEqualTo(28);
+		assertThat(collector.current().co2Kg()).isEqualTo(22.5);
+	}
+}
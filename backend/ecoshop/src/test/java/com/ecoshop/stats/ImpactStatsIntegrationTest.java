@@ -0,0 +1,54 @@
+package com.ecoshop.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ecoshop.ApiIntegrationTest;
+
+class ImpactStatsIntegrationTest extends ApiIntegrationTest {
+
+	@Autowired
+	private ImpactStatsCollector impactStatsCollector;
+
+	@Test
+	void impactStatsAreServedFromMemoryWithCacheHeaders() throws InterruptedException {
+		impactStatsCollector.refresh();
+		ImpactStatsSnapshot antes = impactStatsCollector.current();
+
+		Object usuarioId = crearUsuario("impacto@ecoshop.test", "marca");
+		Object marcaId = crearMarca(usuarioId, "Marca impacto");
+		Object productoId = crearProducto(Map.of(
+				"marcaId", marcaId, "nombre", "Termo", "precio", 30, "stock", 10,
+				"huellaCarbonoKg", 1.5, "ecoBadge", "bajo_impacto"));
+		Object pedidoId = crearPedido(usuarioId, "Calle impacto");
+		agregarItem(pedidoId, productoId, 2);
+		cambiarEstado(pedidoId, "procesando");
+
+		// La venta llega por evento y se ve en la siguiente publicación, sin releer la BD
+		for (int i = 0; i < 50 && impactStatsCollector.current().comprasSostenibles() == antes.comprasSostenibles(); i++) {
+			Thread.sleep(100);
+		}
+		// El catálogo se relee en el refresh; la venta ya aplicada no se cuenta dos veces
+		impactStatsCollector.refresh();
+
+		ResponseEntity<ImpactStatsSnapshot> stats = restTemplate.getForEntity(api("/stats/impacto"),
+				ImpactStatsSnapshot.class);
+		assertThat(stats.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(stats.getHeaders().getCacheControl()).contains("public");
+		ImpactStatsSnapshot despues = stats.getBody();
+		assertThat(despues.comprasSostenibles()).isEqualTo(antes.comprasSostenibles() + 1);
+		assertThat(despues.comprasMes()).isEqualTo(antes.comprasMes() + 1);
+		assertThat(despues.unidadesVendidas()).isEqualTo(antes.unidadesVendidas() + 2);
+		assertThat(despues.co2Kg()).isCloseTo(antes.co2Kg() + 3.0, within(0.001));
+		assertThat(despues.productosActivos()).isEqualTo(antes.productosActivos() + 1);
+		assertThat(despues.productosBajoImpacto()).isEqualTo(antes.productosBajoImpacto() + 1);
+		assertThat(despues.actualizadoEn()).isNotNull();
+	}
+}